@@ -0,0 +1,75 @@
+package com.kata.cgl.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import com.kata.cgl.exception.InvalidPatternException;
+import com.kata.cgl.grid.PackedGrid;
+import com.kata.cgl.pattern.PatternFormat;
+
+public enum BoardPattern {
+    SOUP(null, null),
+    GLIDER_GUN(PatternFormat.RLE, "x = 36, y = 9\n"
+            + "24bo$22bobo$12b2o6b2o12b2o$11bo3bo4b2o12b2o$2o8bo5bo3b2o$2o8bo3bob2o4bobo$10bo5bo7bo$11bo3bo$12b2o!"),
+    STILL_LIFES(PatternFormat.PLAINTEXT, "OO...OO...OO...OO.\n"
+            + "OO..O..O.O..O..O.O\n"
+            + ".....OO...O.O...O.\n"
+            + "...........O......\n");
+
+    private static final int TILE_MARGIN = 2;
+
+    private final PatternFormat tileFormat;
+    private final String tileSource;
+
+    BoardPattern(PatternFormat tileFormat, String tileSource) {
+        this.tileFormat = tileFormat;
+        this.tileSource = tileSource;
+    }
+
+    public PackedGrid build(int boardSize, double density, long seed) throws IOException, InvalidPatternException {
+        PackedGrid board = new PackedGrid(boardSize, boardSize);
+
+        switch (this) {
+            case SOUP:
+                Random random = new Random(seed);
+
+                for (int y=0; y < boardSize; y++) {
+                    for (int x=0; x < boardSize; x++) {
+                        board.setAlive(x, y, random.nextDouble() < density);
+                    }
+                }
+
+                return board;
+            default: // GLIDER_GUN, STILL_LIFES
+                PackedGrid tile = tileFormat.read(new StringReader(tileSource), 0, Long.MAX_VALUE);
+                tileBoard(board, tile, density);
+                return board;
+        }
+    }
+
+    private static void tileBoard(PackedGrid board, PackedGrid tile, double density) {
+        int minimumStrideX = tile.getColumnCount() + TILE_MARGIN;
+        int minimumStrideY = tile.getRowCount() + TILE_MARGIN;
+        double scale = Math.max(1, Math.sqrt(tile.countLiveCells() / density / ((double) minimumStrideX * minimumStrideY)));
+        int strideX = (int) Math.ceil(minimumStrideX * scale);
+        int strideY = (int) Math.ceil(minimumStrideY * scale);
+
+        for (int originY=0; originY < board.getRowCount(); originY += strideY) {
+            for (int originX=0; originX < board.getColumnCount(); originX += strideX) {
+                stamp(board, tile, originX, originY);
+            }
+        }
+    }
+
+    private static void stamp(PackedGrid board, PackedGrid tile, int originX, int originY) {
+        for (int y=0; y < tile.getRowCount() && originY + y < board.getRowCount(); y++) {
+            for (int x=0; x < tile.getColumnCount() && originX + x < board.getColumnCount(); x++) {
+                if (tile.isAlive(x, y)) {
+                    board.setAlive(originX + x, originY + y, true);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.kata.cgl.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class CellUpdates {
+
+    public long cellUpdates;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        cellUpdates = 0;
+    }
+
+}
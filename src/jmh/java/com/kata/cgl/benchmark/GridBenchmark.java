@@ -0,0 +1,80 @@
+package com.kata.cgl.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kata.cgl.exception.GridRowIndexOutOfBoundsException;
+import com.kata.cgl.exception.InvalidPatternException;
+import com.kata.cgl.grid.Grid;
+import com.kata.cgl.grid.GridCell;
+import com.kata.cgl.grid.GridCellState;
+import com.kata.cgl.grid.GridCoordinate;
+import com.kata.cgl.grid.GridRow;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GridBenchmark {
+
+    @Param({"8", "64", "512", "4096"})
+    public int boardSize;
+
+    @Param({"0.01", "0.1", "0.5"})
+    public double density;
+
+    @Param({"SOUP", "GLIDER_GUN", "STILL_LIFES"})
+    public BoardPattern pattern;
+
+    private Grid grid;
+    private GridCell centreGridCell;
+
+    @Setup
+    public void buildBoard() throws IOException, InvalidPatternException {
+        grid = Grid.fromPackedGrid(pattern.build(boardSize, density, 42));
+        centreGridCell = new GridCell(new GridCoordinate(boardSize / 2, boardSize / 2), boardSize, boardSize);
+    }
+
+    @Benchmark
+    public Grid buildNextGenerationGrid(CellUpdates cellUpdates) {
+        cellUpdates.cellUpdates += grid.getCellCount();
+        return grid.buildNextGenerationGrid();
+    }
+
+    @Benchmark
+    public List<GridCell> findGridCellNeighbors() {
+        return grid.findGridCellNeighbors(centreGridCell);
+    }
+
+    @Benchmark
+    public int getGridRows(CellUpdates cellUpdates) throws GridRowIndexOutOfBoundsException {
+        int liveCellCount = 0;
+
+        for (GridRow gridRow : grid.getGridRows()) {
+            for (GridCell gridCell : gridRow.getRowCells()) {
+                if (GridCellState.ALIVE == gridCell.getGridCellState()) {
+                    liveCellCount++;
+                }
+            }
+        }
+
+        cellUpdates.cellUpdates += grid.getCellCount();
+        return liveCellCount;
+    }
+
+}
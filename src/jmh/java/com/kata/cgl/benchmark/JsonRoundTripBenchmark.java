@@ -0,0 +1,75 @@
+package com.kata.cgl.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.kata.cgl.controller.ConwaysGameOfLifeController;
+import com.kata.cgl.controller.GenerationRequestValidator;
+import com.kata.cgl.engine.GenerationMetrics;
+import com.kata.cgl.exception.InvalidGenerationCountException;
+import com.kata.cgl.exception.InvalidPatternException;
+import com.kata.cgl.exception.InvalidRuleException;
+import com.kata.cgl.exception.UnknownTopologyException;
+import com.kata.cgl.grid.Grid;
+import com.kata.cgl.ui.GridForm;
+import com.kata.cgl.ui.GridFormJsonDeserializer;
+import com.kata.cgl.ui.GridJsonSerializer;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonRoundTripBenchmark {
+
+    @Param({"8", "64", "512"})
+    public int boardSize;
+
+    @Param({"0.01", "0.1", "0.5"})
+    public double density;
+
+    @Param({"SOUP", "GLIDER_GUN", "STILL_LIFES"})
+    public BoardPattern pattern;
+
+    private ObjectMapper objectMapper;
+    private ConwaysGameOfLifeController controller;
+    private byte[] requestBody;
+
+    @Setup
+    public void buildRequest() throws IOException, InvalidPatternException {
+        objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addSerializer(Grid.class, new GridJsonSerializer())
+                .addDeserializer(GridForm.class, new GridFormJsonDeserializer()));
+        controller = new ConwaysGameOfLifeController(new GenerationRequestValidator(1), 0, GenerationMetrics.disabled());
+        Grid grid = Grid.fromPackedGrid(pattern.build(boardSize, density, 42));
+        GridForm gridForm = new GridForm();
+        gridForm.setRowCount(boardSize);
+        gridForm.setColumnCount(boardSize);
+        gridForm.setGridCellForms(grid.retrieveGridCells());
+        requestBody = new ObjectMapper().writeValueAsBytes(gridForm);
+    }
+
+    @Benchmark
+    public byte[] transitionToNextGeneration(CellUpdates cellUpdates) throws IOException, InvalidGenerationCountException, InvalidRuleException, UnknownTopologyException {
+        GridForm gridForm = objectMapper.readValue(requestBody, GridForm.class);
+        byte[] responseBody = objectMapper.writeValueAsBytes(controller.transitionToNextGeneration(gridForm, 1, null, null));
+        cellUpdates.cellUpdates += (long) boardSize * boardSize;
+        return responseBody;
+    }
+
+}
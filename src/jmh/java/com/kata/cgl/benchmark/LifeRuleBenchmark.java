@@ -0,0 +1,59 @@
+package com.kata.cgl.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kata.cgl.engine.GenerationEngine;
+import com.kata.cgl.engine.GenerationEngineType;
+import com.kata.cgl.engine.GenerationRule;
+import com.kata.cgl.engine.Topology;
+import com.kata.cgl.exception.InvalidPatternException;
+import com.kata.cgl.exception.InvalidRuleException;
+import com.kata.cgl.grid.PackedGrid;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LifeRuleBenchmark {
+
+    @Param({"64", "512", "4096"})
+    public int boardSize;
+
+    @Param({"B3/S23", "B36/S23", "B3678/S34678", "B2/S", "R1,C0,M0,S2..3,B3..3,NM", "R5,C0,M1,S34..58,B34..45,NM",
+            "R10,C0,M1,S123..212,B123..170,NM", "R5,C0,M1,S20..33,B20..27,NN", "R10,C0,M1,S73..126,B73..101,NN"})
+    public String rule;
+
+    @Param({"BOUNDED", "TORUS"})
+    public Topology topology;
+
+    private GenerationEngine generationEngine;
+    private PackedGrid packedGrid;
+
+    @Setup
+    public void buildBoard() throws IOException, InvalidPatternException, InvalidRuleException {
+        generationEngine = GenerationRule.parse(rule).createEngine(GenerationEngineType.SWAR, topology);
+        packedGrid = BoardPattern.SOUP.build(boardSize, 0.3, 42);
+    }
+
+    @Benchmark
+    public PackedGrid step(CellUpdates cellUpdates) {
+        cellUpdates.cellUpdates += (long) boardSize * boardSize;
+        return generationEngine.step(packedGrid);
+    }
+
+}
@@ -1,5 +1,10 @@
 package com.kata.cgl.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -8,12 +13,42 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import com.kata.cgl.engine.CachingGenerationEngine;
+import com.kata.cgl.engine.CycleDetectingGenerationEngine;
+import com.kata.cgl.engine.GenerationCacheStatistics;
+import com.kata.cgl.engine.GenerationEngine;
+import com.kata.cgl.engine.GenerationEngineType;
+import com.kata.cgl.engine.GenerationMetrics;
+import com.kata.cgl.engine.GenerationRule;
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.engine.Topology;
+import com.kata.cgl.exception.InvalidGenerationCountException;
+import com.kata.cgl.exception.InvalidRuleException;
+import com.kata.cgl.exception.UnknownTopologyException;
 import com.kata.cgl.grid.Grid;
+import com.kata.cgl.grid.PackedGrid;
+import com.kata.cgl.profiling.GenerationStepEvent;
+import com.kata.cgl.profiling.GridConstructionEvent;
+import com.kata.cgl.ui.BinaryGridHttpMessageConverter;
 import com.kata.cgl.ui.GridForm;
+import com.kata.cgl.ui.GridFrame;
 
 @Controller
 public class ConwaysGameOfLifeController {
 
+    private final CachingGenerationEngine generationEngine;
+    private final GenerationRequestValidator generationRequestValidator;
+    private final GenerationMetrics generationMetrics;
+
+    @Autowired
+    public ConwaysGameOfLifeController(GenerationRequestValidator generationRequestValidator,
+                                       @Value("${cgl.grid.cache.max-memory-bytes:67108864}") long cacheMaxMemoryBytes,
+                                       GenerationMetrics generationMetrics) {
+        this.generationRequestValidator = generationRequestValidator;
+        this.generationMetrics = generationMetrics;
+        this.generationEngine = new CachingGenerationEngine(generationMetrics.instrument(GenerationEngineType.SWAR.createEngine()), cacheMaxMemoryBytes);
+    }
+
     @RequestMapping(value="/", method= RequestMethod.GET)
     public String loadEmptyGrid(Model model) {
         model.addAttribute("emptyGrid", new Grid(6,8));
@@ -28,10 +63,74 @@ public class ConwaysGameOfLifeController {
     
     @RequestMapping(value = "/grid", method=RequestMethod.POST, produces="application/json")
     @ResponseBody
-    public Grid transitionToNextGeneration(@RequestBody GridForm gridForm) {
-    	Grid initialStateGrid = new Grid(gridForm.getRowCount(), gridForm.getColumnCount(), gridForm.getGridCellForms());
-    	Grid nextGenerationGrid = initialStateGrid.buildNextGenerationGrid();
-    	return nextGenerationGrid;
+    public Grid transitionToNextGeneration(@RequestBody GridForm gridForm, @RequestParam(defaultValue="1") long generations, @RequestParam(required=false) String rule,
+    		@RequestParam(required=false) String topology) throws InvalidGenerationCountException, InvalidRuleException, UnknownTopologyException {
+    	generationRequestValidator.validate(generations);
+    	GenerationEngine ruleEngine = ruleEngine(rule, topology);
+    	return Grid.fromPackedGrid(step(ruleEngine, buildInitialGeneration(gridForm, ruleEngine), generations));
+    }
+
+    @RequestMapping(value = "/grid", method=RequestMethod.POST, produces=BinaryGridHttpMessageConverter.GRID_MEDIA_TYPE_VALUE)
+    @ResponseBody
+    public GridFrame transitionToGenerationFrame(@RequestBody GridForm gridForm, @RequestParam(defaultValue="1") long generations, @RequestParam(required=false) String rule,
+    		@RequestParam(required=false) String topology) throws InvalidGenerationCountException, InvalidRuleException, UnknownTopologyException {
+    	generationRequestValidator.validate(generations);
+    	GenerationEngine ruleEngine = ruleEngine(rule, topology);
+    	return new GridFrame(generations, step(ruleEngine, buildInitialGeneration(gridForm, ruleEngine), generations));
+    }
+
+    @RequestMapping(value = "/grid", method=RequestMethod.POST, params="emitEvery", produces="application/json")
+    @ResponseBody
+    public List<GridFrame> transitionThroughGenerations(@RequestBody GridForm gridForm, @RequestParam(defaultValue="1") long generations, @RequestParam long emitEvery,
+    		@RequestParam(required=false) String rule, @RequestParam(required=false) String topology)
+    		throws InvalidGenerationCountException, InvalidRuleException, UnknownTopologyException {
+    	generationRequestValidator.validate(generations, emitEvery);
+    	GenerationEngine ruleEngine = ruleEngine(rule, topology);
+    	PackedGrid initialStateGrid = buildInitialGeneration(gridForm, ruleEngine);
+    	GenerationStepEvent stepEvent = new GenerationStepEvent(generations);
+    	stepEvent.begin();
+    	List<PackedGrid> packedFrames = new CycleDetectingGenerationEngine(ruleEngine).stepFrames(initialStateGrid, generations, emitEvery);
+    	stepEvent.commit(packedFrames.isEmpty() ? initialStateGrid : packedFrames.get(packedFrames.size() - 1), ruleEngine.getName());
+    	List<GridFrame> gridFrames = new ArrayList<>(packedFrames.size());
+
+    	for (int i=0; i < packedFrames.size(); i++) {
+    		gridFrames.add(new GridFrame(Math.min((i + 1) * emitEvery, generations), packedFrames.get(i)));
+    	}
+
+    	return gridFrames;
+    }
+
+    @RequestMapping(value = "/grid/cache", method=RequestMethod.GET)
+    @ResponseBody
+    public GenerationCacheStatistics generationCacheStatistics() {
+    	return generationEngine.getStatistics();
+    }
+
+    private GenerationEngine ruleEngine(String rule, String topology) throws InvalidRuleException, UnknownTopologyException {
+    	GenerationRule generationRule = GenerationRule.parse(rule);
+    	Topology gridTopology = Topology.parse(topology);
+
+    	if (LifeRule.CONWAY.equals(generationRule) && gridTopology == Topology.BOUNDED) {
+    		return generationEngine;
+    	}
+
+    	return generationMetrics.instrument(generationRule.createEngine(GenerationEngineType.SWAR, gridTopology));
+    }
+
+    private static PackedGrid buildInitialGeneration(GridForm gridForm, GenerationEngine ruleEngine) {
+    	GridConstructionEvent constructionEvent = new GridConstructionEvent();
+    	constructionEvent.begin();
+    	PackedGrid initialGeneration = gridForm.toPackedGrid();
+    	constructionEvent.commit(initialGeneration, ruleEngine.getName());
+    	return initialGeneration;
+    }
+
+    private static PackedGrid step(GenerationEngine ruleEngine, PackedGrid initialGeneration, long generations) {
+    	GenerationStepEvent stepEvent = new GenerationStepEvent(generations);
+    	stepEvent.begin();
+    	PackedGrid nextGeneration = new CycleDetectingGenerationEngine(ruleEngine).step(initialGeneration, generations);
+    	stepEvent.commit(nextGeneration, ruleEngine.getName());
+    	return nextGeneration;
     }
 
 }
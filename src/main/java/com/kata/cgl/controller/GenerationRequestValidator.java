@@ -0,0 +1,28 @@
+package com.kata.cgl.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.kata.cgl.exception.InvalidGenerationCountException;
+
+@Component
+public class GenerationRequestValidator {
+
+    private final long maxGenerations;
+
+    public GenerationRequestValidator(@Value("${cgl.grid.max-generations:1000000}") long maxGenerations) {
+        this.maxGenerations = maxGenerations;
+    }
+
+    public void validate(long generations) throws InvalidGenerationCountException {
+        if (generations < 1 || generations > maxGenerations) {
+            throw new InvalidGenerationCountException(maxGenerations);
+        }
+    }
+
+    public void validate(long generations, long emitEvery) throws InvalidGenerationCountException {
+        validate(generations);
+        validate(emitEvery);
+    }
+
+}
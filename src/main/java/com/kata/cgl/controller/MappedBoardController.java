@@ -0,0 +1,41 @@
+package com.kata.cgl.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.kata.cgl.exception.InvalidGenerationCountException;
+import com.kata.cgl.exception.MappedBoardNotConfiguredException;
+import com.kata.cgl.simulation.MappedBoard;
+import com.kata.cgl.simulation.MappedBoardSummary;
+
+@Controller
+public class MappedBoardController {
+
+    private final MappedBoard mappedBoard;
+    private final GenerationRequestValidator generationRequestValidator;
+
+    @Autowired
+    public MappedBoardController(MappedBoard mappedBoard, GenerationRequestValidator generationRequestValidator) {
+        this.mappedBoard = mappedBoard;
+        this.generationRequestValidator = generationRequestValidator;
+    }
+
+    @RequestMapping(value = "/mapped-board", method=RequestMethod.GET, produces="application/json")
+    @ResponseBody
+    public MappedBoardSummary mappedBoard() throws MappedBoardNotConfiguredException {
+        return mappedBoard.summarize();
+    }
+
+    @RequestMapping(value = "/mapped-board/step", method=RequestMethod.POST, produces="application/json")
+    @ResponseBody
+    public MappedBoardSummary stepMappedBoard(@RequestParam(defaultValue="1") long generations)
+            throws InvalidGenerationCountException, MappedBoardNotConfiguredException {
+        generationRequestValidator.validate(generations);
+        return mappedBoard.step(generations);
+    }
+
+}
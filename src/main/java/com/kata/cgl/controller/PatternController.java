@@ -0,0 +1,114 @@
+package com.kata.cgl.controller;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import com.kata.cgl.engine.GenerationRule;
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.engine.Topology;
+import com.kata.cgl.exception.InvalidPatternException;
+import com.kata.cgl.exception.InvalidRuleException;
+import com.kata.cgl.exception.SimulationNotFoundException;
+import com.kata.cgl.exception.UnknownGenerationEngineException;
+import com.kata.cgl.exception.UnknownTopologyException;
+import com.kata.cgl.pattern.ImportedPattern;
+import com.kata.cgl.pattern.PatternFormat;
+import com.kata.cgl.simulation.Simulation;
+import com.kata.cgl.simulation.SimulationFrame;
+import com.kata.cgl.simulation.SimulationRegistry;
+import com.kata.cgl.simulation.SimulationSummary;
+
+@Controller
+public class PatternController {
+
+    private final SimulationRegistry simulationRegistry;
+    private final long maxPatternCellCount;
+
+    @Autowired
+    public PatternController(SimulationRegistry simulationRegistry, @Value("${cgl.pattern.max-cells:268435456}") long maxPatternCellCount) {
+        this.simulationRegistry = simulationRegistry;
+        this.maxPatternCellCount = maxPatternCellCount;
+    }
+
+    @RequestMapping(value = "/simulations/patterns", method=RequestMethod.POST, produces="application/json")
+    @ResponseStatus(HttpStatus.CREATED)
+    @ResponseBody
+    public SimulationSummary importPattern(Reader pattern, @RequestParam(defaultValue="rle") String format, @RequestParam(defaultValue="0") int padding,
+                                           @RequestParam(required=false) String engine, @RequestParam(required=false) String rule,
+                                           @RequestParam(required=false) String topology)
+            throws InvalidPatternException, UnknownGenerationEngineException, InvalidRuleException, UnknownTopologyException, IOException {
+        if (padding < 0) {
+            throw new InvalidPatternException("padding must not be negative");
+        }
+
+        ImportedPattern importedPattern = resolvePatternFormat(format).readPattern(pattern, padding, maxPatternCellCount);
+        GenerationRule generationRule = resolveRule(rule, importedPattern.getGenerationRule());
+        Topology resolvedTopology = resolveTopology(topology, importedPattern.getTopology());
+        Simulation simulation = simulationRegistry.create(importedPattern.getPackedGrid(), engine, generationRule, resolvedTopology);
+        return new SimulationSummary(simulation.captureFrame());
+    }
+
+    private static GenerationRule resolveRule(String rule, GenerationRule patternRule) throws InvalidRuleException, InvalidPatternException {
+        if (rule == null || rule.isEmpty()) {
+            return patternRule == null ? LifeRule.CONWAY : patternRule;
+        }
+
+        GenerationRule generationRule = GenerationRule.parse(rule);
+
+        if (patternRule != null && !patternRule.equals(generationRule)) {
+            throw new InvalidPatternException("rule " + generationRule + " conflicts with the pattern's rule " + patternRule);
+        }
+
+        return generationRule;
+    }
+
+    private static Topology resolveTopology(String topology, Topology patternTopology) throws UnknownTopologyException, InvalidPatternException {
+        if (topology == null || topology.isEmpty()) {
+            return patternTopology == null ? Topology.BOUNDED : patternTopology;
+        }
+
+        Topology resolvedTopology = Topology.parse(topology);
+
+        if (patternTopology != null && patternTopology != resolvedTopology) {
+            throw new InvalidPatternException("topology " + resolvedTopology + " conflicts with the pattern's topology " + patternTopology);
+        }
+
+        return resolvedTopology;
+    }
+
+    @RequestMapping(value = "/simulations/{simulationId}/pattern", method=RequestMethod.GET)
+    public void exportPattern(@PathVariable String simulationId, @RequestParam(defaultValue="rle") String format, HttpServletResponse response)
+            throws SimulationNotFoundException, InvalidPatternException, IOException {
+        PatternFormat patternFormat = resolvePatternFormat(format);
+        Simulation simulation = simulationRegistry.find(simulationId);
+        SimulationFrame frame = simulation.captureFrame();
+
+        response.setContentType("text/plain;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + simulationId + "-" + frame.getGeneration() + "." + patternFormat.getFileExtension() + "\"");
+        patternFormat.write(frame.getPackedGrid(), simulation.getGenerationRule(), simulation.getTopology(), response.getWriter());
+    }
+
+    private static PatternFormat resolvePatternFormat(String format) throws InvalidPatternException {
+        PatternFormat patternFormat = PatternFormat.fromString(format);
+
+        if (patternFormat == null) {
+            throw new InvalidPatternException("unknown pattern format " + format);
+        }
+
+        return patternFormat;
+    }
+
+}
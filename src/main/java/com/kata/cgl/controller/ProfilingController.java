@@ -0,0 +1,68 @@
+package com.kata.cgl.controller;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import com.kata.cgl.exception.InvalidRecordingException;
+import com.kata.cgl.exception.RecordingNotFoundException;
+import com.kata.cgl.profiling.FlightRecordings;
+import com.kata.cgl.profiling.RecordingSummary;
+
+@Controller
+public class ProfilingController {
+
+    private final FlightRecordings flightRecordings;
+
+    @Autowired
+    public ProfilingController(FlightRecordings flightRecordings) {
+        this.flightRecordings = flightRecordings;
+    }
+
+    @RequestMapping(value = "/profiling/recordings", method=RequestMethod.POST, produces="application/json")
+    @ResponseStatus(HttpStatus.CREATED)
+    @ResponseBody
+    public RecordingSummary startRecording(@RequestParam(defaultValue="60") long durationSeconds, @RequestParam(defaultValue="16777216") long maxSizeBytes)
+            throws InvalidRecordingException, IOException {
+        return flightRecordings.start(durationSeconds, maxSizeBytes);
+    }
+
+    @RequestMapping(value = "/profiling/recordings", method=RequestMethod.GET, produces="application/json")
+    @ResponseBody
+    public List<RecordingSummary> recordings() {
+        return flightRecordings.findAll();
+    }
+
+    @RequestMapping(value = "/profiling/recordings/{recordingId}", method=RequestMethod.GET, produces="application/json")
+    @ResponseBody
+    public RecordingSummary recording(@PathVariable long recordingId) throws RecordingNotFoundException {
+        return flightRecordings.find(recordingId);
+    }
+
+    @RequestMapping(value = "/profiling/recordings/{recordingId}/dump", method=RequestMethod.GET)
+    public void dumpRecording(@PathVariable long recordingId, HttpServletResponse response) throws RecordingNotFoundException, IOException {
+        flightRecordings.find(recordingId);
+
+        response.setContentType("application/octet-stream");
+        response.setHeader("Content-Disposition", "attachment; filename=\"cgl-recording-" + recordingId + ".jfr\"");
+        flightRecordings.dump(recordingId, response.getOutputStream());
+    }
+
+    @RequestMapping(value = "/profiling/recordings/{recordingId}", method=RequestMethod.DELETE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void closeRecording(@PathVariable long recordingId) throws RecordingNotFoundException {
+        flightRecordings.close(recordingId);
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.kata.cgl.controller;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.kata.cgl.exception.GenerationNotRecordedException;
+import com.kata.cgl.exception.InvalidFrameRateException;
+import com.kata.cgl.exception.InvalidGenerationCountException;
+import com.kata.cgl.exception.InvalidRuleException;
+import com.kata.cgl.exception.SimulationNotFoundException;
+import com.kata.cgl.exception.SimulationStreamNotFoundException;
+import com.kata.cgl.exception.UnknownGenerationEngineException;
+import com.kata.cgl.exception.UnknownTopologyException;
+import com.kata.cgl.history.GenerationLogFactory;
+import com.kata.cgl.simulation.DeltaFrameSink;
+import com.kata.cgl.simulation.Simulation;
+import com.kata.cgl.simulation.SimulationDelta;
+import com.kata.cgl.simulation.SimulationFrame;
+import com.kata.cgl.simulation.SimulationRegistry;
+import com.kata.cgl.simulation.SimulationStream;
+import com.kata.cgl.simulation.SimulationStream.FrameSink;
+import com.kata.cgl.simulation.SimulationStreamRegistry;
+import com.kata.cgl.ui.BinaryGridHttpMessageConverter;
+import com.kata.cgl.ui.GridForm;
+
+@Controller
+public class SimulationController {
+
+    private final SimulationRegistry simulationRegistry;
+    private final SimulationStreamRegistry simulationStreamRegistry;
+    private final GenerationLogFactory generationLogFactory;
+    private final GenerationRequestValidator generationRequestValidator;
+    private final long streamTimeoutMillis;
+
+    @Autowired
+    public SimulationController(SimulationRegistry simulationRegistry, SimulationStreamRegistry simulationStreamRegistry,
+                                GenerationLogFactory generationLogFactory, GenerationRequestValidator generationRequestValidator,
+                                @Value("${cgl.stream.timeout-millis:1800000}") long streamTimeoutMillis) {
+        this.simulationRegistry = simulationRegistry;
+        this.simulationStreamRegistry = simulationStreamRegistry;
+        this.generationLogFactory = generationLogFactory;
+        this.generationRequestValidator = generationRequestValidator;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+    }
+
+    @RequestMapping(value = "/simulations", method=RequestMethod.POST, produces={"application/json", BinaryGridHttpMessageConverter.GRID_MEDIA_TYPE_VALUE})
+    @ResponseStatus(HttpStatus.CREATED)
+    @ResponseBody
+    public SimulationFrame createSimulation(@RequestBody GridForm gridForm, @RequestParam(required=false) String engine, @RequestParam(required=false) String rule,
+                                            @RequestParam(required=false) String topology, @RequestParam(defaultValue="false") boolean record)
+            throws UnknownGenerationEngineException, InvalidRuleException, UnknownTopologyException, IOException {
+        Simulation simulation = simulationRegistry.create(gridForm.toPackedGrid(), engine, rule, topology);
+
+        if (record) {
+            simulation.recordHistory(generationLogFactory.open(simulation.getId()));
+        }
+
+        return simulation.captureFrame();
+    }
+
+    @RequestMapping(value = "/simulations/{simulationId}", method=RequestMethod.GET, produces={"application/json", BinaryGridHttpMessageConverter.GRID_MEDIA_TYPE_VALUE})
+    @ResponseBody
+    public SimulationFrame currentFrame(@PathVariable String simulationId) throws SimulationNotFoundException {
+        return simulationRegistry.find(simulationId).captureFrame();
+    }
+
+    @RequestMapping(value = "/simulations/{simulationId}/history/{generation}", method=RequestMethod.GET, produces={"application/json", BinaryGridHttpMessageConverter.GRID_MEDIA_TYPE_VALUE})
+    @ResponseBody
+    public SimulationFrame historicalFrame(@PathVariable String simulationId, @PathVariable long generation) throws SimulationNotFoundException, GenerationNotRecordedException, IOException {
+        return simulationRegistry.find(simulationId).findHistoricalFrame(generation);
+    }
+
+    @RequestMapping(value = "/simulations/{simulationId}/step", method=RequestMethod.POST, produces={"application/json", BinaryGridHttpMessageConverter.GRID_MEDIA_TYPE_VALUE})
+    @ResponseBody
+    public SimulationFrame step(@PathVariable String simulationId, @RequestParam(defaultValue="1") long generations) throws SimulationNotFoundException, InvalidGenerationCountException {
+        generationRequestValidator.validate(generations);
+        return simulationRegistry.find(simulationId).stepAndCaptureFrame(generations);
+    }
+
+    @RequestMapping(value = "/simulations/{simulationId}/step", method=RequestMethod.POST, params="format=delta", produces="application/json")
+    @ResponseBody
+    public SimulationDelta stepDelta(@PathVariable String simulationId, @RequestParam(defaultValue="1") long generations) throws SimulationNotFoundException, InvalidGenerationCountException {
+        generationRequestValidator.validate(generations);
+        return simulationRegistry.find(simulationId).stepAndCaptureDelta(generations);
+    }
+
+    @RequestMapping(value = "/simulations/{simulationId}/step", method=RequestMethod.POST, params="emitEvery", produces="application/json")
+    @ResponseBody
+    public List<SimulationFrame> stepFrames(@PathVariable String simulationId, @RequestParam(defaultValue="1") long generations, @RequestParam long emitEvery) throws SimulationNotFoundException, InvalidGenerationCountException {
+        generationRequestValidator.validate(generations, emitEvery);
+        return simulationRegistry.find(simulationId).stepAndCaptureFrames(generations, emitEvery);
+    }
+
+    @RequestMapping(value = "/simulations/{simulationId}/stream", method=RequestMethod.GET, produces="text/event-stream")
+    public SseEmitter stream(@PathVariable String simulationId, @RequestParam(defaultValue="2") int framesPerSecond,
+                             @RequestParam(required=false) String format) throws SimulationNotFoundException, InvalidFrameRateException {
+        Simulation simulation = simulationRegistry.find(simulationId);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+
+        FrameSink frameSink = frame ->
+                emitter.send(SseEmitter.event().name("generation").id(String.valueOf(frame.getGeneration())).data(frame, MediaType.APPLICATION_JSON));
+
+        if ("delta".equals(format)) {
+            frameSink = new DeltaFrameSink(frameSink, delta ->
+                    emitter.send(SseEmitter.event().name("delta").id(String.valueOf(delta.getGeneration())).data(delta, MediaType.APPLICATION_JSON)));
+        }
+
+        SimulationStream stream = simulationStreamRegistry.open(simulation, frameSink, framesPerSecond, (terminatedStream, failure) -> {
+            if (failure == null) {
+                emitter.complete();
+            } else {
+                emitter.completeWithError(failure);
+            }
+        });
+
+        emitter.onCompletion(() -> simulationStreamRegistry.close(stream));
+        emitter.onTimeout(() -> simulationStreamRegistry.close(stream));
+        return emitter;
+    }
+
+    @RequestMapping(value = "/simulations/{simulationId}/stream/pause", method=RequestMethod.POST)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void pauseStream(@PathVariable String simulationId) throws SimulationStreamNotFoundException {
+        simulationStreamRegistry.find(simulationId).pause();
+    }
+
+    @RequestMapping(value = "/simulations/{simulationId}/stream/resume", method=RequestMethod.POST)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void resumeStream(@PathVariable String simulationId) throws SimulationStreamNotFoundException {
+        simulationStreamRegistry.find(simulationId).resume();
+    }
+
+    @RequestMapping(value = "/simulations/{simulationId}/stream/rate", method=RequestMethod.POST)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void changeStreamRate(@PathVariable String simulationId, @RequestParam int framesPerSecond) throws SimulationStreamNotFoundException, InvalidFrameRateException {
+        simulationStreamRegistry.changeFrameRate(simulationId, framesPerSecond);
+    }
+
+    @RequestMapping(value = "/simulations/{simulationId}", method=RequestMethod.DELETE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteSimulation(@PathVariable String simulationId) throws SimulationNotFoundException {
+        simulationStreamRegistry.close(simulationId);
+        simulationRegistry.remove(simulationId);
+    }
+
+}
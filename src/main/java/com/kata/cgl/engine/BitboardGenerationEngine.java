@@ -0,0 +1,92 @@
+package com.kata.cgl.engine;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public class BitboardGenerationEngine extends RollingWordKernel implements GenerationEngine {
+
+    public static final String NAME = "bitboard";
+
+    private final LifeRule lifeRule;
+
+    public BitboardGenerationEngine() {
+        this(LifeRule.CONWAY);
+    }
+
+    public BitboardGenerationEngine(LifeRule lifeRule) {
+        this.lifeRule = lifeRule;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration) {
+        PackedGrid nextGeneration = currentGeneration.emptyCopy();
+        stepRows(currentGeneration, nextGeneration, 0, currentGeneration.getRowCount());
+        return nextGeneration;
+    }
+
+    @Override
+    long nextWord(long lower, long lowerWest, long lowerEast,
+                  long middle, long middleWest, long middleEast,
+                  long upper, long upperWest, long upperEast) {
+        return countNeighbors(lifeRule, middle,
+                lowerWest, lower, lowerEast,
+                middleWest, middleEast,
+                upperWest, upper, upperEast);
+    }
+
+    private static long countNeighbors(LifeRule lifeRule, long middle,
+                                       long mask0, long mask1, long mask2, long mask3,
+                                       long mask4, long mask5, long mask6, long mask7) {
+        // A ripple-carry counter; carries into bits that cannot be set yet are left out, since the
+        // count after adding n masks is at most n.
+        long countBit0 = mask0;
+        long carry0 = countBit0 & mask1;
+        countBit0 ^= mask1;
+        long countBit1 = carry0;
+
+        carry0 = countBit0 & mask2;
+        countBit0 ^= mask2;
+        countBit1 ^= carry0;
+
+        carry0 = countBit0 & mask3;
+        countBit0 ^= mask3;
+        long countBit2 = countBit1 & carry0;
+        countBit1 ^= carry0;
+
+        carry0 = countBit0 & mask4;
+        countBit0 ^= mask4;
+        long carry1 = countBit1 & carry0;
+        countBit1 ^= carry0;
+        countBit2 ^= carry1;
+
+        carry0 = countBit0 & mask5;
+        countBit0 ^= mask5;
+        carry1 = countBit1 & carry0;
+        countBit1 ^= carry0;
+        countBit2 ^= carry1;
+
+        carry0 = countBit0 & mask6;
+        countBit0 ^= mask6;
+        carry1 = countBit1 & carry0;
+        countBit1 ^= carry0;
+        countBit2 ^= carry1;
+
+        carry0 = countBit0 & mask7;
+        countBit0 ^= mask7;
+        carry1 = countBit1 & carry0;
+        countBit1 ^= carry0;
+        long countOverflow = countBit2 & carry1;
+        countBit2 ^= carry1;
+
+        return lifeRule.nextWord(countBit0, countBit1, countBit2, countOverflow, middle);
+    }
+
+    public LifeRule getLifeRule() {
+        return lifeRule;
+    }
+
+}
@@ -0,0 +1,8 @@
+package com.kata.cgl.engine;
+
+public enum BoardState {
+    ACTIVE,
+    EMPTY,
+    STATIC,
+    PERIODIC
+}
@@ -0,0 +1,153 @@
+package com.kata.cgl.engine;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public class CachingGenerationEngine implements GenerationEngine {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+
+    private final GenerationEngine delegate;
+    private final long maxMemoryBytes;
+
+    private final LinkedHashMap<CacheKey, PackedGrid> results = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public CachingGenerationEngine(GenerationEngine delegate, long maxMemoryBytes) {
+        this.delegate = delegate;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration) {
+        return step(currentGeneration, 1);
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration, long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generation count must not be negative");
+        }
+
+        CacheKey cacheKey = new CacheKey(currentGeneration, generations);
+
+        synchronized (this) {
+            PackedGrid cachedResult = results.get(cacheKey);
+
+            if (cachedResult != null) {
+                hitCount++;
+                return cachedResult.copy();
+            }
+
+            missCount++;
+        }
+
+        PackedGrid result = delegate.step(currentGeneration, generations);
+        long entryBytes = estimateEntryBytes(currentGeneration, result);
+
+        if (entryBytes <= maxMemoryBytes) {
+            store(new CacheKey(currentGeneration.copy(), generations, cacheKey.fingerprint), result.copy(), entryBytes);
+        }
+
+        return result;
+    }
+
+    private synchronized void store(CacheKey cacheKey, PackedGrid result, long entryBytes) {
+        PackedGrid replacedResult = results.put(cacheKey, result);
+
+        if (replacedResult != null) {
+            return;
+        }
+
+        memoryBytes += entryBytes;
+        Iterator<Map.Entry<CacheKey, PackedGrid>> leastRecentlyUsedFirst = results.entrySet().iterator();
+
+        while (memoryBytes > maxMemoryBytes && leastRecentlyUsedFirst.hasNext()) {
+            Map.Entry<CacheKey, PackedGrid> entry = leastRecentlyUsedFirst.next();
+            leastRecentlyUsedFirst.remove();
+            memoryBytes -= estimateEntryBytes(entry.getKey().packedGrid, entry.getValue());
+            evictionCount++;
+        }
+    }
+
+    private static long estimateEntryBytes(PackedGrid packedGrid, PackedGrid result) {
+        return ENTRY_OVERHEAD_BYTES + ((long) packedGrid.getWords().length + result.getWords().length) * Long.BYTES;
+    }
+
+    static long fingerprint(PackedGrid packedGrid) {
+        long hash = ((long) packedGrid.getRowCount() << 32 | packedGrid.getColumnCount()) * 0x9E3779B97F4A7C15L;
+
+        for (long word : packedGrid.getWords()) {
+            hash = Long.rotateLeft(hash ^ word * 0xC2B2AE3D27D4EB4FL, 31) * 0x9E3779B97F4A7C15L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        return hash ^ hash >>> 33;
+    }
+
+    @Override
+    public long estimateRetainedBytes() {
+        long delegateBytes = delegate.estimateRetainedBytes();
+
+        synchronized (this) {
+            return memoryBytes + delegateBytes;
+        }
+    }
+
+    public synchronized GenerationCacheStatistics getStatistics() {
+        return new GenerationCacheStatistics(hitCount, missCount, evictionCount, results.size(), memoryBytes, maxMemoryBytes);
+    }
+
+    public synchronized void clear() {
+        results.clear();
+        memoryBytes = 0;
+    }
+
+    private static final class CacheKey {
+
+        private final PackedGrid packedGrid;
+        private final long generations;
+        private final long fingerprint;
+
+        private CacheKey(PackedGrid packedGrid, long generations) {
+            this(packedGrid, generations, fingerprint(packedGrid));
+        }
+
+        private CacheKey(PackedGrid packedGrid, long generations, long fingerprint) {
+            this.packedGrid = packedGrid;
+            this.generations = generations;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            CacheKey that = (CacheKey) o;
+
+            return fingerprint == that.fingerprint && generations == that.generations
+                    && packedGrid.hasSameDimensions(that.packedGrid) && Arrays.equals(packedGrid.getWords(), that.packedGrid.getWords());
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (fingerprint ^ fingerprint >>> 32) * 31 + (int) generations;
+        }
+
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.kata.cgl.engine;
+
+import java.util.Arrays;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public class CycleDetectingGenerationEngine implements GenerationEngine {
+
+    public static final int DEFAULT_MAX_PERIOD = 16;
+
+    private final GenerationEngine delegate;
+    private final int maxPeriod;
+
+    private final PackedGrid[] recentGenerations;
+    private final long[] recentHashes;
+    private int recentCount;
+    private int newestIndex;
+
+    private PackedGrid[] cycle;
+    private int cyclePosition;
+    private BoardState boardState = BoardState.ACTIVE;
+    private volatile long retainedBytes;
+
+    public CycleDetectingGenerationEngine(GenerationEngine delegate) {
+        this(delegate, DEFAULT_MAX_PERIOD);
+    }
+
+    public CycleDetectingGenerationEngine(GenerationEngine delegate, int maxPeriod) {
+        if (maxPeriod <= 0) {
+            throw new IllegalArgumentException("Maximum period must be positive");
+        }
+
+        this.delegate = delegate;
+        this.maxPeriod = maxPeriod;
+        this.recentGenerations = new PackedGrid[maxPeriod + 1];
+        this.recentHashes = new long[maxPeriod + 1];
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration) {
+        return step(currentGeneration, 1);
+    }
+
+    @Override
+    public synchronized PackedGrid step(PackedGrid currentGeneration, long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generation count must not be negative");
+        }
+
+        if (currentGeneration != newestGeneration()) {
+            reset(currentGeneration);
+        }
+
+        long remaining = generations;
+        long bulkGenerations = 1;
+
+        while (remaining > 0 && cycle == null) {
+            for (int i=0; i < maxPeriod && remaining > 0 && cycle == null; i++) {
+                advanceOneGeneration();
+                remaining--;
+            }
+
+            if (remaining > 0 && cycle == null) {
+                long bulk = Math.min(remaining, bulkGenerations);
+                reset(delegate.step(newestGeneration(), bulk));
+                remaining -= bulk;
+                bulkGenerations *= 2;
+            }
+        }
+
+        if (cycle != null) {
+            cyclePosition = (int) ((cyclePosition + remaining % cycle.length) % cycle.length);
+        }
+
+        retainedBytes = countRetainedBytes();
+        return newestGeneration();
+    }
+
+    public synchronized BoardState describe(PackedGrid generation) {
+        return generation == newestGeneration() ? boardState : BoardState.ACTIVE;
+    }
+
+    public synchronized int getPeriod() {
+        return cycle == null ? 0 : cycle.length;
+    }
+
+    @Override
+    public long estimateRetainedBytes() {
+        return retainedBytes + delegate.estimateRetainedBytes();
+    }
+
+    public GenerationEngine getDelegate() {
+        return delegate;
+    }
+
+    public int getMaxPeriod() {
+        return maxPeriod;
+    }
+
+    private void advanceOneGeneration() {
+        PackedGrid previousGeneration = recentGenerations[newestIndex];
+        PackedGrid nextGeneration = delegate.step(previousGeneration);
+        long nextHash = updateZobristHash(recentHashes[newestIndex], previousGeneration, nextGeneration);
+
+        newestIndex = (newestIndex + 1) % recentGenerations.length;
+        recentGenerations[newestIndex] = nextGeneration;
+        recentHashes[newestIndex] = nextHash;
+        recentCount = Math.min(recentCount + 1, recentGenerations.length);
+
+        for (int period=1; period < recentCount; period++) {
+            int earlierIndex = (newestIndex - period + recentGenerations.length) % recentGenerations.length;
+
+            if (recentHashes[earlierIndex] == nextHash && recentGenerations[earlierIndex].equals(nextGeneration)) {
+                enterCycle(period);
+                return;
+            }
+        }
+    }
+
+    private void enterCycle(int period) {
+        cycle = new PackedGrid[period];
+        cycle[0] = recentGenerations[newestIndex];
+
+        for (int i=1; i < period; i++) {
+            cycle[i] = recentGenerations[(newestIndex - period + i + recentGenerations.length) % recentGenerations.length];
+        }
+
+        cyclePosition = 0;
+
+        if (period > 1) {
+            boardState = BoardState.PERIODIC;
+        } else {
+            boardState = recentHashes[newestIndex] == 0 && cycle[0].countLiveCells() == 0 ? BoardState.EMPTY : BoardState.STATIC;
+        }
+    }
+
+    private void reset(PackedGrid generation) {
+        cycle = null;
+        boardState = BoardState.ACTIVE;
+        newestIndex = 0;
+        recentCount = 1;
+        Arrays.fill(recentGenerations, null);
+        recentGenerations[0] = generation;
+        recentHashes[0] = zobristHash(generation);
+    }
+
+    private long countRetainedBytes() {
+        long recentBytes = 0;
+
+        for (PackedGrid recentGeneration : recentGenerations) {
+            if (recentGeneration != null) {
+                recentBytes += (long) recentGeneration.getWords().length * Long.BYTES;
+            }
+        }
+
+        return recentBytes;
+    }
+
+    private PackedGrid newestGeneration() {
+        return cycle != null ? cycle[cyclePosition] : recentGenerations[newestIndex];
+    }
+
+    static long zobristHash(PackedGrid packedGrid) {
+        return updateZobristHash(0, packedGrid.emptyCopy(), packedGrid);
+    }
+
+    static long updateZobristHash(long hash, PackedGrid previousGeneration, PackedGrid nextGeneration) {
+        long[] previousWords = previousGeneration.getWords();
+        long[] nextWords = nextGeneration.getWords();
+        int wordsPerRow = nextGeneration.getWordsPerRow();
+
+        for (int y=0; y < nextGeneration.getRowCount(); y++) {
+            int rowOffset = nextGeneration.rowOffset(y);
+            long rowStart = (long) y * nextGeneration.getColumnCount();
+
+            for (int w=0; w < wordsPerRow; w++) {
+                for (long changed=previousWords[rowOffset + w] ^ nextWords[rowOffset + w]; changed != 0; changed &= changed - 1) {
+                    hash ^= zobristKey(rowStart + w * PackedGrid.CELLS_PER_WORD + Long.numberOfTrailingZeros(changed));
+                }
+            }
+        }
+
+        return hash;
+    }
+
+    static long zobristKey(long cellIndex) {
+        long key = cellIndex * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+        key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+        key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+        return key ^ (key >>> 31);
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.kata.cgl.engine;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public class DirtyTileGenerationEngine implements GenerationEngine {
+
+    public static final int DEFAULT_TILE_ROW_COUNT = 32;
+    public static final int DEFAULT_TILE_WORD_COUNT = 1;
+
+    private final PackedGenerationKernel kernel;
+    private final int tileRowCount;
+    private final int tileWordCount;
+
+    private PackedGrid lastGeneration;
+    private boolean[] changedTiles;
+    private long[] tileFingerprints;
+    private int tileRows;
+    private int tileColumns;
+    private int lastSkippedTileCount;
+    private long totalSkippedTileCount;
+    private long totalTileCount;
+    private volatile long retainedBytes;
+
+    public DirtyTileGenerationEngine(PackedGenerationKernel kernel) {
+        this(kernel, DEFAULT_TILE_ROW_COUNT, DEFAULT_TILE_WORD_COUNT);
+    }
+
+    public DirtyTileGenerationEngine(PackedGenerationKernel kernel, int tileRowCount, int tileWordCount) {
+        if (tileRowCount <= 0 || tileWordCount <= 0) {
+            throw new IllegalArgumentException("Tile dimensions must be positive");
+        }
+
+        this.kernel = kernel;
+        this.tileRowCount = tileRowCount;
+        this.tileWordCount = tileWordCount;
+    }
+
+    @Override
+    public String getName() {
+        return "dirty-tile-" + kernel.getName();
+    }
+
+    @Override
+    public synchronized PackedGrid step(PackedGrid currentGeneration) {
+        boolean continuesLastGeneration = currentGeneration == lastGeneration;
+
+        if (continuesLastGeneration) {
+            markEditedTiles(currentGeneration);
+        } else {
+            tileRows = (currentGeneration.getRowCount() + tileRowCount - 1) / tileRowCount;
+            tileColumns = (currentGeneration.getWordsPerRow() + tileWordCount - 1) / tileWordCount;
+        }
+
+        boolean[] nextChangedTiles = new boolean[tileRows * tileColumns];
+        long[] nextTileFingerprints = new long[tileRows * tileColumns];
+        PackedGrid nextGeneration = currentGeneration.emptyCopy();
+        int skippedTileCount = 0;
+
+        for (int tileRow=0; tileRow < tileRows; tileRow++) {
+            int fromRow = tileRow * tileRowCount;
+            int toRow = Math.min(fromRow + tileRowCount, currentGeneration.getRowCount());
+
+            for (int tileColumn=0; tileColumn < tileColumns; tileColumn++) {
+                int fromWord = tileColumn * tileWordCount;
+                int toWord = Math.min(fromWord + tileWordCount, currentGeneration.getWordsPerRow());
+                int tile = tileRow * tileColumns + tileColumn;
+
+                if (continuesLastGeneration && !isNeighborhoodChanged(tileRow, tileColumn)) {
+                    copyTile(currentGeneration, nextGeneration, fromRow, toRow, fromWord, toWord);
+                    nextTileFingerprints[tile] = tileFingerprints[tile];
+                    skippedTileCount++;
+                } else {
+                    kernel.stepRegion(currentGeneration, nextGeneration, fromRow, toRow, fromWord, toWord);
+                    nextChangedTiles[tile] = !isTileEqual(currentGeneration, nextGeneration, fromRow, toRow, fromWord, toWord);
+                    nextTileFingerprints[tile] = tileFingerprint(nextGeneration, fromRow, toRow, fromWord, toWord);
+                }
+            }
+        }
+
+        lastGeneration = nextGeneration;
+        changedTiles = nextChangedTiles;
+        tileFingerprints = nextTileFingerprints;
+        lastSkippedTileCount = skippedTileCount;
+        totalSkippedTileCount += skippedTileCount;
+        totalTileCount += nextChangedTiles.length;
+        retainedBytes = (long) nextGeneration.getWords().length * Long.BYTES + (long) nextTileFingerprints.length * Long.BYTES + nextChangedTiles.length;
+        return nextGeneration;
+    }
+
+    // The board we returned last time is also the caller's, so tiles whose words no longer match the
+    // fingerprint taken when we wrote them are treated as changed and recomputed with their neighbours.
+    private void markEditedTiles(PackedGrid currentGeneration) {
+        for (int tileRow=0; tileRow < tileRows; tileRow++) {
+            int fromRow = tileRow * tileRowCount;
+            int toRow = Math.min(fromRow + tileRowCount, currentGeneration.getRowCount());
+
+            for (int tileColumn=0; tileColumn < tileColumns; tileColumn++) {
+                int fromWord = tileColumn * tileWordCount;
+                int toWord = Math.min(fromWord + tileWordCount, currentGeneration.getWordsPerRow());
+                int tile = tileRow * tileColumns + tileColumn;
+
+                if (tileFingerprint(currentGeneration, fromRow, toRow, fromWord, toWord) != tileFingerprints[tile]) {
+                    changedTiles[tile] = true;
+                }
+            }
+        }
+    }
+
+    private boolean isNeighborhoodChanged(int tileRow, int tileColumn) {
+        for (int neighborTileRow=Math.max(tileRow - 1, 0); neighborTileRow <= Math.min(tileRow + 1, tileRows - 1); neighborTileRow++) {
+            for (int neighborTileColumn=Math.max(tileColumn - 1, 0); neighborTileColumn <= Math.min(tileColumn + 1, tileColumns - 1); neighborTileColumn++) {
+                if (changedTiles[neighborTileRow * tileColumns + neighborTileColumn]) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static void copyTile(PackedGrid source, PackedGrid target, int fromRow, int toRow, int fromWord, int toWord) {
+        for (int y=fromRow; y < toRow; y++) {
+            int rowOffset = source.rowOffset(y);
+            System.arraycopy(source.getWords(), rowOffset + fromWord, target.getWords(), rowOffset + fromWord, toWord - fromWord);
+        }
+    }
+
+    private static boolean isTileEqual(PackedGrid source, PackedGrid target, int fromRow, int toRow, int fromWord, int toWord) {
+        long[] sourceWords = source.getWords();
+        long[] targetWords = target.getWords();
+
+        for (int y=fromRow; y < toRow; y++) {
+            int rowOffset = source.rowOffset(y);
+
+            for (int w=fromWord; w < toWord; w++) {
+                if (sourceWords[rowOffset + w] != targetWords[rowOffset + w]) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static long tileFingerprint(PackedGrid packedGrid, int fromRow, int toRow, int fromWord, int toWord) {
+        long[] words = packedGrid.getWords();
+        long fingerprint = 0;
+
+        for (int y=fromRow; y < toRow; y++) {
+            int rowOffset = packedGrid.rowOffset(y);
+
+            for (int w=fromWord; w < toWord; w++) {
+                fingerprint = Long.rotateLeft((fingerprint ^ words[rowOffset + w]) * 0x9E3779B97F4A7C15L, 31);
+            }
+        }
+
+        return fingerprint;
+    }
+
+    @Override
+    public long estimateRetainedBytes() {
+        return retainedBytes;
+    }
+
+    public synchronized int getLastSkippedTileCount() {
+        return lastSkippedTileCount;
+    }
+
+    public synchronized int getTileCount() {
+        return tileRows * tileColumns;
+    }
+
+    public synchronized long getTotalSkippedTileCount() {
+        return totalSkippedTileCount;
+    }
+
+    public synchronized long getTotalTileCount() {
+        return totalTileCount;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.kata.cgl.engine;
+
+public class GenerationCacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int entryCount;
+    private final long memoryBytes;
+    private final long maxMemoryBytes;
+
+    public GenerationCacheStatistics(long hitCount, long missCount, long evictionCount, int entryCount, long memoryBytes, long maxMemoryBytes) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.entryCount = entryCount;
+        this.memoryBytes = memoryBytes;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    public long getMaxMemoryBytes() {
+        return maxMemoryBytes;
+    }
+
+}
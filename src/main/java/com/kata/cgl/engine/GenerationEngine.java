@@ -0,0 +1,48 @@
+package com.kata.cgl.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public interface GenerationEngine {
+
+    String getName();
+
+    PackedGrid step(PackedGrid currentGeneration);
+
+    default PackedGrid step(PackedGrid currentGeneration, long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generation count must not be negative");
+        }
+
+        PackedGrid generation = currentGeneration;
+
+        for (long i=0; i < generations; i++) {
+            generation = step(generation);
+        }
+
+        return generation;
+    }
+
+    default List<PackedGrid> stepFrames(PackedGrid currentGeneration, long generations, long emitEvery) {
+        if (emitEvery <= 0) {
+            throw new IllegalArgumentException("Frame interval must be positive");
+        }
+
+        List<PackedGrid> frames = new ArrayList<>();
+        PackedGrid generation = currentGeneration;
+
+        for (long emitted=0; emitted < generations; emitted += emitEvery) {
+            generation = step(generation, Math.min(emitEvery, generations - emitted));
+            frames.add(generation);
+        }
+
+        return frames;
+    }
+
+    default long estimateRetainedBytes() {
+        return 0;
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.kata.cgl.engine;
+
+import com.kata.cgl.engine.hashlife.HashLifeGenerationEngine;
+import com.kata.cgl.engine.sparse.SparseGenerationEngine;
+
+public enum GenerationEngineType {
+    REFERENCE,
+    BITBOARD,
+    SWAR,
+    GHOST_BORDER,
+    PARALLEL_SWAR,
+    DIRTY_TILE_SWAR,
+    SPARSE,
+    HASHLIFE;
+
+    public GenerationEngine createEngine() {
+        return createEngine(LifeRule.CONWAY);
+    }
+
+    public GenerationEngine createEngine(LifeRule lifeRule) {
+        switch (this) {
+            case REFERENCE:
+                return new ReferenceGenerationEngine(lifeRule);
+            case BITBOARD:
+                return new BitboardGenerationEngine(lifeRule);
+            case GHOST_BORDER:
+                return new GhostBorderGenerationEngine(lifeRule);
+            case PARALLEL_SWAR:
+                return new ParallelBandGenerationEngine(new SwarGenerationEngine(lifeRule));
+            case DIRTY_TILE_SWAR:
+                return new DirtyTileGenerationEngine(new SwarGenerationEngine(lifeRule));
+            case SPARSE:
+                return new SparseGenerationEngine(lifeRule);
+            case HASHLIFE:
+                return new HashLifeGenerationEngine(lifeRule);
+            default: // SWAR
+                return new SwarGenerationEngine(lifeRule);
+        }
+    }
+
+    public static GenerationEngineType fromString(String s) {
+        for (GenerationEngineType generationEngineType : values()) {
+            if (generationEngineType.name().replace('_', '-').equalsIgnoreCase(s) || generationEngineType.name().equalsIgnoreCase(s)) {
+                return generationEngineType;
+            }
+        }
+
+        return null;
+    }
+
+}
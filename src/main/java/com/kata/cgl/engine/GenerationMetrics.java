@@ -0,0 +1,63 @@
+package com.kata.cgl.engine;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@Component
+public class GenerationMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final com.sun.management.ThreadMXBean allocationMXBean;
+
+    @Autowired
+    public GenerationMetrics(MeterRegistry meterRegistry, @Value("${cgl.metrics.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.allocationMXBean = findAllocationMXBean();
+    }
+
+    public static GenerationMetrics disabled() {
+        return new GenerationMetrics(new SimpleMeterRegistry(), false);
+    }
+
+    public GenerationEngine instrument(GenerationEngine generationEngine) {
+        if (!enabled) {
+            return generationEngine;
+        }
+
+        return new InstrumentedGenerationEngine(generationEngine, meterRegistry, allocationMXBean);
+    }
+
+    private static com.sun.management.ThreadMXBean findAllocationMXBean() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+
+        com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+
+        if (!allocationMXBean.isThreadAllocatedMemorySupported() || !allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+            return null;
+        }
+
+        return allocationMXBean;
+    }
+
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+}
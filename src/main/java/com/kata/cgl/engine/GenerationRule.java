@@ -0,0 +1,21 @@
+package com.kata.cgl.engine;
+
+import com.kata.cgl.exception.InvalidRuleException;
+
+public interface GenerationRule {
+
+    GenerationEngine createEngine(GenerationEngineType generationEngineType, Topology topology);
+
+    default GenerationEngine createEngine(GenerationEngineType generationEngineType) {
+        return createEngine(generationEngineType, Topology.BOUNDED);
+    }
+
+    static GenerationRule parse(String rulestring) throws InvalidRuleException {
+        if (LargerThanLifeRule.isLargerThanLife(rulestring)) {
+            return LargerThanLifeRule.parse(rulestring);
+        }
+
+        return LifeRule.parse(rulestring);
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.kata.cgl.engine;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public class GhostBorderGenerationEngine implements GenerationEngine {
+
+    public static final String NAME = "ghost-border";
+    public static final String TORUS_NAME = "torus";
+
+    private final LifeRule lifeRule;
+    private final Topology topology;
+    private final SwarGenerationEngine swarKernel;
+
+    public GhostBorderGenerationEngine() {
+        this(LifeRule.CONWAY, Topology.BOUNDED);
+    }
+
+    public GhostBorderGenerationEngine(LifeRule lifeRule) {
+        this(lifeRule, Topology.BOUNDED);
+    }
+
+    public GhostBorderGenerationEngine(LifeRule lifeRule, Topology topology) {
+        this.lifeRule = lifeRule;
+        this.topology = topology;
+        this.swarKernel = new SwarGenerationEngine(lifeRule);
+    }
+
+    @Override
+    public String getName() {
+        return topology == Topology.TORUS ? TORUS_NAME : NAME;
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration) {
+        return step(currentGeneration, 1);
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration, long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generation count must not be negative");
+        }
+
+        int rowCount = currentGeneration.getRowCount();
+        int columnCount = currentGeneration.getColumnCount();
+        int wordsPerRow = currentGeneration.getWordsPerRow();
+
+        if (generations == 0 || rowCount == 0 || columnCount == 0) {
+            return generations == 0 ? currentGeneration : currentGeneration.emptyCopy();
+        }
+
+        // Each padded row is a ghost word, the row's own words and a trailing word that can hold the east ghost column.
+        int stride = wordsPerRow + 2;
+        long[] current = new long[(rowCount + 2) * stride];
+        long[] next = new long[current.length];
+        long lastWordMask = currentGeneration.getLastWordMask();
+
+        for (int y=0; y < rowCount; y++) {
+            System.arraycopy(currentGeneration.getWords(), currentGeneration.rowOffset(y), current, (y + 1) * stride + 1, wordsPerRow);
+        }
+
+        for (long g=0; g < generations; g++) {
+            if (topology == Topology.TORUS) {
+                wrapGhostBorder(current, rowCount, columnCount, stride);
+            }
+
+            stepInterior(current, next, rowCount, wordsPerRow, stride, lastWordMask);
+
+            long[] swap = current;
+            current = next;
+            next = swap;
+        }
+
+        PackedGrid nextGeneration = currentGeneration.emptyCopy();
+
+        for (int y=0; y < rowCount; y++) {
+            System.arraycopy(current, (y + 1) * stride + 1, nextGeneration.getWords(), nextGeneration.rowOffset(y), wordsPerRow);
+        }
+
+        return nextGeneration;
+    }
+
+    private static void wrapGhostBorder(long[] padded, int rowCount, int columnCount, int stride) {
+        int lastColumn = columnCount - 1;
+        int lastColumnWord = 1 + (lastColumn >>> 6);
+        int eastGhostWord = 1 + (columnCount >>> 6);
+        long eastGhostBit = 1L << columnCount;
+
+        for (int y=1; y <= rowCount; y++) {
+            int row = y * stride;
+            padded[row] = (padded[row + lastColumnWord] >>> lastColumn) << 63;
+            padded[row + eastGhostWord] = (padded[row + eastGhostWord] & ~eastGhostBit) | (-(padded[row + 1] & 1L) & eastGhostBit);
+        }
+
+        System.arraycopy(padded, rowCount * stride, padded, 0, stride);
+        System.arraycopy(padded, stride, padded, (rowCount + 1) * stride, stride);
+    }
+
+    private void stepInterior(long[] current, long[] next, int rowCount, int wordsPerRow, int stride, long lastWordMask) {
+        for (int y=1; y <= rowCount; y++) {
+            int row = y * stride + 1;
+            swarKernel.stepRow(current, next, row - stride, row, row + stride, 0, wordsPerRow, wordsPerRow, true, lastWordMask);
+        }
+    }
+
+    public LifeRule getLifeRule() {
+        return lifeRule;
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.kata.cgl.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.kata.cgl.grid.PackedGrid;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+public class InstrumentedGenerationEngine implements GenerationEngine {
+
+    public static final String LATENCY_METER = "cgl.generation.latency";
+    public static final String CELL_UPDATES_METER = "cgl.generation.cell.updates";
+    public static final String POPULATION_METER = "cgl.generation.population";
+    public static final String ALLOCATED_BYTES_METER = "cgl.generation.allocated";
+    public static final String TILES_METER = "cgl.generation.tiles";
+    public static final String SKIPPED_TILES_METER = "cgl.generation.tiles.skipped";
+
+    private final GenerationEngine delegate;
+    private final DirtyTileGenerationEngine dirtyTileEngine;
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    private final Map<Integer, StepMeters> stepMetersByBoardSize = new ConcurrentHashMap<>();
+
+    public InstrumentedGenerationEngine(GenerationEngine delegate, MeterRegistry meterRegistry, com.sun.management.ThreadMXBean threadMXBean) {
+        this.delegate = delegate;
+        this.dirtyTileEngine = delegate instanceof DirtyTileGenerationEngine ? (DirtyTileGenerationEngine) delegate : null;
+        this.meterRegistry = meterRegistry;
+        this.threadMXBean = threadMXBean;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration) {
+        return step(currentGeneration, 1);
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration, long generations) {
+        StepMeters stepMeters = stepMetersByBoardSize.computeIfAbsent(boardSizeClass(currentGeneration), this::registerStepMeters);
+        long threadId = Thread.currentThread().getId();
+        long allocatedBytesBefore = threadMXBean == null ? -1 : threadMXBean.getThreadAllocatedBytes(threadId);
+        long tileCountBefore = dirtyTileEngine == null ? 0 : dirtyTileEngine.getTotalTileCount();
+        long skippedTileCountBefore = dirtyTileEngine == null ? 0 : dirtyTileEngine.getTotalSkippedTileCount();
+        long startNanos = System.nanoTime();
+
+        PackedGrid nextGeneration = delegate.step(currentGeneration, generations);
+
+        stepMeters.latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        stepMeters.cellUpdates.increment((double) currentGeneration.getRowCount() * currentGeneration.getColumnCount() * generations);
+        stepMeters.population.record(nextGeneration.countLiveCells());
+
+        if (allocatedBytesBefore >= 0) {
+            stepMeters.allocatedBytes.record(threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBytesBefore);
+        }
+
+        if (dirtyTileEngine != null) {
+            stepMeters.tiles.increment(dirtyTileEngine.getTotalTileCount() - tileCountBefore);
+            stepMeters.skippedTiles.increment(dirtyTileEngine.getTotalSkippedTileCount() - skippedTileCountBefore);
+        }
+
+        return nextGeneration;
+    }
+
+    @Override
+    public long estimateRetainedBytes() {
+        return delegate.estimateRetainedBytes();
+    }
+
+    private StepMeters registerStepMeters(int boardSizeClass) {
+        Tags tags = Tags.of("engine", delegate.getName(), "board.size", Integer.toString(boardSizeClass));
+
+        return new StepMeters(
+                Timer.builder(LATENCY_METER)
+                        .description("Time taken to compute a generation step")
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                Counter.builder(CELL_UPDATES_METER)
+                        .description("Cells evaluated across all generation steps")
+                        .tags(tags)
+                        .register(meterRegistry),
+                DistributionSummary.builder(POPULATION_METER)
+                        .description("Live cells after a generation step")
+                        .tags(tags)
+                        .register(meterRegistry),
+                DistributionSummary.builder(ALLOCATED_BYTES_METER)
+                        .description("Heap allocated by the stepping thread during a generation step")
+                        .baseUnit("bytes")
+                        .tags(tags)
+                        .register(meterRegistry),
+                dirtyTileEngine == null ? null : Counter.builder(TILES_METER)
+                        .description("Tiles visited by dirty-tile generation steps")
+                        .tags(tags)
+                        .register(meterRegistry),
+                dirtyTileEngine == null ? null : Counter.builder(SKIPPED_TILES_METER)
+                        .description("Tiles copied unchanged instead of being recomputed")
+                        .tags(tags)
+                        .register(meterRegistry));
+    }
+
+    static int boardSizeClass(PackedGrid packedGrid) {
+        int longestSide = Math.max(packedGrid.getRowCount(), packedGrid.getColumnCount());
+        return longestSide <= 1 ? 1 : Integer.highestOneBit(longestSide - 1) << 1;
+    }
+
+    public GenerationEngine getDelegate() {
+        return delegate;
+    }
+
+    private static final class StepMeters {
+
+        private final Timer latency;
+        private final Counter cellUpdates;
+        private final DistributionSummary population;
+        private final DistributionSummary allocatedBytes;
+        private final Counter tiles;
+        private final Counter skippedTiles;
+
+        private StepMeters(Timer latency, Counter cellUpdates, DistributionSummary population, DistributionSummary allocatedBytes,
+                           Counter tiles, Counter skippedTiles) {
+            this.latency = latency;
+            this.cellUpdates = cellUpdates;
+            this.population = population;
+            this.allocatedBytes = allocatedBytes;
+            this.tiles = tiles;
+            this.skippedTiles = skippedTiles;
+        }
+
+    }
+
+}
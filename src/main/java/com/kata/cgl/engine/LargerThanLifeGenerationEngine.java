@@ -0,0 +1,245 @@
+package com.kata.cgl.engine;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public class LargerThanLifeGenerationEngine implements GenerationEngine {
+
+    public static final String NAME = "larger-than-life";
+
+    private final LargerThanLifeRule rule;
+    private final Topology topology;
+    private final int range;
+    private final int[] intervalMins;
+    private final long[] intervalSpans;
+    private final int centerExcluded;
+
+    public LargerThanLifeGenerationEngine(LargerThanLifeRule rule) {
+        this(rule, Topology.BOUNDED);
+    }
+
+    public LargerThanLifeGenerationEngine(LargerThanLifeRule rule, Topology topology) {
+        this.rule = rule;
+        this.topology = topology;
+        this.range = rule.getRange();
+        this.intervalMins = new int[] {rule.getBirthMin(), rule.getSurvivalMin()};
+        this.intervalSpans = new long[] {rule.getBirthMax() - rule.getBirthMin(), rule.getSurvivalMax() - rule.getSurvivalMin()};
+        this.centerExcluded = rule.isIncludesCenter() ? 0 : 1;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration) {
+        PackedGrid nextGeneration = currentGeneration.emptyCopy();
+
+        if (currentGeneration.getRowCount() == 0 || currentGeneration.getColumnCount() == 0) {
+            return nextGeneration;
+        }
+
+        switch (rule.getNeighborhoodType()) {
+            case VON_NEUMANN:
+                stepVonNeumann(currentGeneration, nextGeneration);
+                break;
+            default: // MOORE
+                stepMoore(currentGeneration, nextGeneration);
+        }
+
+        return nextGeneration;
+    }
+
+    private void stepMoore(PackedGrid currentGeneration, PackedGrid nextGeneration) {
+        int rowCount = currentGeneration.getRowCount();
+        int columnCount = currentGeneration.getColumnCount();
+        int window = 2 * range + 1;
+        int[] columnSums = new int[columnCount + window - 1];
+        int[] rowPrefix = new int[columnCount + window];
+        long[] currentWords = currentGeneration.getWords();
+        long[] nextWords = nextGeneration.getWords();
+
+        for (int j=-range; j < range; j++) {
+            addRow(currentGeneration, j, columnSums, 1);
+        }
+
+        for (int y=0; y < rowCount; y++) {
+            addRow(currentGeneration, y + range, columnSums, 1);
+
+            for (int i=0; i < columnSums.length; i++) {
+                rowPrefix[i + 1] = rowPrefix[i] + columnSums[i];
+            }
+
+            int rowOffset = currentGeneration.rowOffset(y);
+            long nextWord = 0;
+
+            for (int x=0; x < columnCount; x++) {
+                int aliveCount = rowPrefix[x + window] - rowPrefix[x];
+                nextWord |= nextState(currentWords[rowOffset + (x >>> 6)], x, aliveCount) << x;
+
+                if ((x & 63) == 63 || x == columnCount - 1) {
+                    nextWords[rowOffset + (x >>> 6)] = nextWord;
+                    nextWord = 0;
+                }
+            }
+
+            addRow(currentGeneration, y - range, columnSums, -1);
+        }
+    }
+
+    private void addRow(PackedGrid currentGeneration, int y, int[] columnSums, int sign) {
+        int rowCount = currentGeneration.getRowCount();
+        int columnCount = currentGeneration.getColumnCount();
+
+        if (topology != Topology.TORUS && (y < 0 || y >= rowCount)) {
+            return;
+        }
+
+        int row = Math.floorMod(y, rowCount);
+
+        for (int x=currentGeneration.nextLiveColumn(row, 0); x < columnCount; x=currentGeneration.nextLiveColumn(row, x + 1)) {
+            if (topology != Topology.TORUS) {
+                columnSums[x + range] += sign;
+                continue;
+            }
+
+            for (int i=(x + range) % columnCount; i < columnSums.length; i += columnCount) {
+                columnSums[i] += sign;
+            }
+        }
+    }
+
+    private void stepVonNeumann(PackedGrid currentGeneration, PackedGrid nextGeneration) {
+        int rowCount = currentGeneration.getRowCount();
+        int columnCount = currentGeneration.getColumnCount();
+        int padding = range + 1;
+        int width = columnCount + 2 * padding;
+        int height = rowCount + 2 * padding;
+        DiagonalRows diagonalRows = new DiagonalRows(width, 2 * range + 3);
+        int[] ghostRow = new int[width];
+        long[] currentWords = currentGeneration.getWords();
+        long[] nextWords = nextGeneration.getWords();
+        int border = topology == Topology.TORUS ? 0 : padding;
+        int builtRows = 0;
+
+        int columnStartCount = countDiamond(currentGeneration);
+
+        for (int y=0; y < rowCount; y++) {
+            int py = y + padding;
+
+            for (; builtRows <= Math.min(py + range + 1, height - 1); builtRows++) {
+                boolean insideBorder = builtRows >= border && builtRows < height - border;
+
+                for (int i=0; i < width; i++) {
+                    ghostRow[i] = insideBorder && i >= border && i < width - border ? ghostCell(currentGeneration, i - padding, builtRows - padding) : 0;
+                }
+
+                diagonalRows.build(builtRows, ghostRow);
+            }
+
+            int rowOffset = currentGeneration.rowOffset(y);
+            int aliveCount = columnStartCount;
+            long nextWord = 0;
+
+            for (int x=0; x < columnCount; x++) {
+                int px = x + padding;
+                nextWord |= nextState(currentWords[rowOffset + (x >>> 6)], x, aliveCount) << x;
+
+                if ((x & 63) == 63 || x == columnCount - 1) {
+                    nextWords[rowOffset + (x >>> 6)] = nextWord;
+                    nextWord = 0;
+                }
+
+                if (x < columnCount - 1) {
+                    aliveCount += diagonalRows.diagonalSum(px + 1, py - range, range + 1)
+                            + diagonalRows.antiDiagonalSum(px + range, py + 1, range)
+                            - diagonalRows.antiDiagonalSum(px, py - range, range + 1)
+                            - diagonalRows.diagonalSum(px - range + 1, py + 1, range);
+                }
+            }
+
+            if (y < rowCount - 1) {
+                columnStartCount += diagonalRows.diagonalSum(padding - range, py + 1, range + 1)
+                        + diagonalRows.antiDiagonalSum(padding + range, py + 1, range)
+                        - diagonalRows.diagonalSum(padding, py - range, range + 1)
+                        - diagonalRows.antiDiagonalSum(padding - 1, py - range + 1, range);
+            }
+        }
+    }
+
+    private int countDiamond(PackedGrid currentGeneration) {
+        int aliveCount = 0;
+
+        for (int y=-range; y <= range; y++) {
+            for (int x=Math.abs(y) - range; x <= range - Math.abs(y); x++) {
+                aliveCount += ghostCell(currentGeneration, x, y);
+            }
+        }
+
+        return aliveCount;
+    }
+
+    private int ghostCell(PackedGrid currentGeneration, int x, int y) {
+        int rowCount = currentGeneration.getRowCount();
+        int columnCount = currentGeneration.getColumnCount();
+
+        if (topology == Topology.TORUS) {
+            return currentGeneration.isAlive(Math.floorMod(x, columnCount), Math.floorMod(y, rowCount)) ? 1 : 0;
+        }
+
+        return x >= 0 && x < columnCount && y >= 0 && y < rowCount && currentGeneration.isAlive(x, y) ? 1 : 0;
+    }
+
+    private long nextState(long word, int x, int aliveCount) {
+        int alive = (int) (word >>> x & 1);
+        long offset = (aliveCount - alive * centerExcluded - intervalMins[alive]) & 0xFFFFFFFFL;
+        return ((intervalSpans[alive] - offset) >>> 63) ^ 1;
+    }
+
+    public LargerThanLifeRule getRule() {
+        return rule;
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    private static final class DiagonalRows {
+
+        private final int width;
+        private final int ringRowCount;
+        private final int[] diagonals;
+        private final int[] antiDiagonals;
+
+        private DiagonalRows(int width, int ringRowCount) {
+            this.width = width;
+            this.ringRowCount = ringRowCount;
+            this.diagonals = new int[width * ringRowCount];
+            this.antiDiagonals = new int[width * ringRowCount];
+        }
+
+        private void build(int j, int[] ghostRow) {
+            int row = offset(j);
+            int previousRow = offset(j - 1);
+
+            for (int i=0; i < width; i++) {
+                diagonals[row + i] = ghostRow[i] + (j > 0 && i > 0 ? diagonals[previousRow + i - 1] : 0);
+                antiDiagonals[row + i] = ghostRow[i] + (j > 0 && i < width - 1 ? antiDiagonals[previousRow + i + 1] : 0);
+            }
+        }
+
+        private int diagonalSum(int i, int j, int length) {
+            return diagonals[offset(j + length - 1) + i + length - 1] - diagonals[offset(j - 1) + i - 1];
+        }
+
+        private int antiDiagonalSum(int i, int j, int length) {
+            return antiDiagonals[offset(j + length - 1) + i - length + 1] - antiDiagonals[offset(j - 1) + i + 1];
+        }
+
+        private int offset(int j) {
+            return Math.floorMod(j, ringRowCount) * width;
+        }
+
+    }
+
+}
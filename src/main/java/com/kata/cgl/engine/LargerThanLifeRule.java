@@ -0,0 +1,179 @@
+package com.kata.cgl.engine;
+
+import com.kata.cgl.exception.InvalidRuleException;
+
+public final class LargerThanLifeRule implements GenerationRule {
+
+    public static final int MAX_RANGE = 500;
+
+    private final int range;
+    private final NeighborhoodType neighborhoodType;
+    private final boolean includesCenter;
+    private final int survivalMin;
+    private final int survivalMax;
+    private final int birthMin;
+    private final int birthMax;
+
+    private LargerThanLifeRule(int range, NeighborhoodType neighborhoodType, boolean includesCenter, int survivalMin, int survivalMax, int birthMin, int birthMax) {
+        this.range = range;
+        this.neighborhoodType = neighborhoodType;
+        this.includesCenter = includesCenter;
+        this.survivalMin = survivalMin;
+        this.survivalMax = survivalMax;
+        this.birthMin = birthMin;
+        this.birthMax = birthMax;
+    }
+
+    public static boolean isLargerThanLife(String rulestring) {
+        return rulestring != null && rulestring.trim().toUpperCase().startsWith("R");
+    }
+
+    public static LargerThanLifeRule parse(String rulestring) throws InvalidRuleException {
+        int range = -1;
+        int stateCount = 0;
+        boolean includesCenter = false;
+        int[] survival = null;
+        int[] birth = null;
+        NeighborhoodType neighborhoodType = NeighborhoodType.MOORE;
+
+        for (String field : rulestring.replaceAll("\\s", "").toUpperCase().split(",")) {
+            if (field.isEmpty()) {
+                throw new InvalidRuleException(rulestring, "empty field");
+            }
+
+            String value = field.substring(1);
+
+            switch (field.charAt(0)) {
+                case 'R':
+                    range = parseNumber(rulestring, value);
+                    break;
+                case 'C':
+                    stateCount = parseNumber(rulestring, value);
+                    break;
+                case 'M':
+                    includesCenter = parseNumber(rulestring, value) == 1;
+                    break;
+                case 'S':
+                    survival = parseInterval(rulestring, value);
+                    break;
+                case 'B':
+                    birth = parseInterval(rulestring, value);
+                    break;
+                case 'N':
+                    neighborhoodType = NeighborhoodType.fromString(value);
+
+                    if (neighborhoodType == null) {
+                        throw new InvalidRuleException(rulestring, "unknown neighbourhood '" + value + "', expected NM or NN");
+                    }
+                    break;
+                default:
+                    throw new InvalidRuleException(rulestring, "unknown field '" + field + "'");
+            }
+        }
+
+        if (range < 1 || range > MAX_RANGE) {
+            throw new InvalidRuleException(rulestring, "range R must be between 1 and " + MAX_RANGE);
+        }
+
+        if (stateCount != 0 && stateCount != 2) {
+            throw new InvalidRuleException(rulestring, "only two-state rules (C0 or C2) are supported");
+        }
+
+        if (survival == null || birth == null) {
+            throw new InvalidRuleException(rulestring, "both S and B intervals are required, for example S34..58,B34..45");
+        }
+
+        if (birth[0] == 0) {
+            throw new InvalidRuleException(rulestring, "births on zero neighbours would bring empty space to life");
+        }
+
+        return new LargerThanLifeRule(range, neighborhoodType, includesCenter, survival[0], survival[1], birth[0], birth[1]);
+    }
+
+    private static int parseNumber(String rulestring, String value) throws InvalidRuleException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidRuleException(rulestring, "'" + value + "' is not a number");
+        }
+    }
+
+    private static int[] parseInterval(String rulestring, String value) throws InvalidRuleException {
+        int separator = value.indexOf("..");
+        int min = parseNumber(rulestring, separator < 0 ? value : value.substring(0, separator));
+        int max = separator < 0 ? min : parseNumber(rulestring, value.substring(separator + 2));
+
+        if (min < 0 || max < min) {
+            throw new InvalidRuleException(rulestring, "interval '" + value + "' must be non-negative and ascending");
+        }
+
+        return new int[] {min, max};
+    }
+
+    @Override
+    public GenerationEngine createEngine(GenerationEngineType generationEngineType, Topology topology) {
+        return new LargerThanLifeGenerationEngine(this, topology);
+    }
+
+    public boolean nextState(boolean alive, int aliveCount) {
+        return alive ? aliveCount >= survivalMin && aliveCount <= survivalMax : aliveCount >= birthMin && aliveCount <= birthMax;
+    }
+
+    public int getRange() {
+        return range;
+    }
+
+    public NeighborhoodType getNeighborhoodType() {
+        return neighborhoodType;
+    }
+
+    public boolean isIncludesCenter() {
+        return includesCenter;
+    }
+
+    public int getSurvivalMin() {
+        return survivalMin;
+    }
+
+    public int getSurvivalMax() {
+        return survivalMax;
+    }
+
+    public int getBirthMin() {
+        return birthMin;
+    }
+
+    public int getBirthMax() {
+        return birthMax;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LargerThanLifeRule that = (LargerThanLifeRule) o;
+
+        return range == that.range && neighborhoodType == that.neighborhoodType && includesCenter == that.includesCenter
+                && survivalMin == that.survivalMin && survivalMax == that.survivalMax && birthMin == that.birthMin && birthMax == that.birthMax;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = range;
+        result = 31 * result + neighborhoodType.hashCode();
+        result = 31 * result + (includesCenter ? 1 : 0);
+        result = 31 * result + survivalMin;
+        result = 31 * result + survivalMax;
+        result = 31 * result + birthMin;
+        result = 31 * result + birthMax;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "R" + range + ",C0,M" + (includesCenter ? 1 : 0) + ",S" + survivalMin + ".." + survivalMax
+                + ",B" + birthMin + ".." + birthMax + ",N" + neighborhoodType.getCode();
+    }
+
+}
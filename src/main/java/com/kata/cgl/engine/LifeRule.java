@@ -0,0 +1,166 @@
+package com.kata.cgl.engine;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.kata.cgl.exception.InvalidRuleException;
+
+public final class LifeRule implements GenerationRule {
+
+    public static final int MAX_NEIGHBOR_COUNT = 8;
+    public static final LifeRule CONWAY = new LifeRule(1 << 3, 1 << 2 | 1 << 3);
+
+    private static final Pattern BIRTH_SURVIVAL = Pattern.compile("B([0-8]*)/?S([0-8]*)");
+    private static final Pattern SURVIVAL_BIRTH = Pattern.compile("S([0-8]*)/?B([0-8]*)");
+    private static final Pattern LEGACY_SURVIVAL_BIRTH = Pattern.compile("([0-8]*)/([0-8]*)");
+    private static final int SURVIVAL_SHIFT = MAX_NEIGHBOR_COUNT + 1;
+    private static final int TERM_WIDTH = 6;
+
+    private final int birthMask;
+    private final int survivalMask;
+    private final int transitionTable;
+    private final long[] terms;
+    private final boolean conway;
+
+    private LifeRule(int birthMask, int survivalMask) {
+        this.birthMask = birthMask;
+        this.survivalMask = survivalMask;
+        this.transitionTable = birthMask | survivalMask << SURVIVAL_SHIFT;
+        this.terms = compileTerms(birthMask, survivalMask);
+        this.conway = birthMask == 1 << 3 && survivalMask == (1 << 2 | 1 << 3);
+    }
+
+    public static LifeRule of(int birthMask, int survivalMask) {
+        LifeRule lifeRule = new LifeRule(birthMask, survivalMask);
+        return lifeRule.equals(CONWAY) ? CONWAY : lifeRule;
+    }
+
+    public static LifeRule parse(String rulestring) throws InvalidRuleException {
+        if (rulestring == null || rulestring.trim().isEmpty()) {
+            return CONWAY;
+        }
+
+        String normalisedRulestring = rulestring.trim().toUpperCase();
+        Matcher matcher;
+        int birthMask;
+        int survivalMask;
+
+        if ((matcher = BIRTH_SURVIVAL.matcher(normalisedRulestring)).matches()) {
+            birthMask = neighborCountMask(matcher.group(1));
+            survivalMask = neighborCountMask(matcher.group(2));
+        } else if ((matcher = SURVIVAL_BIRTH.matcher(normalisedRulestring)).matches()
+                || (matcher = LEGACY_SURVIVAL_BIRTH.matcher(normalisedRulestring)).matches()) {
+            survivalMask = neighborCountMask(matcher.group(1));
+            birthMask = neighborCountMask(matcher.group(2));
+        } else {
+            throw new InvalidRuleException(rulestring, "expected the form B3/S23 with neighbour counts 0 to 8");
+        }
+
+        if ((birthMask & 1) != 0) {
+            throw new InvalidRuleException(rulestring, "B0 rules would bring empty space outside live regions to life");
+        }
+
+        return of(birthMask, survivalMask);
+    }
+
+    private static int neighborCountMask(String neighborCounts) {
+        int mask = 0;
+
+        for (int i=0; i < neighborCounts.length(); i++) {
+            mask |= 1 << (neighborCounts.charAt(i) - '0');
+        }
+
+        return mask;
+    }
+
+    private static long[] compileTerms(int birthMask, int survivalMask) {
+        int liveCounts = birthMask | survivalMask;
+        long[] terms = new long[Integer.bitCount(liveCounts) * TERM_WIDTH];
+        int t = 0;
+
+        for (int neighborCount=0; neighborCount <= MAX_NEIGHBOR_COUNT; neighborCount++) {
+            if ((liveCounts >>> neighborCount & 1) == 0) {
+                continue;
+            }
+
+            for (int countBit=0; countBit < 4; countBit++) {
+                terms[t + countBit] = (neighborCount >>> countBit & 1) != 0 ? 0 : -1L;
+            }
+
+            terms[t + 4] = -(long) (birthMask >>> neighborCount & 1);
+            terms[t + 5] = -(long) (survivalMask >>> neighborCount & 1);
+            t += TERM_WIDTH;
+        }
+
+        return terms;
+    }
+
+    @Override
+    public GenerationEngine createEngine(GenerationEngineType generationEngineType, Topology topology) {
+        if (topology == Topology.TORUS) {
+            return new GhostBorderGenerationEngine(this, topology);
+        }
+
+        return generationEngineType.createEngine(this);
+    }
+
+    public boolean nextState(boolean alive, int aliveNeighborCount) {
+        return (transitionTable >>> (aliveNeighborCount + (alive ? SURVIVAL_SHIFT : 0)) & 1) != 0;
+    }
+
+    public long nextWord(long countBit0, long countBit1, long countBit2, long countBit3, long alive) {
+        if (conway) {
+            return countBit1 & ~countBit2 & ~countBit3 & (countBit0 | alive);
+        }
+
+        long nextWord = 0;
+
+        for (int t=0; t < terms.length; t += TERM_WIDTH) {
+            long matchesCount = (countBit0 ^ terms[t]) & (countBit1 ^ terms[t + 1]) & (countBit2 ^ terms[t + 2]) & (countBit3 ^ terms[t + 3]);
+            nextWord |= matchesCount & ((terms[t + 4] & ~alive) | (terms[t + 5] & alive));
+        }
+
+        return nextWord;
+    }
+
+    public int getBirthMask() {
+        return birthMask;
+    }
+
+    public int getSurvivalMask() {
+        return survivalMask;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LifeRule that = (LifeRule) o;
+
+        return birthMask == that.birthMask && survivalMask == that.survivalMask;
+    }
+
+    @Override
+    public int hashCode() {
+        return transitionTable;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rulestring = new StringBuilder("B");
+        appendNeighborCounts(rulestring, birthMask);
+        rulestring.append("/S");
+        appendNeighborCounts(rulestring, survivalMask);
+        return rulestring.toString();
+    }
+
+    private static void appendNeighborCounts(StringBuilder rulestring, int mask) {
+        for (int neighborCount=0; neighborCount <= MAX_NEIGHBOR_COUNT; neighborCount++) {
+            if ((mask >>> neighborCount & 1) != 0) {
+                rulestring.append(neighborCount);
+            }
+        }
+    }
+
+}
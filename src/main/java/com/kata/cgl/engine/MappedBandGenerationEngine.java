@@ -0,0 +1,63 @@
+package com.kata.cgl.engine;
+
+import java.util.Arrays;
+
+import com.kata.cgl.grid.MappedGrid;
+import com.kata.cgl.grid.PackedGrid;
+
+public class MappedBandGenerationEngine {
+
+    public static final long DEFAULT_BAND_BYTES = 8L << 20;
+
+    private final PackedGenerationKernel kernel;
+    private final int bandRowCount;
+
+    public MappedBandGenerationEngine(PackedGenerationKernel kernel) {
+        this(kernel, 0);
+    }
+
+    public MappedBandGenerationEngine(PackedGenerationKernel kernel, int bandRowCount) {
+        if (bandRowCount < 0) {
+            throw new IllegalArgumentException("Band row count must not be negative");
+        }
+
+        this.kernel = kernel;
+        this.bandRowCount = bandRowCount;
+    }
+
+    public String getName() {
+        return "mapped-" + kernel.getName();
+    }
+
+    public void step(MappedGrid mappedGrid, long generations) {
+        int rowCount = mappedGrid.getRowCount();
+        int rowsPerBand = Math.min(determineBandRowCount(mappedGrid), Math.max(rowCount, 1));
+        PackedGrid currentBand = new PackedGrid(rowsPerBand + 2, mappedGrid.getColumnCount());
+        PackedGrid nextBand = currentBand.emptyCopy();
+
+        for (long generation=0; generation < generations; generation++) {
+            for (int fromRow=0; fromRow < rowCount; fromRow += rowsPerBand) {
+                int toRow = Math.min(fromRow + rowsPerBand, rowCount);
+                int haloFromRow = Math.max(fromRow - 1, 0);
+                int haloToRow = Math.min(toRow + 1, rowCount);
+
+                Arrays.fill(currentBand.getWords(), 0L);
+                mappedGrid.readRows(haloFromRow, haloToRow, currentBand, haloFromRow - fromRow + 1);
+                kernel.stepRows(currentBand, nextBand, 1, toRow - fromRow + 1);
+                mappedGrid.writeNextRows(nextBand, 1, fromRow, toRow);
+            }
+
+            mappedGrid.swapBuffers(1);
+        }
+    }
+
+    int determineBandRowCount(MappedGrid mappedGrid) {
+        if (bandRowCount > 0) {
+            return bandRowCount;
+        }
+
+        long rowBytes = Math.max(1L, (long) mappedGrid.getWordsPerRow() * Long.BYTES);
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE - 2, DEFAULT_BAND_BYTES / rowBytes));
+    }
+
+}
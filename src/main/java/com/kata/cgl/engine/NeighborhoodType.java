@@ -0,0 +1,28 @@
+package com.kata.cgl.engine;
+
+public enum NeighborhoodType {
+    MOORE("M"),
+    VON_NEUMANN("N");
+
+    private final String code;
+
+    NeighborhoodType(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public static NeighborhoodType fromString(String s) {
+        for (NeighborhoodType neighborhoodType : values()) {
+            if (neighborhoodType.code.equalsIgnoreCase(s) || neighborhoodType.name().replace('_', '-').equalsIgnoreCase(s)
+                    || neighborhoodType.name().equalsIgnoreCase(s)) {
+                return neighborhoodType;
+            }
+        }
+
+        return null;
+    }
+
+}
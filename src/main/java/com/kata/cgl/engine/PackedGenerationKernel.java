@@ -0,0 +1,15 @@
+package com.kata.cgl.engine;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public interface PackedGenerationKernel {
+
+    String getName();
+
+    void stepRegion(PackedGrid currentGeneration, PackedGrid nextGeneration, int fromRow, int toRow, int fromWord, int toWord);
+
+    default void stepRows(PackedGrid currentGeneration, PackedGrid nextGeneration, int fromRow, int toRow) {
+        stepRegion(currentGeneration, nextGeneration, fromRow, toRow, 0, currentGeneration.getWordsPerRow());
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.kata.cgl.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public class ParallelBandGenerationEngine implements GenerationEngine {
+
+    public static final int MINIMUM_BAND_ROW_COUNT = 16;
+    public static final int BANDS_PER_THREAD = 4;
+
+    private final PackedGenerationKernel kernel;
+    private final ExecutorService executorService;
+    private final int parallelism;
+    private final int bandRowCount;
+
+    public ParallelBandGenerationEngine(PackedGenerationKernel kernel) {
+        this(kernel, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism(), 0);
+    }
+
+    public ParallelBandGenerationEngine(PackedGenerationKernel kernel, ForkJoinPool forkJoinPool) {
+        this(kernel, forkJoinPool, forkJoinPool.getParallelism(), 0);
+    }
+
+    public ParallelBandGenerationEngine(PackedGenerationKernel kernel, ExecutorService executorService, int parallelism, int bandRowCount) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+
+        this.kernel = kernel;
+        this.executorService = executorService;
+        this.parallelism = parallelism;
+        this.bandRowCount = bandRowCount;
+    }
+
+    @Override
+    public String getName() {
+        return "parallel-" + kernel.getName();
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration) {
+        PackedGrid nextGeneration = currentGeneration.emptyCopy();
+        int rowCount = currentGeneration.getRowCount();
+        int rowsPerBand = determineBandRowCount(rowCount);
+
+        if (rowsPerBand >= rowCount) {
+            kernel.stepRows(currentGeneration, nextGeneration, 0, rowCount);
+            return nextGeneration;
+        }
+
+        List<Callable<Void>> bandTasks = new ArrayList<>();
+
+        for (int fromRow=0; fromRow < rowCount; fromRow += rowsPerBand) {
+            int bandFromRow = fromRow;
+            int bandToRow = Math.min(fromRow + rowsPerBand, rowCount);
+
+            bandTasks.add(() -> {
+                kernel.stepRows(currentGeneration, nextGeneration, bandFromRow, bandToRow);
+                return null;
+            });
+        }
+
+        awaitBands(bandTasks);
+        return nextGeneration;
+    }
+
+    int determineBandRowCount(int rowCount) {
+        if (bandRowCount > 0) {
+            return bandRowCount;
+        }
+
+        int bandCount = parallelism * BANDS_PER_THREAD;
+        return Math.max(MINIMUM_BAND_ROW_COUNT, (rowCount + bandCount - 1) / bandCount);
+    }
+
+    private void awaitBands(List<Callable<Void>> bandTasks) {
+        try {
+            for (Future<Void> bandResult : executorService.invokeAll(bandTasks)) {
+                bandResult.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stepping grid bands", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Grid band failed to step", e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.kata.cgl.engine;
+
+import com.kata.cgl.grid.Grid;
+import com.kata.cgl.grid.GridCell;
+import com.kata.cgl.grid.GridCellState;
+import com.kata.cgl.grid.PackedGrid;
+
+public class ReferenceGenerationEngine implements GenerationEngine {
+
+    public static final String NAME = "reference";
+
+    private final LifeRule lifeRule;
+
+    public ReferenceGenerationEngine() {
+        this(LifeRule.CONWAY);
+    }
+
+    public ReferenceGenerationEngine(LifeRule lifeRule) {
+        this.lifeRule = lifeRule;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration) {
+        Grid grid = Grid.fromPackedGrid(currentGeneration);
+        PackedGrid nextGeneration = currentGeneration.emptyCopy();
+
+        for (GridCell gridCell : grid.retrieveGridCells()) {
+            if (GridCellState.ALIVE == grid.determineNextGenerationState(gridCell, lifeRule)) {
+                nextGeneration.setAlive(gridCell.getxCoordinate(), gridCell.getyCoordinate(), true);
+            }
+        }
+
+        return nextGeneration;
+    }
+
+}
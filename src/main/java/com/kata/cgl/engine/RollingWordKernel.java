@@ -0,0 +1,86 @@
+package com.kata.cgl.engine;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public abstract class RollingWordKernel implements PackedGenerationKernel {
+
+    @Override
+    public final void stepRegion(PackedGrid currentGeneration, PackedGrid nextGeneration, int fromRow, int toRow, int fromWord, int toWord) {
+        long[] currentWords = currentGeneration.getWords();
+        long[] nextWords = nextGeneration.getWords();
+        int rowCount = currentGeneration.getRowCount();
+        int wordsPerRow = currentGeneration.getWordsPerRow();
+        long lastWordMask = currentGeneration.getLastWordMask();
+
+        for (int y=fromRow; y < toRow; y++) {
+            int rowOffset = currentGeneration.rowOffset(y);
+            int lowerRowOffset = y > 0 ? currentGeneration.rowOffset(y - 1) : -1;
+            int upperRowOffset = y < rowCount - 1 ? currentGeneration.rowOffset(y + 1) : -1;
+
+            stepRow(currentWords, nextWords, lowerRowOffset, rowOffset, upperRowOffset, fromWord, toWord, wordsPerRow, false, lastWordMask);
+        }
+    }
+
+    // Row offsets point at a row's first word and are -1 for rows outside the board, which read as dead through
+    // a zero mask rather than a branch per word. With ghost words the words just before and after each row are
+    // readable, otherwise neighbours beyond the row read as dead.
+    final void stepRow(long[] currentWords, long[] nextWords, int lowerRowOffset, int rowOffset, int upperRowOffset,
+                       int fromWord, int toWord, int wordsPerRow, boolean ghostWords, long lastWordMask) {
+        if (fromWord >= toWord) {
+            return;
+        }
+
+        long lowerMask = lowerRowOffset < 0 ? 0 : -1L;
+        long upperMask = upperRowOffset < 0 ? 0 : -1L;
+        int lowerReadOffset = lowerRowOffset < 0 ? rowOffset : lowerRowOffset;
+        int upperReadOffset = upperRowOffset < 0 ? rowOffset : upperRowOffset;
+        int lastReadableWord = ghostWords ? wordsPerRow : wordsPerRow - 1;
+
+        boolean hasLeftWord = ghostWords || fromWord > 0;
+        long lowerLeft = hasLeftWord ? currentWords[lowerReadOffset + fromWord - 1] & lowerMask : 0;
+        long middleLeft = hasLeftWord ? currentWords[rowOffset + fromWord - 1] : 0;
+        long upperLeft = hasLeftWord ? currentWords[upperReadOffset + fromWord - 1] & upperMask : 0;
+        long lower = currentWords[lowerReadOffset + fromWord] & lowerMask;
+        long middle = currentWords[rowOffset + fromWord];
+        long upper = currentWords[upperReadOffset + fromWord] & upperMask;
+
+        int w = fromWord;
+
+        for (int readableEnd=Math.min(toWord, lastReadableWord); w < readableEnd; w++) {
+            long lowerRight = currentWords[lowerReadOffset + w + 1] & lowerMask;
+            long middleRight = currentWords[rowOffset + w + 1];
+            long upperRight = currentWords[upperReadOffset + w + 1] & upperMask;
+
+            nextWords[rowOffset + w] = rollNextWord(lowerLeft, lower, lowerRight, middleLeft, middle, middleRight, upperLeft, upper, upperRight);
+
+            lowerLeft = lower;
+            middleLeft = middle;
+            upperLeft = upper;
+            lower = lowerRight;
+            middle = middleRight;
+            upper = upperRight;
+        }
+
+        if (w < toWord) {
+            nextWords[rowOffset + w] = rollNextWord(lowerLeft, lower, 0, middleLeft, middle, 0, upperLeft, upper, 0);
+        }
+
+        if (toWord == wordsPerRow) {
+            nextWords[rowOffset + wordsPerRow - 1] &= lastWordMask;
+        }
+    }
+
+    private long rollNextWord(long lowerLeft, long lower, long lowerRight,
+                              long middleLeft, long middle, long middleRight,
+                              long upperLeft, long upper, long upperRight) {
+        return nextWord(
+                lower, (lower << 1) | (lowerLeft >>> 63), (lower >>> 1) | (lowerRight << 63),
+                middle, (middle << 1) | (middleLeft >>> 63), (middle >>> 1) | (middleRight << 63),
+                upper, (upper << 1) | (upperLeft >>> 63), (upper >>> 1) | (upperRight << 63));
+    }
+
+    abstract long nextWord(long lower, long lowerWest, long lowerEast,
+                           long middle, long middleWest, long middleEast,
+                           long upper, long upperWest, long upperEast);
+
+}
@@ -0,0 +1,67 @@
+package com.kata.cgl.engine;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public class SwarGenerationEngine extends RollingWordKernel implements GenerationEngine {
+
+    public static final String NAME = "swar";
+
+    private final LifeRule lifeRule;
+
+    public SwarGenerationEngine() {
+        this(LifeRule.CONWAY);
+    }
+
+    public SwarGenerationEngine(LifeRule lifeRule) {
+        this.lifeRule = lifeRule;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration) {
+        PackedGrid nextGeneration = currentGeneration.emptyCopy();
+        stepRows(currentGeneration, nextGeneration, 0, currentGeneration.getRowCount());
+        return nextGeneration;
+    }
+
+    @Override
+    long nextWord(long lower, long lowerWest, long lowerEast,
+                  long middle, long middleWest, long middleEast,
+                  long upper, long upperWest, long upperEast) {
+        return nextWord(lifeRule, lower, lowerWest, lowerEast, middle, middleWest, middleEast, upper, upperWest, upperEast);
+    }
+
+    static long nextWord(LifeRule lifeRule,
+                         long lower, long lowerWest, long lowerEast,
+                         long middle, long middleWest, long middleEast,
+                         long upper, long upperWest, long upperEast) {
+        long lowerSum = lowerWest ^ lower ^ lowerEast;
+        long lowerCarry = (lowerWest & lower) | (lowerEast & (lowerWest ^ lower));
+        long middleSum = middleWest ^ middleEast;
+        long middleCarry = middleWest & middleEast;
+        long upperSum = upperWest ^ upper ^ upperEast;
+        long upperCarry = (upperWest & upper) | (upperEast & (upperWest ^ upper));
+
+        long countBit0 = lowerSum ^ middleSum ^ upperSum;
+        long onesCarry = (lowerSum & middleSum) | (upperSum & (lowerSum ^ middleSum));
+
+        long twosSum = lowerCarry ^ middleCarry ^ upperCarry;
+        long twosCarry = (lowerCarry & middleCarry) | (upperCarry & (lowerCarry ^ middleCarry));
+        long countBit1 = twosSum ^ onesCarry;
+        long foursCarry = twosSum & onesCarry;
+
+        long countBit2 = twosCarry ^ foursCarry;
+        long countBit3 = twosCarry & foursCarry;
+
+        return lifeRule.nextWord(countBit0, countBit1, countBit2, countBit3, middle);
+    }
+
+    public LifeRule getLifeRule() {
+        return lifeRule;
+    }
+
+}
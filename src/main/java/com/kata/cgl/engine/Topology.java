@@ -0,0 +1,33 @@
+package com.kata.cgl.engine;
+
+import com.kata.cgl.exception.UnknownTopologyException;
+
+public enum Topology {
+    BOUNDED,
+    TORUS;
+
+    public static Topology fromString(String s) {
+        for (Topology topology : values()) {
+            if (topology.name().equalsIgnoreCase(s)) {
+                return topology;
+            }
+        }
+
+        return null;
+    }
+
+    public static Topology parse(String s) throws UnknownTopologyException {
+        if (s == null || s.isEmpty()) {
+            return BOUNDED;
+        }
+
+        Topology topology = fromString(s);
+
+        if (topology == null) {
+            throw new UnknownTopologyException(s);
+        }
+
+        return topology;
+    }
+
+}
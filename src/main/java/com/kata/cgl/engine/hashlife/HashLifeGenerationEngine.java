@@ -0,0 +1,69 @@
+package com.kata.cgl.engine.hashlife;
+
+import com.kata.cgl.engine.GenerationEngine;
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.grid.PackedGrid;
+
+public class HashLifeGenerationEngine implements GenerationEngine {
+
+    public static final String NAME = "hashlife";
+
+    private final LifeRule lifeRule;
+    private final HashLifeUniverse universe;
+    private PackedGrid lastGeneration;
+    private volatile long retainedBytes;
+
+    public HashLifeGenerationEngine() {
+        this(HashLifeUniverse.DEFAULT_MAX_NODE_COUNT);
+    }
+
+    public HashLifeGenerationEngine(int maxNodeCount) {
+        this(maxNodeCount, LifeRule.CONWAY);
+    }
+
+    public HashLifeGenerationEngine(LifeRule lifeRule) {
+        this(HashLifeUniverse.DEFAULT_MAX_NODE_COUNT, lifeRule);
+    }
+
+    public HashLifeGenerationEngine(int maxNodeCount, LifeRule lifeRule) {
+        this.lifeRule = lifeRule;
+        this.universe = HashLifeUniverse.bounded(maxNodeCount, HashLifeUniverse.baseCaseResults(lifeRule));
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration) {
+        return step(currentGeneration, 1);
+    }
+
+    @Override
+    public synchronized PackedGrid step(PackedGrid currentGeneration, long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generation count must not be negative");
+        }
+
+        if (!currentGeneration.equals(lastGeneration)) {
+            universe.load(currentGeneration);
+        }
+
+        universe.advance(generations);
+        PackedGrid nextGeneration = universe.toPackedGrid(currentGeneration.getRowCount(), currentGeneration.getColumnCount());
+        lastGeneration = nextGeneration.copy();
+        retainedBytes = universe.estimateRetainedBytes() + (long) lastGeneration.getWords().length * Long.BYTES;
+        return nextGeneration;
+    }
+
+    @Override
+    public long estimateRetainedBytes() {
+        return retainedBytes;
+    }
+
+    public LifeRule getLifeRule() {
+        return lifeRule;
+    }
+
+}
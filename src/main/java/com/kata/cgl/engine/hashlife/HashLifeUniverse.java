@@ -0,0 +1,575 @@
+package com.kata.cgl.engine.hashlife;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.grid.Grid;
+import com.kata.cgl.grid.PackedGrid;
+
+public class HashLifeUniverse {
+
+    public static final int DEFAULT_MAX_NODE_COUNT = 1 << 20;
+    public static final int ESTIMATED_NODE_BYTES = 128;
+
+    private static final int MAX_LEVEL = 60;
+    private static final int WEST = 0;
+    private static final int EAST = 1;
+    private static final int NORTH = 2;
+    private static final int SOUTH = 3;
+    private static final int[] CONWAY_BASE_CASE_RESULTS = buildBaseCaseResults(LifeRule.CONWAY);
+
+    private final int maxNodeCount;
+    private final int[] baseCaseResults;
+    private final boolean bounded;
+    private Map<QuadTreeNode, QuadTreeNode> nodeTable = new HashMap<>();
+    private List<QuadTreeNode> emptyNodes = new ArrayList<>();
+
+    private QuadTreeNode root;
+    private long originXCoordinate;
+    private long originYCoordinate;
+    private int boundedRowCount;
+    private int boundedColumnCount;
+    private long generation;
+    private long garbageCollectionCount;
+
+    public HashLifeUniverse() {
+        this(DEFAULT_MAX_NODE_COUNT);
+    }
+
+    public HashLifeUniverse(int maxNodeCount) {
+        this(maxNodeCount, LifeRule.CONWAY);
+    }
+
+    public HashLifeUniverse(int maxNodeCount, LifeRule lifeRule) {
+        this(maxNodeCount, baseCaseResults(lifeRule));
+    }
+
+    HashLifeUniverse(int maxNodeCount, int[] baseCaseResults) {
+        this(maxNodeCount, baseCaseResults, false);
+    }
+
+    private HashLifeUniverse(int maxNodeCount, int[] baseCaseResults, boolean bounded) {
+        if (maxNodeCount <= 0) {
+            throw new IllegalArgumentException("Maximum node count must be positive");
+        }
+
+        this.maxNodeCount = maxNodeCount;
+        this.baseCaseResults = baseCaseResults;
+        this.bounded = bounded;
+        this.root = emptyNode(2);
+    }
+
+    public static HashLifeUniverse bounded(int maxNodeCount, LifeRule lifeRule) {
+        return bounded(maxNodeCount, baseCaseResults(lifeRule));
+    }
+
+    static HashLifeUniverse bounded(int maxNodeCount, int[] baseCaseResults) {
+        return new HashLifeUniverse(maxNodeCount, baseCaseResults, true);
+    }
+
+    public void load(PackedGrid packedGrid) {
+        if (!bounded) {
+            throw new IllegalStateException("Only a bounded universe can be reloaded");
+        }
+
+        int level = 3;
+
+        while ((1L << (level - 1)) < Math.max(packedGrid.getRowCount(), packedGrid.getColumnCount())) {
+            level++;
+        }
+
+        root = centered(buildNode(packedGrid, level - 1, 0, 0));
+        originXCoordinate = -(1L << (level - 2));
+        originYCoordinate = originXCoordinate;
+        boundedRowCount = packedGrid.getRowCount();
+        boundedColumnCount = packedGrid.getColumnCount();
+        generation = 0;
+    }
+
+    public static HashLifeUniverse fromGrid(Grid grid, int maxNodeCount) {
+        return fromPackedGrid(grid.toPackedGrid(), maxNodeCount);
+    }
+
+    public static HashLifeUniverse fromPackedGrid(PackedGrid packedGrid, int maxNodeCount) {
+        return fromPackedGrid(packedGrid, maxNodeCount, LifeRule.CONWAY);
+    }
+
+    public static HashLifeUniverse fromPackedGrid(PackedGrid packedGrid, int maxNodeCount, LifeRule lifeRule) {
+        return fromPackedGrid(packedGrid, maxNodeCount, baseCaseResults(lifeRule));
+    }
+
+    static HashLifeUniverse fromPackedGrid(PackedGrid packedGrid, int maxNodeCount, int[] baseCaseResults) {
+        HashLifeUniverse universe = new HashLifeUniverse(maxNodeCount, baseCaseResults);
+        int level = 2;
+
+        while ((1L << level) < Math.max(packedGrid.getRowCount(), packedGrid.getColumnCount())) {
+            level++;
+        }
+
+        universe.root = universe.buildNode(packedGrid, level, 0, 0);
+        return universe;
+    }
+
+    private QuadTreeNode buildNode(PackedGrid packedGrid, int level, int xCoordinate, int yCoordinate) {
+        if (xCoordinate >= packedGrid.getColumnCount() || yCoordinate >= packedGrid.getRowCount()) {
+            return emptyNode(level);
+        }
+
+        if (level == 0) {
+            return packedGrid.isAlive(xCoordinate, yCoordinate) ? QuadTreeNode.ALIVE_LEAF : QuadTreeNode.DEAD_LEAF;
+        }
+
+        int half = 1 << (level - 1);
+
+        return join(
+                buildNode(packedGrid, level - 1, xCoordinate, yCoordinate),
+                buildNode(packedGrid, level - 1, xCoordinate + half, yCoordinate),
+                buildNode(packedGrid, level - 1, xCoordinate, yCoordinate + half),
+                buildNode(packedGrid, level - 1, xCoordinate + half, yCoordinate + half));
+    }
+
+    public void advance(long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generation count must not be negative");
+        }
+
+        if (bounded) {
+            advanceBounded(generations);
+            return;
+        }
+
+        for (int stepExponent=0; (generations >>> stepExponent) != 0; stepExponent++) {
+            if ((generations >>> stepExponent & 1L) == 0) {
+                continue;
+            }
+
+            while (root.getLevel() < stepExponent + 3 || centerOfCenter(root).getPopulation() != root.getPopulation()) {
+                expand();
+            }
+
+            long quarter = root.getSize() / 4;
+            root = successor(root, stepExponent);
+            originXCoordinate += quarter;
+            originYCoordinate += quarter;
+            generation += 1L << stepExponent;
+
+            if (nodeTable.size() > maxNodeCount) {
+                collectGarbage();
+            }
+        }
+    }
+
+    private void advanceBounded(long generations) {
+        long remainingGenerations = generations;
+
+        while (remainingGenerations > 0) {
+            if (root.getPopulation() == 0) {
+                generation += remainingGenerations;
+                return;
+            }
+
+            QuadTreeNode previousRoot = root;
+            int stepExponent = boundedStepExponent(remainingGenerations);
+            long stepGenerations;
+
+            if (stepExponent >= 0) {
+                root = centered(successor(root, stepExponent));
+                stepGenerations = 1L << stepExponent;
+            } else {
+                long quarter = root.getSize() / 4;
+                root = centered(clip(successor(root, 0), originXCoordinate + quarter, originYCoordinate + quarter));
+                stepGenerations = 1;
+            }
+
+            generation += stepGenerations;
+            remainingGenerations -= stepGenerations;
+
+            if (root == previousRoot) {
+                generation += remainingGenerations - remainingGenerations % stepGenerations;
+                remainingGenerations %= stepGenerations;
+            }
+
+            if (nodeTable.size() > maxNodeCount) {
+                collectGarbage();
+            }
+        }
+    }
+
+    private int boundedStepExponent(long remainingGenerations) {
+        long size = root.getSize();
+        long margin = Math.min(
+                Math.min(originXCoordinate + emptyMargin(root, WEST), boundedColumnCount - originXCoordinate - size + emptyMargin(root, EAST)),
+                Math.min(originYCoordinate + emptyMargin(root, NORTH), boundedRowCount - originYCoordinate - size + emptyMargin(root, SOUTH)));
+        long maxStep = Math.min(margin, remainingGenerations);
+        int stepExponent = -1;
+
+        while (stepExponent < root.getLevel() - 2 && (1L << (stepExponent + 1)) <= maxStep) {
+            stepExponent++;
+        }
+
+        return stepExponent;
+    }
+
+    private static long emptyMargin(QuadTreeNode node, int side) {
+        if (node.getPopulation() == 0) {
+            return node.getSize();
+        }
+
+        if (node.getLevel() == 0) {
+            return 0;
+        }
+
+        QuadTreeNode firstNear;
+        QuadTreeNode secondNear;
+        QuadTreeNode firstFar;
+        QuadTreeNode secondFar;
+
+        switch (side) {
+            case WEST:
+                firstNear = node.getNw();
+                secondNear = node.getSw();
+                firstFar = node.getNe();
+                secondFar = node.getSe();
+                break;
+            case EAST:
+                firstNear = node.getNe();
+                secondNear = node.getSe();
+                firstFar = node.getNw();
+                secondFar = node.getSw();
+                break;
+            case NORTH:
+                firstNear = node.getNw();
+                secondNear = node.getNe();
+                firstFar = node.getSw();
+                secondFar = node.getSe();
+                break;
+            default:
+                firstNear = node.getSw();
+                secondNear = node.getSe();
+                firstFar = node.getNw();
+                secondFar = node.getNe();
+                break;
+        }
+
+        long half = node.getSize() / 2;
+        long nearMargin = Math.min(emptyMargin(firstNear, side), emptyMargin(secondNear, side));
+
+        if (nearMargin < half) {
+            return nearMargin;
+        }
+
+        return half + Math.min(emptyMargin(firstFar, side), emptyMargin(secondFar, side));
+    }
+
+    private QuadTreeNode clip(QuadTreeNode node, long xCoordinate, long yCoordinate) {
+        long size = node.getSize();
+
+        if (node.getPopulation() == 0 || (xCoordinate >= 0 && yCoordinate >= 0
+                && xCoordinate + size <= boundedColumnCount && yCoordinate + size <= boundedRowCount)) {
+            return node;
+        }
+
+        if (xCoordinate >= boundedColumnCount || yCoordinate >= boundedRowCount || xCoordinate + size <= 0 || yCoordinate + size <= 0) {
+            return emptyNode(node.getLevel());
+        }
+
+        long half = size / 2;
+
+        return join(
+                clip(node.getNw(), xCoordinate, yCoordinate),
+                clip(node.getNe(), xCoordinate + half, yCoordinate),
+                clip(node.getSw(), xCoordinate, yCoordinate + half),
+                clip(node.getSe(), xCoordinate + half, yCoordinate + half));
+    }
+
+    public PackedGrid toPackedGrid(int rowCount, int columnCount) {
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+        writeNode(packedGrid, root, originXCoordinate, originYCoordinate);
+        return packedGrid;
+    }
+
+    public Grid toGrid(int rowCount, int columnCount) {
+        return Grid.fromPackedGrid(toPackedGrid(rowCount, columnCount));
+    }
+
+    private void writeNode(PackedGrid packedGrid, QuadTreeNode node, long xCoordinate, long yCoordinate) {
+        long size = node.getSize();
+
+        if (node.getPopulation() == 0
+                || xCoordinate >= packedGrid.getColumnCount() || yCoordinate >= packedGrid.getRowCount()
+                || xCoordinate + size <= 0 || yCoordinate + size <= 0) {
+            return;
+        }
+
+        if (node.getLevel() == 0) {
+            packedGrid.setAlive((int) xCoordinate, (int) yCoordinate, true);
+            return;
+        }
+
+        long half = size / 2;
+        writeNode(packedGrid, node.getNw(), xCoordinate, yCoordinate);
+        writeNode(packedGrid, node.getNe(), xCoordinate + half, yCoordinate);
+        writeNode(packedGrid, node.getSw(), xCoordinate, yCoordinate + half);
+        writeNode(packedGrid, node.getSe(), xCoordinate + half, yCoordinate + half);
+    }
+
+    public boolean isAlive(long xCoordinate, long yCoordinate) {
+        QuadTreeNode node = root;
+        long nodeXCoordinate = originXCoordinate;
+        long nodeYCoordinate = originYCoordinate;
+
+        if (xCoordinate < nodeXCoordinate || yCoordinate < nodeYCoordinate
+                || xCoordinate >= nodeXCoordinate + node.getSize() || yCoordinate >= nodeYCoordinate + node.getSize()) {
+            return false;
+        }
+
+        while (node.getLevel() > 0 && node.getPopulation() > 0) {
+            long half = node.getSize() / 2;
+            boolean east = xCoordinate >= nodeXCoordinate + half;
+            boolean south = yCoordinate >= nodeYCoordinate + half;
+
+            if (east) {
+                nodeXCoordinate += half;
+            }
+            if (south) {
+                nodeYCoordinate += half;
+            }
+
+            node = south ? (east ? node.getSe() : node.getSw()) : (east ? node.getNe() : node.getNw());
+        }
+
+        return node.isAlive();
+    }
+
+    private void expand() {
+        if (root.getLevel() >= MAX_LEVEL) {
+            throw new IllegalStateException("HashLife universe cannot grow beyond level " + MAX_LEVEL);
+        }
+
+        long half = root.getSize() / 2;
+        root = centered(root);
+        originXCoordinate -= half;
+        originYCoordinate -= half;
+    }
+
+    private QuadTreeNode centered(QuadTreeNode node) {
+        QuadTreeNode empty = emptyNode(node.getLevel() - 1);
+
+        return join(
+                join(empty, empty, empty, node.getNw()),
+                join(empty, empty, node.getNe(), empty),
+                join(empty, node.getSw(), empty, empty),
+                join(node.getSe(), empty, empty, empty));
+    }
+
+    private QuadTreeNode successor(QuadTreeNode node, int stepExponent) {
+        if (node.getPopulation() == 0) {
+            return emptyNode(node.getLevel() - 1);
+        }
+
+        int boundedStepExponent = Math.min(stepExponent, node.getLevel() - 2);
+
+        if (node.successors != null && node.successors[boundedStepExponent] != null) {
+            return node.successors[boundedStepExponent];
+        }
+
+        QuadTreeNode result;
+
+        if (node.getLevel() == 2) {
+            result = baseCase(node);
+        } else {
+            QuadTreeNode nw = node.getNw();
+            QuadTreeNode ne = node.getNe();
+            QuadTreeNode sw = node.getSw();
+            QuadTreeNode se = node.getSe();
+
+            QuadTreeNode c1 = successor(nw, boundedStepExponent);
+            QuadTreeNode c2 = successor(join(nw.getNe(), ne.getNw(), nw.getSe(), ne.getSw()), boundedStepExponent);
+            QuadTreeNode c3 = successor(ne, boundedStepExponent);
+            QuadTreeNode c4 = successor(join(nw.getSw(), nw.getSe(), sw.getNw(), sw.getNe()), boundedStepExponent);
+            QuadTreeNode c5 = successor(centerOf(node), boundedStepExponent);
+            QuadTreeNode c6 = successor(join(ne.getSw(), ne.getSe(), se.getNw(), se.getNe()), boundedStepExponent);
+            QuadTreeNode c7 = successor(sw, boundedStepExponent);
+            QuadTreeNode c8 = successor(join(sw.getNe(), se.getNw(), sw.getSe(), se.getSw()), boundedStepExponent);
+            QuadTreeNode c9 = successor(se, boundedStepExponent);
+
+            if (boundedStepExponent < node.getLevel() - 2) {
+                result = join(
+                        join(c1.getSe(), c2.getSw(), c4.getNe(), c5.getNw()),
+                        join(c2.getSe(), c3.getSw(), c5.getNe(), c6.getNw()),
+                        join(c4.getSe(), c5.getSw(), c7.getNe(), c8.getNw()),
+                        join(c5.getSe(), c6.getSw(), c8.getNe(), c9.getNw()));
+            } else {
+                result = join(
+                        successor(join(c1, c2, c4, c5), boundedStepExponent),
+                        successor(join(c2, c3, c5, c6), boundedStepExponent),
+                        successor(join(c4, c5, c7, c8), boundedStepExponent),
+                        successor(join(c5, c6, c8, c9), boundedStepExponent));
+            }
+        }
+
+        if (node.successors == null) {
+            node.successors = new QuadTreeNode[node.getLevel() - 1];
+        }
+
+        node.successors[boundedStepExponent] = result;
+        return result;
+    }
+
+    private QuadTreeNode baseCase(QuadTreeNode node) {
+        int cells = 0;
+        QuadTreeNode[] quadrants = {node.getNw(), node.getNe(), node.getSw(), node.getSe()};
+
+        for (int q=0; q < quadrants.length; q++) {
+            int xOffset = (q & 1) * 2;
+            int yOffset = (q >> 1) * 2;
+            QuadTreeNode quadrant = quadrants[q];
+
+            cells |= bit(quadrant.getNw(), xOffset, yOffset);
+            cells |= bit(quadrant.getNe(), xOffset + 1, yOffset);
+            cells |= bit(quadrant.getSw(), xOffset, yOffset + 1);
+            cells |= bit(quadrant.getSe(), xOffset + 1, yOffset + 1);
+        }
+
+        int result = baseCaseResults[cells];
+
+        return join(leaf(result, 0), leaf(result, 1), leaf(result, 2), leaf(result, 3));
+    }
+
+    private static int bit(QuadTreeNode leaf, int xCoordinate, int yCoordinate) {
+        return leaf.isAlive() ? 1 << (yCoordinate * 4 + xCoordinate) : 0;
+    }
+
+    private static QuadTreeNode leaf(int result, int index) {
+        return (result >>> index & 1) != 0 ? QuadTreeNode.ALIVE_LEAF : QuadTreeNode.DEAD_LEAF;
+    }
+
+    static int[] baseCaseResults(LifeRule lifeRule) {
+        return lifeRule.equals(LifeRule.CONWAY) ? CONWAY_BASE_CASE_RESULTS : buildBaseCaseResults(lifeRule);
+    }
+
+    private static int[] buildBaseCaseResults(LifeRule lifeRule) {
+        int[] results = new int[1 << 16];
+        int[][] centerCells = {{1, 1}, {2, 1}, {1, 2}, {2, 2}};
+
+        for (int cells=0; cells < results.length; cells++) {
+            int result = 0;
+
+            for (int c=0; c < centerCells.length; c++) {
+                int xCoordinate = centerCells[c][0];
+                int yCoordinate = centerCells[c][1];
+                int aliveNeighborCount = 0;
+
+                for (int dy=-1; dy <= 1; dy++) {
+                    for (int dx=-1; dx <= 1; dx++) {
+                        if (dx != 0 || dy != 0) {
+                            aliveNeighborCount += cells >>> ((yCoordinate + dy) * 4 + xCoordinate + dx) & 1;
+                        }
+                    }
+                }
+
+                boolean alive = (cells >>> (yCoordinate * 4 + xCoordinate) & 1) != 0;
+
+                if (lifeRule.nextState(alive, aliveNeighborCount)) {
+                    result |= 1 << c;
+                }
+            }
+
+            results[cells] = result;
+        }
+
+        return results;
+    }
+
+    private QuadTreeNode centerOf(QuadTreeNode node) {
+        return join(node.getNw().getSe(), node.getNe().getSw(), node.getSw().getNe(), node.getSe().getNw());
+    }
+
+    private QuadTreeNode centerOfCenter(QuadTreeNode node) {
+        return join(node.getNw().getSe().getSe(), node.getNe().getSw().getSw(), node.getSw().getNe().getNe(), node.getSe().getNw().getNw());
+    }
+
+    private QuadTreeNode join(QuadTreeNode nw, QuadTreeNode ne, QuadTreeNode sw, QuadTreeNode se) {
+        QuadTreeNode candidate = new QuadTreeNode(nw, ne, sw, se);
+        QuadTreeNode canonical = nodeTable.putIfAbsent(candidate, candidate);
+        return canonical != null ? canonical : candidate;
+    }
+
+    private QuadTreeNode emptyNode(int level) {
+        while (emptyNodes.size() <= level) {
+            int emptyLevel = emptyNodes.size();
+            emptyNodes.add(emptyLevel == 0 ? QuadTreeNode.DEAD_LEAF : join(
+                    emptyNodes.get(emptyLevel - 1), emptyNodes.get(emptyLevel - 1),
+                    emptyNodes.get(emptyLevel - 1), emptyNodes.get(emptyLevel - 1)));
+        }
+
+        return emptyNodes.get(level);
+    }
+
+    private void collectGarbage() {
+        Map<QuadTreeNode, QuadTreeNode> reachableNodes = new HashMap<>();
+        markReachable(root, reachableNodes);
+
+        for (QuadTreeNode emptyNode : emptyNodes) {
+            markReachable(emptyNode, reachableNodes);
+        }
+
+        for (QuadTreeNode node : reachableNodes.keySet()) {
+            pruneSuccessors(node, reachableNodes);
+        }
+
+        nodeTable = reachableNodes;
+        garbageCollectionCount++;
+    }
+
+    private static void markReachable(QuadTreeNode node, Map<QuadTreeNode, QuadTreeNode> reachableNodes) {
+        if (node.getLevel() == 0 || reachableNodes.putIfAbsent(node, node) != null) {
+            return;
+        }
+
+        markReachable(node.getNw(), reachableNodes);
+        markReachable(node.getNe(), reachableNodes);
+        markReachable(node.getSw(), reachableNodes);
+        markReachable(node.getSe(), reachableNodes);
+    }
+
+    private static void pruneSuccessors(QuadTreeNode node, Map<QuadTreeNode, QuadTreeNode> reachableNodes) {
+        if (node.successors == null) {
+            return;
+        }
+
+        for (int i=0; i < node.successors.length; i++) {
+            if (node.successors[i] != null && !reachableNodes.containsKey(node.successors[i])) {
+                node.successors[i] = null;
+            }
+        }
+    }
+
+    public long getPopulation() {
+        return root.getPopulation();
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int getNodeCount() {
+        return nodeTable.size();
+    }
+
+    public long estimateRetainedBytes() {
+        return (long) nodeTable.size() * ESTIMATED_NODE_BYTES;
+    }
+
+    public int getMaxNodeCount() {
+        return maxNodeCount;
+    }
+
+    public long getGarbageCollectionCount() {
+        return garbageCollectionCount;
+    }
+
+}
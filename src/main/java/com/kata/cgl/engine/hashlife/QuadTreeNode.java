@@ -0,0 +1,90 @@
+package com.kata.cgl.engine.hashlife;
+
+public class QuadTreeNode {
+
+    static final QuadTreeNode DEAD_LEAF = new QuadTreeNode(false);
+    static final QuadTreeNode ALIVE_LEAF = new QuadTreeNode(true);
+
+    private final int level;
+    private final QuadTreeNode nw;
+    private final QuadTreeNode ne;
+    private final QuadTreeNode sw;
+    private final QuadTreeNode se;
+    private final long population;
+    private final int hashCode;
+
+    QuadTreeNode[] successors;
+
+    private QuadTreeNode(boolean alive) {
+        this.level = 0;
+        this.nw = null;
+        this.ne = null;
+        this.sw = null;
+        this.se = null;
+        this.population = alive ? 1 : 0;
+        this.hashCode = alive ? 1 : 0;
+    }
+
+    QuadTreeNode(QuadTreeNode nw, QuadTreeNode ne, QuadTreeNode sw, QuadTreeNode se) {
+        this.level = nw.level + 1;
+        this.nw = nw;
+        this.ne = ne;
+        this.sw = sw;
+        this.se = se;
+        this.population = nw.population + ne.population + sw.population + se.population;
+
+        int result = System.identityHashCode(nw);
+        result = 31 * result + System.identityHashCode(ne);
+        result = 31 * result + System.identityHashCode(sw);
+        result = 31 * result + System.identityHashCode(se);
+        this.hashCode = result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        QuadTreeNode that = (QuadTreeNode) o;
+
+        return level == that.level && nw == that.nw && ne == that.ne && sw == that.sw && se == that.se && level > 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    public boolean isAlive() {
+        return level == 0 && population == 1;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public long getSize() {
+        return 1L << level;
+    }
+
+    public long getPopulation() {
+        return population;
+    }
+
+    public QuadTreeNode getNw() {
+        return nw;
+    }
+
+    public QuadTreeNode getNe() {
+        return ne;
+    }
+
+    public QuadTreeNode getSw() {
+        return sw;
+    }
+
+    public QuadTreeNode getSe() {
+        return se;
+    }
+
+}
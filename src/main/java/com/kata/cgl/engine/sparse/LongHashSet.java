@@ -0,0 +1,111 @@
+package com.kata.cgl.engine.sparse;
+
+import java.util.Arrays;
+
+public class LongHashSet {
+
+    static final long EMPTY_KEY = -1L;
+
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private long[] keys;
+    private int size;
+    private int mask;
+
+    public LongHashSet() {
+        this(MINIMUM_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public boolean add(long key) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Keys must not be negative");
+        }
+
+        int index = indexOf(key);
+
+        if (keys[index] == key) {
+            return false;
+        }
+
+        keys[index] = key;
+        size++;
+
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+
+        return true;
+    }
+
+    public boolean contains(long key) {
+        return key >= 0 && keys[indexOf(key)] == key;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public long keyAt(int index) {
+        return keys[index];
+    }
+
+    private int indexOf(long key) {
+        int index = mix(key) & mask;
+
+        while (keys[index] != EMPTY_KEY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        long[] previousKeys = keys;
+        allocate(capacity);
+
+        for (long key : previousKeys) {
+            if (key != EMPTY_KEY) {
+                keys[indexOf(key)] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY_KEY);
+    }
+
+    static int capacityFor(int expectedSize) {
+        int capacity = MINIMUM_CAPACITY;
+
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+}
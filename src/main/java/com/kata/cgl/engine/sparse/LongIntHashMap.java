@@ -0,0 +1,111 @@
+package com.kata.cgl.engine.sparse;
+
+import java.util.Arrays;
+
+public class LongIntHashMap {
+
+    private long[] keys;
+    private int[] values;
+    private int[] usedSlots;
+    private int size;
+    private int mask;
+
+    public LongIntHashMap(int expectedSize) {
+        allocate(LongHashSet.capacityFor(expectedSize));
+    }
+
+    public void increment(long key) {
+        int index = indexOf(key);
+
+        if (keys[index] != key) {
+            keys[index] = key;
+            values[index] = 0;
+            usedSlots[size] = index;
+            size++;
+
+            if (size * 2 > keys.length) {
+                rehash(keys.length * 2);
+                index = indexOf(key);
+            }
+        }
+
+        values[index]++;
+    }
+
+    public int get(long key) {
+        int index = indexOf(key);
+        return keys[index] == key ? values[index] : 0;
+    }
+
+    public void clear(int expectedSize) {
+        int capacity = LongHashSet.capacityFor(expectedSize);
+
+        if (capacity > keys.length) {
+            allocate(capacity);
+        } else {
+            for (int n=0; n < size; n++) {
+                keys[usedSlots[n]] = LongHashSet.EMPTY_KEY;
+            }
+        }
+
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public long estimateBytes() {
+        return (long) keys.length * Long.BYTES + (long) values.length * Integer.BYTES + (long) usedSlots.length * Integer.BYTES;
+    }
+
+    public int slotAt(int n) {
+        return usedSlots[n];
+    }
+
+    public long keyAt(int index) {
+        return keys[index];
+    }
+
+    public int valueAt(int index) {
+        return values[index];
+    }
+
+    private int indexOf(long key) {
+        int index = LongHashSet.mix(key) & mask;
+
+        while (keys[index] != LongHashSet.EMPTY_KEY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        long[] previousKeys = keys;
+        int[] previousValues = values;
+        int[] previousUsedSlots = usedSlots;
+        allocate(capacity);
+
+        for (int n=0; n < size; n++) {
+            int previousSlot = previousUsedSlots[n];
+            int index = indexOf(previousKeys[previousSlot]);
+            keys[index] = previousKeys[previousSlot];
+            values[index] = previousValues[previousSlot];
+            usedSlots[n] = index;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        usedSlots = new int[capacity / 2 + 1];
+        mask = capacity - 1;
+        Arrays.fill(keys, LongHashSet.EMPTY_KEY);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.kata.cgl.engine.sparse;
+
+import com.kata.cgl.engine.GenerationEngine;
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.grid.PackedGrid;
+
+public class SparseGenerationEngine implements GenerationEngine {
+
+    public static final String NAME = "sparse";
+
+    private final LifeRule lifeRule;
+    private final LongIntHashMap neighborCounts = new LongIntHashMap(0);
+    private PackedGrid lastGeneration;
+    private SparseGrid lastSparseGeneration;
+    private volatile long retainedBytes;
+
+    public SparseGenerationEngine() {
+        this(LifeRule.CONWAY);
+    }
+
+    public SparseGenerationEngine(LifeRule lifeRule) {
+        this.lifeRule = lifeRule;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public PackedGrid step(PackedGrid currentGeneration) {
+        return step(currentGeneration, 1);
+    }
+
+    @Override
+    public synchronized PackedGrid step(PackedGrid currentGeneration, long generations) {
+        if (generations < 0) {
+            throw new IllegalArgumentException("Generation count must not be negative");
+        }
+
+        // Continuing from the board we returned last time only costs a popcount pass to confirm it was not
+        // edited, instead of decoding every word back into a set of live cells.
+        SparseGrid sparseGeneration = currentGeneration == lastGeneration && lastSparseGeneration.matches(currentGeneration)
+                ? lastSparseGeneration
+                : SparseGrid.fromPackedGrid(currentGeneration);
+
+        lastSparseGeneration = step(sparseGeneration, generations);
+        lastGeneration = lastSparseGeneration.toPackedGrid();
+        retainedBytes = (long) lastGeneration.getWords().length * Long.BYTES + lastSparseGeneration.estimateBytes() + neighborCounts.estimateBytes();
+        return lastGeneration;
+    }
+
+    public synchronized SparseGrid step(SparseGrid currentGeneration, long generations) {
+        SparseGrid generation = currentGeneration;
+
+        for (long i=0; i < generations; i++) {
+            generation = generation.step(neighborCounts, lifeRule);
+        }
+
+        return generation;
+    }
+
+    @Override
+    public long estimateRetainedBytes() {
+        return retainedBytes;
+    }
+
+    public LifeRule getLifeRule() {
+        return lifeRule;
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.kata.cgl.engine.sparse;
+
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.grid.PackedGrid;
+
+public class SparseGrid {
+
+    private final int rowCount;
+    private final int columnCount;
+    private final LongHashSet liveCells;
+
+    public SparseGrid(int rowCount, int columnCount) {
+        this(rowCount, columnCount, new LongHashSet());
+    }
+
+    private SparseGrid(int rowCount, int columnCount, LongHashSet liveCells) {
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.liveCells = liveCells;
+    }
+
+    public static SparseGrid fromPackedGrid(PackedGrid packedGrid) {
+        SparseGrid sparseGrid = new SparseGrid(packedGrid.getRowCount(), packedGrid.getColumnCount(),
+                new LongHashSet((int) packedGrid.countLiveCells()));
+        long[] words = packedGrid.getWords();
+
+        for (int y=0; y < packedGrid.getRowCount(); y++) {
+            int rowOffset = packedGrid.rowOffset(y);
+
+            for (int w=0; w < packedGrid.getWordsPerRow(); w++) {
+                long word = words[rowOffset + w];
+
+                while (word != 0) {
+                    int x = w * PackedGrid.CELLS_PER_WORD + Long.numberOfTrailingZeros(word);
+                    sparseGrid.liveCells.add(key(x, y));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        return sparseGrid;
+    }
+
+    public PackedGrid toPackedGrid() {
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int i=0; i < liveCells.capacity(); i++) {
+            long key = liveCells.keyAt(i);
+
+            if (key != LongHashSet.EMPTY_KEY) {
+                packedGrid.setAlive(xCoordinate(key), yCoordinate(key), true);
+            }
+        }
+
+        return packedGrid;
+    }
+
+    public boolean matches(PackedGrid packedGrid) {
+        if (packedGrid.getRowCount() != rowCount || packedGrid.getColumnCount() != columnCount) {
+            return false;
+        }
+
+        for (int i=0; i < liveCells.capacity(); i++) {
+            long key = liveCells.keyAt(i);
+
+            if (key != LongHashSet.EMPTY_KEY && !packedGrid.isAlive(xCoordinate(key), yCoordinate(key))) {
+                return false;
+            }
+        }
+
+        return packedGrid.countLiveCells() == liveCells.size();
+    }
+
+    public SparseGrid step(LongIntHashMap neighborCounts) {
+        return step(neighborCounts, LifeRule.CONWAY);
+    }
+
+    public SparseGrid step(LongIntHashMap neighborCounts, LifeRule lifeRule) {
+        neighborCounts.clear(liveCells.size() * 9);
+
+        for (int i=0; i < liveCells.capacity(); i++) {
+            long key = liveCells.keyAt(i);
+
+            if (key == LongHashSet.EMPTY_KEY) {
+                continue;
+            }
+
+            int x = xCoordinate(key);
+            int y = yCoordinate(key);
+            int minX = Math.max(x - 1, 0);
+            int maxX = Math.min(x + 1, columnCount - 1);
+            int minY = Math.max(y - 1, 0);
+            int maxY = Math.min(y + 1, rowCount - 1);
+
+            for (int neighborY=minY; neighborY <= maxY; neighborY++) {
+                for (int neighborX=minX; neighborX <= maxX; neighborX++) {
+                    if (neighborX != x || neighborY != y) {
+                        neighborCounts.increment(key(neighborX, neighborY));
+                    }
+                }
+            }
+        }
+
+        LongHashSet nextGenerationLiveCells = new LongHashSet(liveCells.size());
+
+        for (int n=0; n < neighborCounts.size(); n++) {
+            int slot = neighborCounts.slotAt(n);
+            long key = neighborCounts.keyAt(slot);
+
+            if (isNextGenerationAlive(key, neighborCounts.valueAt(slot), lifeRule)) {
+                nextGenerationLiveCells.add(key);
+            }
+        }
+
+        for (int i=0; i < liveCells.capacity(); i++) {
+            long key = liveCells.keyAt(i);
+
+            if (key != LongHashSet.EMPTY_KEY && neighborCounts.get(key) == 0 && isNextGenerationAlive(key, 0, lifeRule)) {
+                nextGenerationLiveCells.add(key);
+            }
+        }
+
+        return new SparseGrid(rowCount, columnCount, nextGenerationLiveCells);
+    }
+
+    private boolean isNextGenerationAlive(long key, int aliveNeighborCount, LifeRule lifeRule) {
+        return lifeRule.nextState(liveCells.contains(key), aliveNeighborCount);
+    }
+
+    public boolean isAlive(int xCoordinate, int yCoordinate) {
+        return liveCells.contains(key(xCoordinate, yCoordinate));
+    }
+
+    public void setAlive(int xCoordinate, int yCoordinate) {
+        if (xCoordinate < 0 || xCoordinate >= columnCount || yCoordinate < 0 || yCoordinate >= rowCount) {
+            throw new IndexOutOfBoundsException(xCoordinate + ":" + yCoordinate);
+        }
+
+        liveCells.add(key(xCoordinate, yCoordinate));
+    }
+
+    public long estimateBytes() {
+        return (long) liveCells.capacity() * Long.BYTES;
+    }
+
+    public int getLiveCellCount() {
+        return liveCells.size();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    static long key(int xCoordinate, int yCoordinate) {
+        return ((long) yCoordinate << 32) | xCoordinate;
+    }
+
+    static int xCoordinate(long key) {
+        return (int) key;
+    }
+
+    static int yCoordinate(long key) {
+        return (int) (key >>> 32);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.kata.cgl.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFrameRateException extends Exception {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidFrameRateException(int maxFramesPerSecond) {
+        super("Frames per second must be between 1 and " + maxFramesPerSecond);
+    }
+
+}
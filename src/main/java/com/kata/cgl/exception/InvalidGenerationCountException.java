@@ -0,0 +1,15 @@
+package com.kata.cgl.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidGenerationCountException extends Exception {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidGenerationCountException(long maxGenerations) {
+        super("Generations and emitEvery must be between 1 and " + maxGenerations);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.kata.cgl.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPatternException extends Exception {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidPatternException(String reason) {
+        super("Pattern could not be read: " + reason);
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.kata.cgl.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRecordingException extends Exception {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidRecordingException(String reason) {
+        super("Flight recording could not be started: " + reason);
+    }
+
+}
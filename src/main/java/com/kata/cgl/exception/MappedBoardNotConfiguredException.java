@@ -0,0 +1,15 @@
+package com.kata.cgl.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class MappedBoardNotConfiguredException extends Exception {
+
+	private static final long serialVersionUID = 1L;
+
+	public MappedBoardNotConfiguredException() {
+        super("No mapped board is open, set cgl.mapped-grid.path to a board file");
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.kata.cgl.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class SimulationStreamNotFoundException extends Exception {
+
+	private static final long serialVersionUID = 1L;
+
+	public SimulationStreamNotFoundException(String simulationId) {
+        super("No open stream for simulation " + simulationId);
+    }
+
+}
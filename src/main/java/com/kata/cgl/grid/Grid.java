@@ -1,78 +1,92 @@
 package com.kata.cgl.grid;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.stream.Collectors;
 
+import com.kata.cgl.engine.GenerationEngine;
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.engine.SwarGenerationEngine;
 import com.kata.cgl.exception.GridRowIndexOutOfBoundsException;
 
 public class Grid {
 
     private int columnCount;
     private int rowCount;
-    private List<GridCell> gridCells = new ArrayList<>();
+    private PackedGrid cellStates;
+    private List<GridCell> gridCells;
+    private List<GridRow> gridRows;
 
-    private static final int UNDER_POPULATION_THRESHOLD = 2;
-    private static final int OVER_POPULATION_THRESHOLD = 3;
-    private static final int GROWTH_FACTOR = 3;
+    private static final GenerationEngine DEFAULT_GENERATION_ENGINE = new SwarGenerationEngine();
 
     public Grid(int rowCount, int columnCount) {
-        this.columnCount = columnCount;
-        this.rowCount = rowCount;
-        initializeEmptyGridCells(rowCount, columnCount);
+        this(new PackedGrid(rowCount, columnCount));
     }
 
     public Grid(int rowCount, int columnCount, List<GridCell> gridCells) {
-        this.columnCount = columnCount;
-        this.rowCount = rowCount;
-        this.gridCells = Collections.unmodifiableList(gridCells);
+        this(PackedGrid.fromGridCells(rowCount, columnCount, gridCells));
     }
 
-    private void initializeEmptyGridCells(int rowCount, int columnCount) {
-        List<GridCell> generatedGridCells = new ArrayList<>();
-
-        for (int xCoordinate=0; xCoordinate < columnCount; xCoordinate++) {
-            for (int yCoordinate=0; yCoordinate < rowCount; yCoordinate++) {
-                generatedGridCells.add(new GridCell(new GridCoordinate(xCoordinate,yCoordinate), rowCount, columnCount));
-            }
-        }
+    private Grid(PackedGrid cellStates) {
+        this.columnCount = cellStates.getColumnCount();
+        this.rowCount = cellStates.getRowCount();
+        this.cellStates = cellStates;
+        this.gridCells = new GridCellList();
+    }
 
-        this.gridCells = Collections.unmodifiableList(generatedGridCells);
+    public static Grid fromPackedGrid(PackedGrid packedGrid) {
+        return new Grid(packedGrid);
     }
 
     public Grid buildNextGenerationGrid() {
-        List<GridCell> nextGenerationGridCells = new ArrayList<>();
+        return buildNextGenerationGrid(DEFAULT_GENERATION_ENGINE);
+    }
 
-        gridCells.stream().forEach(currentGenGridCell -> {
-            GridCellState nextGenCellState = determineNextGenerationState(currentGenGridCell);
-            GridCell nextGenGridCell = new GridCell(currentGenGridCell.getGridCoordinate(), rowCount, columnCount, nextGenCellState);
-            nextGenerationGridCells.add(nextGenGridCell);
-        });
+    public Grid buildNextGenerationGrid(GenerationEngine generationEngine) {
+        return buildGenerationGrid(generationEngine, 1);
+    }
+
+    public Grid buildGenerationGrid(long generations) {
+        return buildGenerationGrid(DEFAULT_GENERATION_ENGINE, generations);
+    }
+
+    public Grid buildGenerationGrid(GenerationEngine generationEngine, long generations) {
+        return new Grid(generationEngine.step(cellStates, generations));
+    }
 
-        return new Grid(this.rowCount, this.columnCount, nextGenerationGridCells);
+    public PackedGrid toPackedGrid() {
+        return cellStates.copy();
+    }
+
+    public boolean isAlive(int xCoordinate, int yCoordinate) {
+        return cellStates.isAlive(xCoordinate, yCoordinate);
+    }
+
+    public long countLiveCells() {
+        return cellStates.countLiveCells();
     }
 
     public GridCellState determineNextGenerationState(GridCell gridCell) {
         List<GridCell> liveGridCells = findLiveGridCellNeighbors(gridCell);
-        long aliveNeighborCount = liveGridCells.size();
+        return determineNextGenerationState(gridCell.getGridCellState(), liveGridCells.size());
+    }
 
-        switch (gridCell.getGridCellState()) {
-            case ALIVE:
-                if (aliveNeighborCount < UNDER_POPULATION_THRESHOLD || aliveNeighborCount > OVER_POPULATION_THRESHOLD) {
-                    return GridCellState.DEAD;
-                }
+    public GridCellState determineNextGenerationState(GridCell gridCell, LifeRule lifeRule) {
+        List<GridCell> liveGridCells = findLiveGridCellNeighbors(gridCell);
+        return determineNextGenerationState(gridCell.getGridCellState(), liveGridCells.size(), lifeRule);
+    }
 
-                return GridCellState.ALIVE;
-            default: // DEAD
-                if (aliveNeighborCount == GROWTH_FACTOR) {
-                    return GridCellState.ALIVE;
-                }
+    public static GridCellState determineNextGenerationState(GridCellState gridCellState, long aliveNeighborCount) {
+        return determineNextGenerationState(gridCellState, aliveNeighborCount, LifeRule.CONWAY);
+    }
 
-                return GridCellState.DEAD;
-        }
+    public static GridCellState determineNextGenerationState(GridCellState gridCellState, long aliveNeighborCount, LifeRule lifeRule) {
+        return lifeRule.nextState(GridCellState.ALIVE == gridCellState, (int) aliveNeighborCount) ? GridCellState.ALIVE : GridCellState.DEAD;
     }
 
     public List<GridCell> findLiveGridCellNeighbors(GridCell gridCell) {
@@ -81,13 +95,20 @@ public class Grid {
     }
 
     public List<GridRow> getGridRows() throws GridRowIndexOutOfBoundsException {
-        List<GridRow> gridRows = new ArrayList<>();
+        List<GridRow> indexedGridRows = gridRows;
 
-        for (int i=0; i < rowCount; i++) {
-            gridRows.add(buildGridRow(i));
+        if (indexedGridRows == null) {
+            GridRow[] rowIndex = new GridRow[rowCount];
+
+            for (int i=0; i < rowCount; i++) {
+                rowIndex[i] = new GridRow(new GridRowCellList(i));
+            }
+
+            indexedGridRows = Collections.unmodifiableList(Arrays.asList(rowIndex));
+            gridRows = indexedGridRows;
         }
 
-        return gridRows;
+        return indexedGridRows;
     }
 
     public GridRow buildGridRow(int rowIndex) throws GridRowIndexOutOfBoundsException {
@@ -95,13 +116,11 @@ public class Grid {
             throw new GridRowIndexOutOfBoundsException();
         }
 
-        List<GridCell> gridRowCells = gridCells.stream().filter(gc -> gc.getyCoordinate().equals(rowIndex)).collect(Collectors.toList());
-        gridRowCells.sort((grc1, grc2) -> grc1.getxCoordinate().compareTo(grc2.getxCoordinate()));
-        return new GridRow(gridRowCells);
+        return getGridRows().get(rowIndex);
     }
 
-    public int getCellCount() {
-        return gridCells.size();
+    public long getCellCount() {
+        return (long) rowCount * columnCount;
     }
 
     public List<GridCoordinate> retrieveGridCoordinates() {
@@ -110,12 +129,17 @@ public class Grid {
 
     public List<GridCell> findGridCellNeighbors(GridCell gridCell) {
         List<GridCoordinate> neighborGridCoordinates = findNeighborGridCoordinates(gridCell.getGridCoordinate());
-        List<GridCell> allGridCells = retrieveGridCells();
+        List<GridCell> gridCellNeighbors = new ArrayList<>(neighborGridCoordinates.size());
 
-        return allGridCells
-                .parallelStream()
-                .filter(gc -> neighborGridCoordinates.contains(gc.getGridCoordinate()))
-                .collect(Collectors.toList());
+        for (GridCoordinate neighborGridCoordinate : neighborGridCoordinates) {
+            gridCellNeighbors.add(viewGridCell(neighborGridCoordinate.getxCoordinate(), neighborGridCoordinate.getyCoordinate()));
+        }
+
+        return gridCellNeighbors;
+    }
+
+    private GridCell viewGridCell(int xCoordinate, int yCoordinate) {
+        return new GridCellView(new GridCoordinate(xCoordinate, yCoordinate), rowCount, columnCount, cellStates.getGridCellState(xCoordinate, yCoordinate));
     }
 
     public List<GridCoordinate> findNeighborGridCoordinates(GridCoordinate gridCoordinate) {
@@ -246,4 +270,110 @@ public class Grid {
         return rowCount;
     }
 
+    private static class GridCellView extends GridCell {
+
+        private GridCellView(GridCoordinate gridCoordinate, int gridRowCount, int gridColumnCount, GridCellState gridCellState) {
+            super(gridCoordinate, gridRowCount, gridColumnCount, gridCellState);
+        }
+
+        @Override
+        public void kill() {
+            throw readOnly();
+        }
+
+        @Override
+        public void breatheLife() {
+            throw readOnly();
+        }
+
+        @Override
+        public void setGridCellState(GridCellState gridCellState) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setGridCoordinate(GridCoordinate gridCoordinate) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setGridRowCount(int gridRowCount) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setGridColumnCount(int gridColumnCount) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Grid cells are read-only views of the board; build a new Grid to change cell states");
+        }
+
+    }
+
+    private class GridCellList extends AbstractList<GridCell> implements RandomAccess {
+
+        @Override
+        public GridCell get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(Integer.toString(index));
+            }
+
+            return viewGridCell(index / rowCount, index % rowCount);
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(getCellCount(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (!(o instanceof GridCell) || ((GridCell) o).getGridCoordinate() == null) {
+                return -1;
+            }
+
+            GridCoordinate gridCoordinate = ((GridCell) o).getGridCoordinate();
+            int xCoordinate = gridCoordinate.getxCoordinate();
+            int yCoordinate = gridCoordinate.getyCoordinate();
+            return isValidCoordinate(xCoordinate, yCoordinate) ? xCoordinate * rowCount + yCoordinate : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+    }
+
+    private class GridRowCellList extends AbstractList<GridCell> implements RandomAccess {
+
+        private final int rowIndex;
+
+        private GridRowCellList(int rowIndex) {
+            this.rowIndex = rowIndex;
+        }
+
+        @Override
+        public GridCell get(int index) {
+            if (index < 0 || index >= columnCount) {
+                throw new IndexOutOfBoundsException(Integer.toString(index));
+            }
+
+            return viewGridCell(index, rowIndex);
+        }
+
+        @Override
+        public int size() {
+            return columnCount;
+        }
+
+    }
+
 }
@@ -7,22 +7,10 @@ public class GridCell {
     private int gridRowCount;
     private int gridColumnCount;
 
-    private int leftBoundaryXCoordinate;
-    private int rightBoundaryXCoordinate;
-    private int lowerBoundaryYCoordinate;
-    private int upperBoundaryYCoordinate;
-
     public GridCell(){}
 
     public GridCell(GridCoordinate gridCoordinate, int gridRowCount, int gridColumnCount) {
-        this.gridCoordinate = gridCoordinate;
-        this.gridCellState = GridCellState.DEAD;
-        this.gridRowCount = gridRowCount;
-        this.gridColumnCount = gridColumnCount;
-        this.leftBoundaryXCoordinate = 0;
-        this.rightBoundaryXCoordinate = gridColumnCount - 1;
-        this.lowerBoundaryYCoordinate = 0;
-        this.upperBoundaryYCoordinate = gridRowCount - 1;
+        this(gridCoordinate, gridRowCount, gridColumnCount, GridCellState.DEAD);
     }
 
     public GridCell(GridCoordinate gridCoordinate, int gridRowCount, int gridColumnCount, GridCellState gridCellState) {
@@ -36,10 +24,10 @@ public class GridCell {
         int xCoordinate = getxCoordinate();
         int yCoordinate = getyCoordinate();
 
-        boolean isLeftBoundaryCell = xCoordinate == leftBoundaryXCoordinate;
-        boolean isRightBoundaryCell = xCoordinate == rightBoundaryXCoordinate;
-        boolean isLowerBoundaryCell = yCoordinate == lowerBoundaryYCoordinate;
-        boolean isUpperBoundaryCell = yCoordinate == upperBoundaryYCoordinate;
+        boolean isLeftBoundaryCell = xCoordinate == 0;
+        boolean isRightBoundaryCell = xCoordinate == gridColumnCount - 1;
+        boolean isLowerBoundaryCell = yCoordinate == 0;
+        boolean isUpperBoundaryCell = yCoordinate == gridRowCount - 1;
 
         return isLeftBoundaryCell || isRightBoundaryCell || isLowerBoundaryCell || isUpperBoundaryCell;
     }
@@ -48,8 +36,8 @@ public class GridCell {
         int xCoordinate = getxCoordinate();
         int yCoordinate = getyCoordinate();
 
-        boolean hasYBoundaryCoordinate = yCoordinate == lowerBoundaryYCoordinate || yCoordinate == upperBoundaryYCoordinate;
-        boolean hasXBoundaryCoordinate = xCoordinate == leftBoundaryXCoordinate || xCoordinate == rightBoundaryXCoordinate;
+        boolean hasYBoundaryCoordinate = yCoordinate == 0 || yCoordinate == gridRowCount - 1;
+        boolean hasXBoundaryCoordinate = xCoordinate == 0 || xCoordinate == gridColumnCount - 1;
 
         return hasXBoundaryCoordinate && hasYBoundaryCoordinate;
     }
@@ -57,7 +45,7 @@ public class GridCell {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof GridCell)) return false;
 
         GridCell gridCell = (GridCell) o;
 
@@ -86,11 +74,11 @@ public class GridCell {
         return gridCoordinate;
     }
 
-    public Integer getxCoordinate() {
+    public int getxCoordinate() {
         return gridCoordinate.getxCoordinate();
     }
 
-    public Integer getyCoordinate() {
+    public int getyCoordinate() {
         return gridCoordinate.getyCoordinate();
     }
 
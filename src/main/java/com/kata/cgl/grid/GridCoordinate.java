@@ -2,12 +2,12 @@ package com.kata.cgl.grid;
 
 public class GridCoordinate {
 
-    private Integer xCoordinate;
-    private Integer yCoordinate;
+    private int xCoordinate;
+    private int yCoordinate;
 
     public GridCoordinate(){}
     
-    public GridCoordinate(Integer xCoordinate, Integer yCoordinate) {
+    public GridCoordinate(int xCoordinate, int yCoordinate) {
         this.xCoordinate = xCoordinate;
         this.yCoordinate = yCoordinate;
     }
@@ -19,14 +19,14 @@ public class GridCoordinate {
 
         GridCoordinate that = (GridCoordinate) o;
 
-        if (!xCoordinate.equals(that.xCoordinate)) return false;
-        return yCoordinate.equals(that.yCoordinate);
+        if (xCoordinate != that.xCoordinate) return false;
+        return yCoordinate == that.yCoordinate;
     }
 
     @Override
     public int hashCode() {
-        int result = xCoordinate.hashCode();
-        result = 31 * result + yCoordinate.hashCode();
+        int result = xCoordinate;
+        result = 31 * result + yCoordinate;
         return result;
     }
 
@@ -35,19 +35,19 @@ public class GridCoordinate {
         return xCoordinate + ":" + yCoordinate;
     }
 
-    public Integer getxCoordinate() {
+    public int getxCoordinate() {
         return xCoordinate;
     }
 
-    public Integer getyCoordinate() {
+    public int getyCoordinate() {
         return yCoordinate;
     }
 
-	public void setxCoordinate(Integer xCoordinate) {
+	public void setxCoordinate(int xCoordinate) {
 		this.xCoordinate = xCoordinate;
 	}
 
-	public void setyCoordinate(Integer yCoordinate) {
+	public void setyCoordinate(int yCoordinate) {
 		this.yCoordinate = yCoordinate;
 	}
 
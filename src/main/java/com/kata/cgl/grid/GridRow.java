@@ -4,7 +4,7 @@ import java.util.List;
 
 public class GridRow {
 
-    private List<GridCell> gridRowCells;
+    private final List<GridCell> gridRowCells;
 
     public GridRow(List<GridCell> gridRowCells) {
         this.gridRowCells = gridRowCells;
@@ -0,0 +1,239 @@
+package com.kata.cgl.grid;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class MappedGrid implements Closeable {
+
+    public static final long MAGIC = 0x43474C4D41503031L;
+    public static final int HEADER_BYTES = 64;
+    public static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int ROW_COUNT_OFFSET = 8;
+    private static final int COLUMN_COUNT_OFFSET = 12;
+    private static final int CURRENT_BUFFER_OFFSET = 16;
+    private static final int GENERATION_OFFSET = 24;
+
+    private final Path path;
+    private final FileChannel fileChannel;
+    private final MappedByteBuffer header;
+    private final int rowCount;
+    private final int columnCount;
+    private final int wordsPerRow;
+    private final int rowsPerSegment;
+    private final MappedByteBuffer[][] mappedSegments;
+    private final LongBuffer[][] bufferSegments;
+    private final long[] rowWords;
+
+    private int currentBuffer;
+    private long generation;
+
+    private MappedGrid(Path path, FileChannel fileChannel, int rowCount, int columnCount) throws IOException {
+        this.path = path;
+        this.fileChannel = fileChannel;
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.wordsPerRow = (columnCount + PackedGrid.CELLS_PER_WORD - 1) / PackedGrid.CELLS_PER_WORD;
+        this.rowsPerSegment = wordsPerRow == 0 ? Math.max(rowCount, 1) : (int) Math.max(1, Math.min(rowCount, MAX_SEGMENT_BYTES / rowBytes()));
+        this.header = fileChannel.map(MapMode.READ_WRITE, 0, HEADER_BYTES);
+        this.header.order(ByteOrder.LITTLE_ENDIAN);
+        this.rowWords = new long[wordsPerRow];
+
+        int segmentCount = (rowCount + rowsPerSegment - 1) / rowsPerSegment;
+        this.mappedSegments = new MappedByteBuffer[2][segmentCount];
+        this.bufferSegments = new LongBuffer[2][segmentCount];
+
+        for (int buffer=0; buffer < 2; buffer++) {
+            for (int segment=0; segment < segmentCount; segment++) {
+                int segmentRowCount = Math.min(rowsPerSegment, rowCount - segment * rowsPerSegment);
+                long position = bufferOffset(buffer) + (long) segment * rowsPerSegment * rowBytes();
+                mappedSegments[buffer][segment] = fileChannel.map(MapMode.READ_WRITE, position, (long) segmentRowCount * rowBytes());
+                bufferSegments[buffer][segment] = mappedSegments[buffer][segment].order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            }
+        }
+    }
+
+    public static MappedGrid create(Path path, int rowCount, int columnCount) throws IOException {
+        if (rowCount < 0 || columnCount < 0) {
+            throw new IllegalArgumentException("Grid dimensions must not be negative");
+        }
+
+        FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            MappedGrid mappedGrid = new MappedGrid(path, fileChannel, rowCount, columnCount);
+            mappedGrid.header.putLong(MAGIC_OFFSET, MAGIC);
+            mappedGrid.header.putInt(ROW_COUNT_OFFSET, rowCount);
+            mappedGrid.header.putInt(COLUMN_COUNT_OFFSET, columnCount);
+            mappedGrid.writeState();
+            return mappedGrid;
+        } catch (IOException | RuntimeException e) {
+            fileChannel.close();
+            throw e;
+        }
+    }
+
+    public static MappedGrid create(Path path, PackedGrid packedGrid) throws IOException {
+        MappedGrid mappedGrid = create(path, packedGrid.getRowCount(), packedGrid.getColumnCount());
+        mappedGrid.writeRows(mappedGrid.currentBuffer, packedGrid, 0, 0, packedGrid.getRowCount());
+        return mappedGrid;
+    }
+
+    public static MappedGrid open(Path path) throws IOException {
+        FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            if (fileChannel.size() < HEADER_BYTES) {
+                throw new IOException(path + " is not a mapped grid file");
+            }
+
+            MappedByteBuffer header = fileChannel.map(MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (header.getLong(MAGIC_OFFSET) != MAGIC) {
+                throw new IOException(path + " is not a mapped grid file");
+            }
+
+            int rowCount = header.getInt(ROW_COUNT_OFFSET);
+            int columnCount = header.getInt(COLUMN_COUNT_OFFSET);
+            long wordsPerRow = (columnCount + PackedGrid.CELLS_PER_WORD - 1) / PackedGrid.CELLS_PER_WORD;
+
+            if (rowCount < 0 || columnCount < 0 || fileChannel.size() < HEADER_BYTES + 2L * rowCount * wordsPerRow * Long.BYTES) {
+                throw new IOException(path + " is truncated or has an invalid header");
+            }
+
+            MappedGrid mappedGrid = new MappedGrid(path, fileChannel, rowCount, columnCount);
+            mappedGrid.currentBuffer = header.getInt(CURRENT_BUFFER_OFFSET) & 1;
+            mappedGrid.generation = header.getLong(GENERATION_OFFSET);
+            return mappedGrid;
+        } catch (IOException | RuntimeException e) {
+            fileChannel.close();
+            throw e;
+        }
+    }
+
+    public synchronized void readRows(int fromRow, int toRow, PackedGrid target, int targetFromRow) {
+        for (int y=fromRow; y < toRow; y++) {
+            LongBuffer segment = rowSegment(currentBuffer, y);
+            segment.get(target.getWords(), target.rowOffset(targetFromRow + y - fromRow), wordsPerRow);
+        }
+    }
+
+    public synchronized void writeNextRows(PackedGrid source, int sourceFromRow, int fromRow, int toRow) {
+        writeRows(1 - currentBuffer, source, sourceFromRow, fromRow, toRow);
+    }
+
+    public synchronized void swapBuffers(long generations) {
+        currentBuffer = 1 - currentBuffer;
+        generation += generations;
+        writeState();
+    }
+
+    private void writeRows(int buffer, PackedGrid source, int sourceFromRow, int fromRow, int toRow) {
+        for (int y=fromRow; y < toRow; y++) {
+            LongBuffer segment = rowSegment(buffer, y);
+            segment.put(source.getWords(), source.rowOffset(sourceFromRow + y - fromRow), wordsPerRow);
+        }
+    }
+
+    private LongBuffer rowSegment(int buffer, int y) {
+        LongBuffer segment = bufferSegments[buffer][y / rowsPerSegment];
+        segment.position((y % rowsPerSegment) * wordsPerRow);
+        return segment;
+    }
+
+    public synchronized boolean isAlive(int xCoordinate, int yCoordinate) {
+        if (xCoordinate < 0 || xCoordinate >= columnCount || yCoordinate < 0 || yCoordinate >= rowCount) {
+            throw new IndexOutOfBoundsException(xCoordinate + ":" + yCoordinate);
+        }
+
+        long word = bufferSegments[currentBuffer][yCoordinate / rowsPerSegment].get((yCoordinate % rowsPerSegment) * wordsPerRow + (xCoordinate >>> 6));
+        return (word >>> xCoordinate & 1L) != 0;
+    }
+
+    public synchronized void setAlive(int xCoordinate, int yCoordinate, boolean alive) {
+        if (xCoordinate < 0 || xCoordinate >= columnCount || yCoordinate < 0 || yCoordinate >= rowCount) {
+            throw new IndexOutOfBoundsException(xCoordinate + ":" + yCoordinate);
+        }
+
+        LongBuffer segment = bufferSegments[currentBuffer][yCoordinate / rowsPerSegment];
+        int index = (yCoordinate % rowsPerSegment) * wordsPerRow + (xCoordinate >>> 6);
+        long bit = 1L << xCoordinate;
+        segment.put(index, alive ? segment.get(index) | bit : segment.get(index) & ~bit);
+    }
+
+    public synchronized long countLiveCells() {
+        long liveCellCount = 0;
+
+        for (int y=0; y < rowCount; y++) {
+            rowSegment(currentBuffer, y).get(rowWords);
+
+            for (long word : rowWords) {
+                liveCellCount += Long.bitCount(word);
+            }
+        }
+
+        return liveCellCount;
+    }
+
+    public PackedGrid toPackedGrid() {
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+        readRows(0, rowCount, packedGrid, 0);
+        return packedGrid;
+    }
+
+    public synchronized void force() {
+        for (MappedByteBuffer segment : mappedSegments[currentBuffer]) {
+            segment.force();
+        }
+
+        header.force();
+    }
+
+    private void writeState() {
+        header.putInt(CURRENT_BUFFER_OFFSET, currentBuffer);
+        header.putLong(GENERATION_OFFSET, generation);
+    }
+
+    private long rowBytes() {
+        return (long) wordsPerRow * Long.BYTES;
+    }
+
+    private long bufferOffset(int buffer) {
+        return HEADER_BYTES + buffer * rowCount * rowBytes();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        fileChannel.close();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.kata.cgl.grid;
+
+import java.util.Arrays;
+
+public class PackedGrid {
+
+    public static final int CELLS_PER_WORD = 64;
+
+    private final int rowCount;
+    private final int columnCount;
+    private final int wordsPerRow;
+    private final long lastWordMask;
+    private final long[] words;
+
+    public PackedGrid(int rowCount, int columnCount) {
+        if (rowCount < 0 || columnCount < 0) {
+            throw new IllegalArgumentException("Grid dimensions must not be negative");
+        }
+
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.wordsPerRow = (columnCount + CELLS_PER_WORD - 1) / CELLS_PER_WORD;
+        this.lastWordMask = columnCount % CELLS_PER_WORD == 0 ? -1L : (1L << (columnCount % CELLS_PER_WORD)) - 1;
+        this.words = new long[rowCount * wordsPerRow];
+    }
+
+    public static long allocatedCellCount(long rowCount, long columnCount) {
+        return rowCount * ((columnCount + CELLS_PER_WORD - 1) / CELLS_PER_WORD) * CELLS_PER_WORD;
+    }
+
+    public static PackedGrid fromGridCells(int rowCount, int columnCount, Iterable<GridCell> gridCells) {
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (GridCell gridCell : gridCells) {
+            if (GridCellState.ALIVE == gridCell.getGridCellState()) {
+                packedGrid.setAlive(gridCell.getxCoordinate(), gridCell.getyCoordinate(), true);
+            }
+        }
+
+        return packedGrid;
+    }
+
+    public PackedGrid emptyCopy() {
+        return new PackedGrid(rowCount, columnCount);
+    }
+
+    public PackedGrid copy() {
+        PackedGrid copy = emptyCopy();
+        System.arraycopy(words, 0, copy.words, 0, words.length);
+        return copy;
+    }
+
+    public boolean isAlive(int xCoordinate, int yCoordinate) {
+        long word = words[rowOffset(yCoordinate) + (xCoordinate >>> 6)];
+        return (word >>> xCoordinate & 1L) != 0;
+    }
+
+    public void setAlive(int xCoordinate, int yCoordinate, boolean alive) {
+        if (xCoordinate < 0 || xCoordinate >= columnCount || yCoordinate < 0 || yCoordinate >= rowCount) {
+            throw new IndexOutOfBoundsException(xCoordinate + ":" + yCoordinate);
+        }
+
+        int wordIndex = rowOffset(yCoordinate) + (xCoordinate >>> 6);
+        long bit = 1L << xCoordinate;
+
+        if (alive) {
+            words[wordIndex] |= bit;
+        } else {
+            words[wordIndex] &= ~bit;
+        }
+    }
+
+    public int nextLiveColumn(int yCoordinate, int fromXCoordinate) {
+        return nextColumn(yCoordinate, fromXCoordinate, 0L);
+    }
+
+    public int nextDeadColumn(int yCoordinate, int fromXCoordinate) {
+        return nextColumn(yCoordinate, fromXCoordinate, -1L);
+    }
+
+    private int nextColumn(int yCoordinate, int fromXCoordinate, long flip) {
+        if (fromXCoordinate >= columnCount) {
+            return columnCount;
+        }
+
+        int rowOffset = rowOffset(yCoordinate);
+        int w = fromXCoordinate >>> 6;
+        long word = (words[rowOffset + w] ^ flip) & (-1L << fromXCoordinate);
+
+        while (word == 0) {
+            if (++w == wordsPerRow) {
+                return columnCount;
+            }
+
+            word = words[rowOffset + w] ^ flip;
+        }
+
+        return Math.min(w * CELLS_PER_WORD + Long.numberOfTrailingZeros(word), columnCount);
+    }
+
+    public GridCellState getGridCellState(int xCoordinate, int yCoordinate) {
+        return isAlive(xCoordinate, yCoordinate) ? GridCellState.ALIVE : GridCellState.DEAD;
+    }
+
+    public long countLiveCells() {
+        long liveCellCount = 0;
+
+        for (long word : words) {
+            liveCellCount += Long.bitCount(word);
+        }
+
+        return liveCellCount;
+    }
+
+    public int checksum() {
+        int checksum = 0;
+
+        for (int y=0; y < rowCount; y++) {
+            for (int w=0; w < wordsPerRow; w++) {
+                for (long word=words[rowOffset(y) + w]; word != 0; word &= word - 1) {
+                    checksum += cellHash((long) y * columnCount + w * CELLS_PER_WORD + Long.numberOfTrailingZeros(word));
+                }
+            }
+        }
+
+        return checksum;
+    }
+
+    // Indexes wrap to 32 bits before hashing, as Math.imul does in the page's copy of this hash.
+    public static int cellHash(long cellIndex) {
+        int hash = (int) (cellIndex + 1) * 0x9E3779B1;
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    public int rowOffset(int yCoordinate) {
+        return yCoordinate * wordsPerRow;
+    }
+
+    public long[] getWords() {
+        return words;
+    }
+
+    public long getLastWordMask() {
+        return lastWordMask;
+    }
+
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    public boolean hasSameDimensions(PackedGrid other) {
+        return rowCount == other.rowCount && columnCount == other.columnCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        PackedGrid that = (PackedGrid) o;
+
+        return hasSameDimensions(that) && Arrays.equals(words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = rowCount;
+        result = 31 * result + columnCount;
+        result = 31 * result + Arrays.hashCode(words);
+        return result;
+    }
+
+}
@@ -0,0 +1,533 @@
+package com.kata.cgl.history;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import com.kata.cgl.engine.GenerationEngine;
+import com.kata.cgl.exception.GenerationNotRecordedException;
+import com.kata.cgl.grid.Grid;
+import com.kata.cgl.grid.PackedGrid;
+import com.kata.cgl.ui.BinaryGridCodec;
+import com.kata.cgl.ui.GridDelta;
+import com.kata.cgl.ui.GridFrame;
+
+public class GenerationLog implements Closeable {
+
+    public static final int RECORD_HEADER_BYTES = 17;
+    public static final int MAX_BATCH_SIZE = 256;
+
+    static final byte KEYFRAME_RECORD = 1;
+    static final byte DELTA_RECORD = 2;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int keyframeInterval;
+    private final long segmentBytes;
+    private final BlockingQueue<GridFrame> pendingGenerations;
+    private final Thread writerThread;
+
+    private final TreeMap<Long, RecordPosition> keyframeIndex = new TreeMap<>();
+    private final List<Path> segments = new ArrayList<>();
+    private FileChannel segmentChannel;
+    private long segmentSize;
+
+    private GridFrame lastWrittenFrame;
+    private long lastKeyframeGeneration;
+    private long appendedCount;
+    private long writtenCount;
+    private IOException writeFailure;
+    private boolean writerStopped;
+    private volatile boolean closed;
+
+    private GenerationLog(Path directory, int keyframeInterval, long segmentBytes, int queueCapacity) {
+        if (keyframeInterval <= 0 || segmentBytes <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Keyframe interval, segment size and queue capacity must be positive");
+        }
+
+        this.directory = directory;
+        this.keyframeInterval = keyframeInterval;
+        this.segmentBytes = segmentBytes;
+        this.pendingGenerations = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerThread = new Thread(this::writePendingGenerations, "generation-log-" + directory.getFileName());
+        this.writerThread.setDaemon(true);
+    }
+
+    public static GenerationLog open(Path directory, int keyframeInterval, long segmentBytes, int queueCapacity) throws IOException {
+        GenerationLog generationLog = new GenerationLog(directory, keyframeInterval, segmentBytes, queueCapacity);
+        Files.createDirectories(directory);
+        generationLog.recover();
+        generationLog.writerThread.start();
+        return generationLog;
+    }
+
+    public void append(long generation, PackedGrid packedGrid) {
+        synchronized (this) {
+            throwIfUnavailable();
+            appendedCount++;
+        }
+
+        boolean queued = false;
+
+        try {
+            GridFrame frame = new GridFrame(generation, packedGrid);
+
+            while (!pendingGenerations.offer(frame, 100, TimeUnit.MILLISECONDS)) {
+                synchronized (this) {
+                    throwIfFailed();
+                    throwIfWriterStopped();
+                }
+            }
+
+            queued = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing generation " + generation, e);
+        } finally {
+            if (!queued) {
+                synchronized (this) {
+                    appendedCount--;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    public void append(long generation, Grid grid) {
+        append(generation, grid.toPackedGrid());
+    }
+
+    public synchronized void flush() {
+        try {
+            while (writtenCount < appendedCount && writeFailure == null && !writerStopped) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while flushing " + directory, e);
+        }
+
+        throwIfFailed();
+
+        if (writtenCount < appendedCount) {
+            throwIfWriterStopped();
+        }
+    }
+
+    public GridFrame seek(long generation, GenerationEngine generationEngine) throws GenerationNotRecordedException, IOException {
+        flush();
+        Map.Entry<Long, RecordPosition> keyframe;
+
+        synchronized (this) {
+            keyframe = keyframeIndex.floorEntry(generation);
+        }
+
+        if (keyframe == null) {
+            throw new GenerationNotRecordedException(generation);
+        }
+
+        RecordPosition position = keyframe.getValue();
+        PackedGrid packedGrid = null;
+        long replayedGeneration = keyframe.getKey();
+
+        try (FileChannel channel = FileChannel.open(position.segment, StandardOpenOption.READ)) {
+            channel.position(position.offset);
+            DataInputStream recordInput = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+
+            for (Record record=readRecord(recordInput); record != null; record=readRecord(recordInput)) {
+                if (packedGrid != null && (record.type == KEYFRAME_RECORD || record.generation > generation)) {
+                    break;
+                }
+
+                DataInputStream payload = new DataInputStream(new ByteArrayInputStream(record.payload));
+
+                if (record.type == KEYFRAME_RECORD) {
+                    packedGrid = BinaryGridCodec.decode(payload).getPackedGrid();
+                } else {
+                    readDelta(replayedGeneration, record.generation, packedGrid, payload).applyInPlace(packedGrid);
+                }
+
+                replayedGeneration = record.generation;
+            }
+        }
+
+        if (packedGrid == null) {
+            throw new GenerationNotRecordedException(generation);
+        }
+
+        if (replayedGeneration < generation) {
+            packedGrid = generationEngine.step(packedGrid, generation - replayedGeneration);
+        }
+
+        return new GridFrame(generation, packedGrid);
+    }
+
+    public Grid seekGrid(long generation, GenerationEngine generationEngine) throws GenerationNotRecordedException, IOException {
+        return Grid.fromPackedGrid(seek(generation, generationEngine).getPackedGrid());
+    }
+
+    private void writePendingGenerations() {
+        try {
+            writeUntilClosed();
+        } finally {
+            synchronized (this) {
+                writerStopped = true;
+                notifyAll();
+            }
+        }
+    }
+
+    private void writeUntilClosed() {
+        List<GridFrame> batch = new ArrayList<>(MAX_BATCH_SIZE);
+
+        while (!closed || hasUnwrittenGenerations()) {
+            try {
+                GridFrame first = pendingGenerations.poll(100, TimeUnit.MILLISECONDS);
+
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                pendingGenerations.drainTo(batch, MAX_BATCH_SIZE - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                synchronized (this) {
+                    writeFailure = e;
+                }
+                return;
+            }
+
+            synchronized (this) {
+                writtenCount += batch.size();
+                notifyAll();
+            }
+
+            batch.clear();
+        }
+    }
+
+    private synchronized boolean hasUnwrittenGenerations() {
+        return writtenCount < appendedCount;
+    }
+
+    private void writeBatch(List<GridFrame> batch) throws IOException {
+        ByteArrayOutputStream batchBytes = new ByteArrayOutputStream();
+
+        for (GridFrame frame : batch) {
+            boolean keyframe = isKeyframe(frame);
+
+            if (keyframe && segmentSize + batchBytes.size() >= segmentBytes) {
+                writeToSegment(batchBytes);
+                rollSegment();
+            }
+
+            if (keyframe) {
+                synchronized (this) {
+                    keyframeIndex.put(frame.getGeneration(), new RecordPosition(currentSegment(), segmentSize + batchBytes.size()));
+                }
+
+                lastKeyframeGeneration = frame.getGeneration();
+            }
+
+            writeRecord(batchBytes, keyframe ? KEYFRAME_RECORD : DELTA_RECORD, frame.getGeneration(), encodePayload(frame, keyframe));
+            lastWrittenFrame = frame;
+        }
+
+        writeToSegment(batchBytes);
+    }
+
+    private boolean isKeyframe(GridFrame frame) {
+        return lastWrittenFrame == null
+                || !lastWrittenFrame.getPackedGrid().hasSameDimensions(frame.getPackedGrid())
+                || frame.getGeneration() <= lastWrittenFrame.getGeneration()
+                || frame.getGeneration() - lastKeyframeGeneration >= keyframeInterval;
+    }
+
+    private byte[] encodePayload(GridFrame frame, boolean keyframe) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+
+        if (keyframe) {
+            BinaryGridCodec.encode(frame.getPackedGrid(), frame.getGeneration(), payload);
+        } else {
+            GridDelta gridDelta = new GridDelta(lastWrittenFrame.getGeneration(), lastWrittenFrame.getPackedGrid(), frame.getGeneration(), frame.getPackedGrid());
+            DataOutputStream payloadOutput = new DataOutputStream(payload);
+            writeCellIndexes(payloadOutput, gridDelta.getBirths());
+            writeCellIndexes(payloadOutput, gridDelta.getDeaths());
+            payloadOutput.writeInt(gridDelta.getChecksum());
+            payloadOutput.flush();
+        }
+
+        return payload.toByteArray();
+    }
+
+    private static void writeCellIndexes(DataOutputStream payloadOutput, long[] cellIndexes) throws IOException {
+        BinaryGridCodec.writeVarLong(payloadOutput, cellIndexes.length);
+        long previousCellIndex = 0;
+
+        for (long cellIndex : cellIndexes) {
+            BinaryGridCodec.writeVarLong(payloadOutput, cellIndex - previousCellIndex);
+            previousCellIndex = cellIndex;
+        }
+    }
+
+    private static GridDelta readDelta(long fromGeneration, long generation, PackedGrid packedGrid, DataInputStream payload) throws IOException {
+        long[] births = readCellIndexes(payload, packedGrid);
+        long[] deaths = readCellIndexes(payload, packedGrid);
+        return new GridDelta(fromGeneration, generation, packedGrid.getRowCount(), packedGrid.getColumnCount(), births, deaths, payload.readInt());
+    }
+
+    private static long[] readCellIndexes(DataInputStream payload, PackedGrid packedGrid) throws IOException {
+        long cellCount = (long) packedGrid.getRowCount() * packedGrid.getColumnCount();
+        long cellIndexCount = BinaryGridCodec.readVarLong(payload);
+
+        if (cellIndexCount < 0 || cellIndexCount > cellCount) {
+            throw new IOException("Delta lists more cells than the grid holds");
+        }
+
+        long[] cellIndexes = new long[(int) cellIndexCount];
+        long cellIndex = 0;
+
+        for (int i=0; i < cellIndexes.length; i++) {
+            cellIndex += BinaryGridCodec.readVarLong(payload);
+
+            if (cellIndex < 0 || cellIndex >= cellCount) {
+                throw new IOException("Delta cell " + cellIndex + " is outside the grid");
+            }
+
+            cellIndexes[i] = cellIndex;
+        }
+
+        return cellIndexes;
+    }
+
+    private static void writeRecord(ByteArrayOutputStream output, byte type, long generation, byte[] payload) throws IOException {
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload);
+
+        DataOutputStream recordOutput = new DataOutputStream(output);
+        recordOutput.writeInt(payload.length);
+        recordOutput.writeByte(type);
+        recordOutput.writeLong(generation);
+        recordOutput.writeInt((int) crc32.getValue());
+        recordOutput.write(payload);
+        recordOutput.flush();
+    }
+
+    private static Record readRecord(DataInputStream recordInput) throws IOException {
+        try {
+            int payloadLength = recordInput.readInt();
+            byte type = recordInput.readByte();
+            long generation = recordInput.readLong();
+            int checksum = recordInput.readInt();
+
+            if (payloadLength < 0 || (type != KEYFRAME_RECORD && type != DELTA_RECORD)) {
+                return null;
+            }
+
+            byte[] payload = new byte[payloadLength];
+            recordInput.readFully(payload);
+
+            CRC32 crc32 = new CRC32();
+            crc32.update(payload);
+            return (int) crc32.getValue() == checksum ? new Record(type, generation, payload) : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> segmentFiles = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            segmentFiles.forEach(segments::add);
+        }
+
+        segments.sort(null);
+
+        for (Path segment : segments) {
+            long offset = 0;
+
+            try (InputStream segmentInput = Files.newInputStream(segment)) {
+                DataInputStream recordInput = new DataInputStream(new BufferedInputStream(segmentInput));
+
+                for (Record record=readRecord(recordInput); record != null; record=readRecord(recordInput)) {
+                    if (record.type == KEYFRAME_RECORD) {
+                        keyframeIndex.put(record.generation, new RecordPosition(segment, offset));
+                    }
+
+                    offset += RECORD_HEADER_BYTES + record.payload.length;
+                }
+            }
+
+            segmentSize = offset;
+        }
+
+        if (segments.isEmpty()) {
+            rollSegment();
+        } else {
+            segmentChannel = FileChannel.open(currentSegment(), StandardOpenOption.WRITE);
+            segmentChannel.truncate(segmentSize);
+            segmentChannel.position(segmentSize);
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        if (segmentChannel != null) {
+            segmentChannel.force(false);
+            segmentChannel.close();
+        }
+
+        synchronized (this) {
+            segments.add(directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, segments.size(), SEGMENT_SUFFIX)));
+        }
+
+        segmentChannel = FileChannel.open(currentSegment(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentSize = 0;
+    }
+
+    private void writeToSegment(ByteArrayOutputStream batchBytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(batchBytes.toByteArray());
+
+        while (buffer.hasRemaining()) {
+            segmentChannel.write(buffer);
+        }
+
+        segmentSize += batchBytes.size();
+        batchBytes.reset();
+    }
+
+    private synchronized Path currentSegment() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private void throwIfFailed() {
+        if (writeFailure != null) {
+            throw new UncheckedIOException("Generation log " + directory + " failed to write", writeFailure);
+        }
+    }
+
+    private void throwIfWriterStopped() {
+        if (writerStopped) {
+            throw new IllegalStateException("Generation log " + directory + " stopped writing");
+        }
+    }
+
+    private void throwIfUnavailable() {
+        throwIfFailed();
+
+        if (closed) {
+            throw new IllegalStateException("Generation log " + directory + " is closed");
+        }
+
+        throwIfWriterStopped();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            segmentChannel.force(false);
+            segmentChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Generation log " + directory + " failed to close", e);
+        }
+    }
+
+    public void delete() {
+        close();
+
+        try (DirectoryStream<Path> segmentFiles = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path segment : segmentFiles) {
+                Files.deleteIfExists(segment);
+            }
+
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Generation log " + directory + " failed to delete", e);
+        }
+    }
+
+    public long estimateQueuedBytes() {
+        long queuedBytes = 0;
+
+        for (GridFrame frame : pendingGenerations) {
+            queuedBytes += (long) frame.getPackedGrid().getWords().length * Long.BYTES;
+        }
+
+        return queuedBytes;
+    }
+
+    public synchronized int getKeyframeCount() {
+        return keyframeIndex.size();
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private static class RecordPosition {
+
+        private final Path segment;
+        private final long offset;
+
+        private RecordPosition(Path segment, long offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+
+    }
+
+    private static class Record {
+
+        private final byte type;
+        private final long generation;
+        private final byte[] payload;
+
+        private Record(byte type, long generation, byte[] payload) {
+            this.type = type;
+            this.generation = generation;
+            this.payload = payload;
+        }
+
+    }
+
+}
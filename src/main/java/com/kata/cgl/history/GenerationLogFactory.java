@@ -0,0 +1,34 @@
+package com.kata.cgl.history;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GenerationLogFactory {
+
+    private final Path directory;
+    private final int keyframeInterval;
+    private final long segmentBytes;
+    private final int queueCapacity;
+
+    @Autowired
+    public GenerationLogFactory(@Value("${cgl.history.directory:${java.io.tmpdir}/cgl-history}") String directory,
+                                @Value("${cgl.history.keyframe-interval:100}") int keyframeInterval,
+                                @Value("${cgl.history.segment-bytes:67108864}") long segmentBytes,
+                                @Value("${cgl.history.queue-capacity:1024}") int queueCapacity) {
+        this.directory = Paths.get(directory);
+        this.keyframeInterval = keyframeInterval;
+        this.segmentBytes = segmentBytes;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public GenerationLog open(String name) throws IOException {
+        return GenerationLog.open(directory.resolve(name), keyframeInterval, segmentBytes, queueCapacity);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.kata.cgl.pattern;
+
+import com.kata.cgl.engine.GenerationRule;
+import com.kata.cgl.engine.Topology;
+import com.kata.cgl.grid.PackedGrid;
+
+public class ImportedPattern {
+
+    private final PackedGrid packedGrid;
+    private final GenerationRule generationRule;
+    private final Topology topology;
+
+    public ImportedPattern(PackedGrid packedGrid) {
+        this(packedGrid, null, null);
+    }
+
+    public ImportedPattern(PackedGrid packedGrid, GenerationRule generationRule, Topology topology) {
+        this.packedGrid = packedGrid;
+        this.generationRule = generationRule;
+        this.topology = topology;
+    }
+
+    public PackedGrid getPackedGrid() {
+        return packedGrid;
+    }
+
+    public GenerationRule getGenerationRule() {
+        return generationRule;
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+}
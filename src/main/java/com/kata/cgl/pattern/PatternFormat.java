@@ -0,0 +1,68 @@
+package com.kata.cgl.pattern;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+import com.kata.cgl.engine.GenerationRule;
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.engine.Topology;
+import com.kata.cgl.exception.InvalidPatternException;
+import com.kata.cgl.grid.PackedGrid;
+
+public enum PatternFormat {
+    RLE("rle"),
+    PLAINTEXT("cells");
+
+    private final String fileExtension;
+
+    PatternFormat(String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+
+    public PackedGrid read(Reader reader, int padding, long maxCellCount) throws IOException, InvalidPatternException {
+        return readPattern(reader, padding, maxCellCount).getPackedGrid();
+    }
+
+    public ImportedPattern readPattern(Reader reader, int padding, long maxCellCount) throws IOException, InvalidPatternException {
+        switch (this) {
+            case PLAINTEXT:
+                return new ImportedPattern(new PlaintextPatternReader(reader, padding, maxCellCount).read());
+            default: // RLE
+                return new RlePatternReader(reader, padding, maxCellCount).readPattern();
+        }
+    }
+
+    public void write(PackedGrid packedGrid, Writer writer) throws IOException {
+        write(packedGrid, LifeRule.CONWAY, writer);
+    }
+
+    public void write(PackedGrid packedGrid, GenerationRule generationRule, Writer writer) throws IOException {
+        write(packedGrid, generationRule, Topology.BOUNDED, writer);
+    }
+
+    public void write(PackedGrid packedGrid, GenerationRule generationRule, Topology topology, Writer writer) throws IOException {
+        switch (this) {
+            case PLAINTEXT:
+                new PlaintextPatternWriter(writer).write(packedGrid);
+                break;
+            default: // RLE
+                new RlePatternWriter(writer).write(packedGrid, generationRule, topology);
+        }
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static PatternFormat fromString(String s) {
+        for (PatternFormat patternFormat : values()) {
+            if (patternFormat.name().equalsIgnoreCase(s) || patternFormat.fileExtension.equalsIgnoreCase(s)) {
+                return patternFormat;
+            }
+        }
+
+        return null;
+    }
+
+}
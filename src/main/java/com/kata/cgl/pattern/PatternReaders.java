@@ -0,0 +1,22 @@
+package com.kata.cgl.pattern;
+
+import com.kata.cgl.exception.InvalidPatternException;
+import com.kata.cgl.grid.PackedGrid;
+
+final class PatternReaders {
+
+    private PatternReaders() {
+    }
+
+    static PackedGrid createPaddedGrid(long width, long height, int padding, long maxCellCount) throws InvalidPatternException {
+        long columnCount = width + 2L * padding;
+        long rowCount = height + 2L * padding;
+
+        if (columnCount > Integer.MAX_VALUE || rowCount > Integer.MAX_VALUE || columnCount * rowCount > maxCellCount) {
+            throw new InvalidPatternException("a " + columnCount + "x" + rowCount + " board exceeds the maximum of " + maxCellCount + " cells");
+        }
+
+        return new PackedGrid((int) rowCount, (int) columnCount);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.kata.cgl.pattern;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import com.kata.cgl.exception.InvalidPatternException;
+import com.kata.cgl.grid.PackedGrid;
+
+public class PlaintextPatternReader {
+
+    private final BufferedReader reader;
+    private final int padding;
+    private final long maxCellCount;
+
+    public PlaintextPatternReader(Reader reader, int padding, long maxCellCount) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.padding = padding;
+        this.maxCellCount = maxCellCount;
+    }
+
+    public PackedGrid read() throws IOException, InvalidPatternException {
+        List<BitSet> liveCellRows = new ArrayList<>();
+        int width = 0;
+
+        for (String line=reader.readLine(); line != null; line=reader.readLine()) {
+            if (line.startsWith("!")) {
+                continue;
+            }
+
+            BitSet liveCells = new BitSet();
+            int lineWidth = 0;
+
+            for (int x=0; x < line.length(); x++) {
+                char c = line.charAt(x);
+
+                if (c == 'O' || c == '*') {
+                    liveCells.set(x);
+                    lineWidth = x + 1;
+                } else if (c == '.') {
+                    lineWidth = x + 1;
+                } else if (!Character.isWhitespace(c)) {
+                    throw new InvalidPatternException("unexpected character '" + c + "' on row " + liveCellRows.size());
+                }
+            }
+
+            liveCellRows.add(liveCells);
+            width = Math.max(width, lineWidth);
+
+            if ((long) liveCellRows.size() * width > maxCellCount) {
+                throw new InvalidPatternException("pattern exceeds the maximum of " + maxCellCount + " cells");
+            }
+        }
+
+        PackedGrid packedGrid = PatternReaders.createPaddedGrid(width, liveCellRows.size(), padding, maxCellCount);
+
+        for (int y=0; y < liveCellRows.size(); y++) {
+            BitSet liveCells = liveCellRows.get(y);
+
+            for (int x=liveCells.nextSetBit(0); x >= 0; x=liveCells.nextSetBit(x + 1)) {
+                packedGrid.setAlive(x + padding, y + padding, true);
+            }
+        }
+
+        return packedGrid;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.kata.cgl.pattern;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public class PlaintextPatternWriter {
+
+    private final Writer writer;
+
+    public PlaintextPatternWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void write(PackedGrid packedGrid) throws IOException {
+        char[] row = new char[packedGrid.getColumnCount() + 1];
+        row[row.length - 1] = '\n';
+
+        for (int y=0; y < packedGrid.getRowCount(); y++) {
+            Arrays.fill(row, 0, row.length - 1, '.');
+
+            for (int liveColumn=packedGrid.nextLiveColumn(y, 0); liveColumn < packedGrid.getColumnCount(); ) {
+                int deadColumn = packedGrid.nextDeadColumn(y, liveColumn);
+                Arrays.fill(row, liveColumn, deadColumn, 'O');
+                liveColumn = packedGrid.nextLiveColumn(y, deadColumn);
+            }
+
+            writer.write(row);
+        }
+
+        writer.flush();
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.kata.cgl.pattern;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.kata.cgl.engine.GenerationRule;
+import com.kata.cgl.engine.Topology;
+import com.kata.cgl.exception.InvalidPatternException;
+import com.kata.cgl.exception.InvalidRuleException;
+import com.kata.cgl.grid.PackedGrid;
+
+public class RlePatternReader {
+
+    private static final Pattern RULE_FIELD = Pattern.compile(",\\s*rule\\s*=(.*)$");
+    private static final Pattern BOUNDED_GRID = Pattern.compile("([PT])(\\d+),(\\d+)");
+
+    private final BufferedReader reader;
+    private final int padding;
+    private final long maxCellCount;
+
+    public RlePatternReader(Reader reader, int padding, long maxCellCount) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.padding = padding;
+        this.maxCellCount = maxCellCount;
+    }
+
+    public PackedGrid read() throws IOException, InvalidPatternException {
+        return readPattern().getPackedGrid();
+    }
+
+    public ImportedPattern readPattern() throws IOException, InvalidPatternException {
+        String header = readHeader();
+        String ruleField = null;
+        long width = -1;
+        long height = -1;
+        Matcher ruleMatcher = RULE_FIELD.matcher(header);
+
+        if (ruleMatcher.find()) {
+            ruleField = ruleMatcher.group(1).trim();
+            header = header.substring(0, ruleMatcher.start());
+        }
+
+        for (String field : header.split(",")) {
+            String[] keyAndValue = field.split("=", 2);
+
+            if (keyAndValue.length != 2) {
+                throw new InvalidPatternException("malformed RLE header '" + header + "'");
+            }
+
+            String key = keyAndValue[0].trim();
+
+            if ("x".equals(key)) {
+                width = parseDimension(keyAndValue[1]);
+            } else if ("y".equals(key)) {
+                height = parseDimension(keyAndValue[1]);
+            }
+        }
+
+        if (width < 0 || height < 0) {
+            throw new InvalidPatternException("RLE header must declare x and y");
+        }
+
+        PackedGrid packedGrid = PatternReaders.createPaddedGrid(width, height, padding, maxCellCount);
+        readBody(packedGrid, (int) width, (int) height);
+
+        if (ruleField == null) {
+            return new ImportedPattern(packedGrid);
+        }
+
+        int boundsStart = ruleField.indexOf(':');
+        String rulestring = boundsStart < 0 ? ruleField : ruleField.substring(0, boundsStart).trim();
+        Topology topology = boundsStart < 0 ? null : parseBoundedGrid(ruleField.substring(boundsStart + 1).trim(), packedGrid);
+        return new ImportedPattern(packedGrid, parseRule(rulestring), topology);
+    }
+
+    private static GenerationRule parseRule(String rulestring) throws InvalidPatternException {
+        try {
+            return GenerationRule.parse(rulestring);
+        } catch (InvalidRuleException e) {
+            throw new InvalidPatternException(e.getMessage());
+        }
+    }
+
+    private static Topology parseBoundedGrid(String bounds, PackedGrid packedGrid) throws InvalidPatternException {
+        Matcher boundsMatcher = BOUNDED_GRID.matcher(bounds);
+
+        if (!boundsMatcher.matches()) {
+            throw new InvalidPatternException("unsupported bounded grid '" + bounds + "', expected T<width>,<height> or P<width>,<height>");
+        }
+
+        if (!boundsMatcher.group(2).equals(Integer.toString(packedGrid.getColumnCount())) || !boundsMatcher.group(3).equals(Integer.toString(packedGrid.getRowCount()))) {
+            throw new InvalidPatternException("bounded grid '" + bounds + "' does not match the " + packedGrid.getColumnCount() + "x" + packedGrid.getRowCount() + " board");
+        }
+
+        return "T".equals(boundsMatcher.group(1)) ? Topology.TORUS : Topology.BOUNDED;
+    }
+
+    private String readHeader() throws IOException, InvalidPatternException {
+        for (String line=reader.readLine(); line != null; line=reader.readLine()) {
+            String trimmedLine = line.trim();
+
+            if (!trimmedLine.isEmpty() && !trimmedLine.startsWith("#")) {
+                return trimmedLine;
+            }
+        }
+
+        throw new InvalidPatternException("RLE header is missing");
+    }
+
+    private void readBody(PackedGrid packedGrid, int width, int height) throws IOException, InvalidPatternException {
+        long runCount = 0;
+        long x = 0;
+        long y = 0;
+
+        for (int c=reader.read(); c != -1 && c != '!'; c=reader.read()) {
+            if (c >= '0' && c <= '9') {
+                runCount = runCount * 10 + (c - '0');
+
+                if (runCount > maxCellCount) {
+                    throw new InvalidPatternException("run count exceeds the maximum board size");
+                }
+
+                continue;
+            }
+
+            long run = runCount == 0 ? 1 : runCount;
+            runCount = 0;
+
+            if (c == 'b' || c == '.') {
+                x += run;
+            } else if (c == 'o' || (c >= 'A' && c <= 'X')) {
+                if (y >= height || x + run > width) {
+                    throw new InvalidPatternException("live cells fall outside the declared " + width + "x" + height + " bounds");
+                }
+
+                for (long end=x + run; x < end; x++) {
+                    packedGrid.setAlive((int) x + padding, (int) y + padding, true);
+                }
+            } else if (c == '$') {
+                y += run;
+                x = 0;
+            } else if (!Character.isWhitespace(c)) {
+                throw new InvalidPatternException("unexpected character '" + (char) c + "'");
+            }
+        }
+    }
+
+    private static long parseDimension(String value) throws InvalidPatternException {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidPatternException("dimension '" + value.trim() + "' is not a number");
+        }
+    }
+
+}
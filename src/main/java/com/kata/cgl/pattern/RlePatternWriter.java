@@ -0,0 +1,73 @@
+package com.kata.cgl.pattern;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import com.kata.cgl.engine.GenerationRule;
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.engine.Topology;
+import com.kata.cgl.grid.PackedGrid;
+
+public class RlePatternWriter {
+
+    public static final int MAX_LINE_LENGTH = 70;
+
+    private final Writer writer;
+    private int lineLength;
+
+    public RlePatternWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void write(PackedGrid packedGrid) throws IOException {
+        write(packedGrid, LifeRule.CONWAY);
+    }
+
+    public void write(PackedGrid packedGrid, GenerationRule generationRule) throws IOException {
+        write(packedGrid, generationRule, Topology.BOUNDED);
+    }
+
+    public void write(PackedGrid packedGrid, GenerationRule generationRule, Topology topology) throws IOException {
+        String bounds = topology == Topology.TORUS ? ":T" + packedGrid.getColumnCount() + "," + packedGrid.getRowCount() : "";
+        writer.write("x = " + packedGrid.getColumnCount() + ", y = " + packedGrid.getRowCount() + ", rule = " + generationRule + bounds + "\n");
+        int pendingRowEnds = 0;
+
+        for (int y=0; y < packedGrid.getRowCount(); y++) {
+            int liveColumn = packedGrid.nextLiveColumn(y, 0);
+
+            if (liveColumn < packedGrid.getColumnCount() && pendingRowEnds > 0) {
+                writeRun(pendingRowEnds, '$');
+                pendingRowEnds = 0;
+            }
+
+            for (int x=0; liveColumn < packedGrid.getColumnCount(); liveColumn=packedGrid.nextLiveColumn(y, x)) {
+                int deadColumn = packedGrid.nextDeadColumn(y, liveColumn);
+
+                if (liveColumn > x) {
+                    writeRun(liveColumn - x, 'b');
+                }
+
+                writeRun(deadColumn - liveColumn, 'o');
+                x = deadColumn;
+            }
+
+            pendingRowEnds++;
+        }
+
+        writer.write("!\n");
+        writer.flush();
+    }
+
+    private void writeRun(int runLength, char tag) throws IOException {
+        String token = runLength == 1 ? String.valueOf(tag) : runLength + String.valueOf(tag);
+
+        if (lineLength + token.length() > MAX_LINE_LENGTH) {
+            writer.write('\n');
+            lineLength = 0;
+        }
+
+        writer.write(token);
+        lineLength += token.length();
+    }
+
+}
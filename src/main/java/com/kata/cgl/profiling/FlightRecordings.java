@@ -0,0 +1,128 @@
+package com.kata.cgl.profiling;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.kata.cgl.exception.InvalidRecordingException;
+import com.kata.cgl.exception.RecordingNotFoundException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+@Component
+public class FlightRecordings {
+
+    private static final String CONFIGURATION_NAME = "default";
+
+    private final long maxDurationSeconds;
+    private final long maxSizeBytes;
+    private final int maxRecordingCount;
+
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FlightRecordings(@Value("${cgl.profiling.max-duration-seconds:300}") long maxDurationSeconds,
+                            @Value("${cgl.profiling.max-size-bytes:67108864}") long maxSizeBytes,
+                            @Value("${cgl.profiling.max-recordings:2}") int maxRecordingCount) {
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxSizeBytes = maxSizeBytes;
+        this.maxRecordingCount = maxRecordingCount;
+    }
+
+    public synchronized RecordingSummary start(long durationSeconds, long sizeBytes) throws InvalidRecordingException, IOException {
+        if (durationSeconds < 1 || durationSeconds > maxDurationSeconds) {
+            throw new InvalidRecordingException("duration must be between 1 and " + maxDurationSeconds + " seconds");
+        }
+
+        if (sizeBytes < 1 || sizeBytes > maxSizeBytes) {
+            throw new InvalidRecordingException("size must be between 1 and " + maxSizeBytes + " bytes");
+        }
+
+        if (recordings.size() >= maxRecordingCount) {
+            throw new InvalidRecordingException("at most " + maxRecordingCount + " recordings may be kept, delete one first");
+        }
+
+        Recording recording = new Recording(loadConfiguration());
+        recording.setName("cgl-" + recording.getId());
+        recording.enable(GridFormBindingEvent.class);
+        recording.enable(GridConstructionEvent.class);
+        recording.enable(GenerationStepEvent.class);
+        recording.enable(GridSerializationEvent.class);
+        recording.setDuration(Duration.ofSeconds(durationSeconds));
+        recording.setMaxSize(sizeBytes);
+        recording.setToDisk(true);
+        recording.start();
+
+        recordings.put(recording.getId(), recording);
+        return new RecordingSummary(recording);
+    }
+
+    public RecordingSummary find(long recordingId) throws RecordingNotFoundException {
+        return new RecordingSummary(recording(recordingId));
+    }
+
+    public List<RecordingSummary> findAll() {
+        return recordings.values().stream().map(RecordingSummary::new).collect(Collectors.toList());
+    }
+
+    public void dump(long recordingId, OutputStream outputStream) throws RecordingNotFoundException, IOException {
+        Recording recording = recording(recordingId);
+        Path dumpFile = Files.createTempFile("cgl-recording-" + recordingId + "-", ".jfr");
+
+        try {
+            recording.dump(dumpFile);
+            Files.copy(dumpFile, outputStream);
+        } finally {
+            Files.deleteIfExists(dumpFile);
+        }
+    }
+
+    public void close(long recordingId) throws RecordingNotFoundException {
+        Recording recording = recordings.remove(recordingId);
+
+        if (recording == null) {
+            throw new RecordingNotFoundException(recordingId);
+        }
+
+        recording.close();
+    }
+
+    private Recording recording(long recordingId) throws RecordingNotFoundException {
+        Recording recording = recordings.get(recordingId);
+
+        if (recording == null) {
+            throw new RecordingNotFoundException(recordingId);
+        }
+
+        return recording;
+    }
+
+    private static Configuration loadConfiguration() throws IOException {
+        try {
+            return Configuration.getConfiguration(CONFIGURATION_NAME);
+        } catch (ParseException e) {
+            throw new IOException("Could not load flight recorder configuration " + CONFIGURATION_NAME, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.kata.cgl.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.kata.cgl.GenerationStep")
+@Label("Generation Step")
+@Description("Advancing a grid by one or more generations")
+public class GenerationStepEvent extends GridPhaseEvent {
+
+    @Label("Generations")
+    long generations;
+
+    public GenerationStepEvent(long generations) {
+        this.generations = generations;
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.kata.cgl.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.kata.cgl.GridConstruction")
+@Label("Grid Construction")
+@Description("Building the initial Grid from a bound grid form")
+public class GridConstructionEvent extends GridPhaseEvent {
+}
@@ -0,0 +1,11 @@
+package com.kata.cgl.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.kata.cgl.GridFormBinding")
+@Label("Grid Form Binding")
+@Description("Reading a grid form request body into packed cell states")
+public class GridFormBindingEvent extends GridPhaseEvent {
+}
@@ -0,0 +1,51 @@
+package com.kata.cgl.profiling;
+
+import com.kata.cgl.grid.Grid;
+import com.kata.cgl.grid.PackedGrid;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+@Category("Conway's Game of Life")
+@StackTrace(false)
+public abstract class GridPhaseEvent extends Event {
+
+    @Label("Rows")
+    int rowCount;
+
+    @Label("Columns")
+    int columnCount;
+
+    @Label("Live Cells")
+    long liveCellCount;
+
+    @Label("Engine")
+    String engine;
+
+    public void commit(PackedGrid packedGrid, String engineName) {
+        end();
+
+        if (shouldCommit()) {
+            rowCount = packedGrid.getRowCount();
+            columnCount = packedGrid.getColumnCount();
+            liveCellCount = packedGrid.countLiveCells();
+            engine = engineName;
+            commit();
+        }
+    }
+
+    public void commit(Grid grid, String engineName) {
+        end();
+
+        if (shouldCommit()) {
+            rowCount = grid.getRowCount();
+            columnCount = grid.getColumnCount();
+            liveCellCount = grid.countLiveCells();
+            engine = engineName;
+            commit();
+        }
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.kata.cgl.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.kata.cgl.GridSerialization")
+@Label("Grid Serialization")
+@Description("Writing a grid's rows to the JSON response")
+public class GridSerializationEvent extends GridPhaseEvent {
+}
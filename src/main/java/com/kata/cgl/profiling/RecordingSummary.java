@@ -0,0 +1,41 @@
+package com.kata.cgl.profiling;
+
+import jdk.jfr.Recording;
+
+public class RecordingSummary {
+
+    private final long recordingId;
+    private final String state;
+    private final long durationSeconds;
+    private final long maxSizeBytes;
+    private final long recordedBytes;
+
+    public RecordingSummary(Recording recording) {
+        this.recordingId = recording.getId();
+        this.state = recording.getState().name();
+        this.durationSeconds = recording.getDuration().getSeconds();
+        this.maxSizeBytes = recording.getMaxSize();
+        this.recordedBytes = recording.getSize();
+    }
+
+    public long getRecordingId() {
+        return recordingId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    public long getRecordedBytes() {
+        return recordedBytes;
+    }
+
+}
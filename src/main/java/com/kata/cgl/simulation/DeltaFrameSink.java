@@ -0,0 +1,35 @@
+package com.kata.cgl.simulation;
+
+import java.io.IOException;
+
+import com.kata.cgl.simulation.SimulationStream.FrameSink;
+
+public class DeltaFrameSink implements FrameSink {
+
+    public interface DeltaSink {
+
+        void send(SimulationDelta delta) throws IOException;
+
+    }
+
+    private final FrameSink keyFrameSink;
+    private final DeltaSink deltaSink;
+    private SimulationFrame lastSentFrame;
+
+    public DeltaFrameSink(FrameSink keyFrameSink, DeltaSink deltaSink) {
+        this.keyFrameSink = keyFrameSink;
+        this.deltaSink = deltaSink;
+    }
+
+    @Override
+    public synchronized void send(SimulationFrame frame) throws IOException {
+        if (lastSentFrame == null) {
+            keyFrameSink.send(frame);
+        } else {
+            deltaSink.send(new SimulationDelta(lastSentFrame, frame));
+        }
+
+        lastSentFrame = frame;
+    }
+
+}
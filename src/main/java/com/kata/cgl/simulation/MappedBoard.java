@@ -0,0 +1,54 @@
+package com.kata.cgl.simulation;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.kata.cgl.engine.MappedBandGenerationEngine;
+import com.kata.cgl.engine.SwarGenerationEngine;
+import com.kata.cgl.exception.MappedBoardNotConfiguredException;
+import com.kata.cgl.grid.MappedGrid;
+
+@Component
+public class MappedBoard {
+
+    private final MappedGrid mappedGrid;
+    private final MappedBandGenerationEngine generationEngine = new MappedBandGenerationEngine(new SwarGenerationEngine());
+
+    @Autowired
+    public MappedBoard(@Value("${cgl.mapped-grid.path:}") String path) throws IOException {
+        this.mappedGrid = path == null || path.isEmpty() ? null : MappedGrid.open(Paths.get(path));
+    }
+
+    public synchronized MappedBoardSummary step(long generations) throws MappedBoardNotConfiguredException {
+        generationEngine.step(requireMappedGrid(), generations);
+        return summarize();
+    }
+
+    public synchronized MappedBoardSummary summarize() throws MappedBoardNotConfiguredException {
+        MappedGrid openGrid = requireMappedGrid();
+        return new MappedBoardSummary(openGrid.getPath().toString(), openGrid.getGeneration(), openGrid.getRowCount(), openGrid.getColumnCount());
+    }
+
+    private MappedGrid requireMappedGrid() throws MappedBoardNotConfiguredException {
+        if (mappedGrid == null) {
+            throw new MappedBoardNotConfiguredException();
+        }
+
+        return mappedGrid;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (mappedGrid != null) {
+            mappedGrid.force();
+            mappedGrid.close();
+        }
+    }
+
+}
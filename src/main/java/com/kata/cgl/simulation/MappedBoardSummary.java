@@ -0,0 +1,33 @@
+package com.kata.cgl.simulation;
+
+public class MappedBoardSummary {
+
+    private final String path;
+    private final long generation;
+    private final int rowCount;
+    private final int columnCount;
+
+    public MappedBoardSummary(String path, long generation, int rowCount, int columnCount) {
+        this.path = path;
+        this.generation = generation;
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.kata.cgl.simulation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.kata.cgl.engine.BoardState;
+import com.kata.cgl.engine.CycleDetectingGenerationEngine;
+import com.kata.cgl.engine.GenerationEngine;
+import com.kata.cgl.engine.GenerationRule;
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.engine.Topology;
+import com.kata.cgl.exception.GenerationNotRecordedException;
+import com.kata.cgl.grid.PackedGrid;
+import com.kata.cgl.history.GenerationLog;
+
+public class Simulation {
+
+    private static final long OBJECT_OVERHEAD_BYTES = 256;
+
+    private final String id;
+    private final GenerationEngine generationEngine;
+    private final GenerationRule generationRule;
+    private final Topology topology;
+    private PackedGrid currentGeneration;
+    private long generation;
+    private volatile long lastAccessMillis;
+    private volatile GenerationLog history;
+    private boolean closed;
+
+    public Simulation(String id, GenerationEngine generationEngine, PackedGrid initialGeneration, long createdMillis) {
+        this(id, generationEngine, LifeRule.CONWAY, Topology.BOUNDED, initialGeneration, createdMillis);
+    }
+
+    public Simulation(String id, GenerationEngine generationEngine, GenerationRule generationRule, Topology topology, PackedGrid initialGeneration,
+                      long createdMillis) {
+        this.id = id;
+        this.generationEngine = generationEngine;
+        this.generationRule = generationRule;
+        this.topology = topology;
+        this.currentGeneration = initialGeneration;
+        this.lastAccessMillis = createdMillis;
+    }
+
+    public synchronized PackedGrid step(long generations) {
+        currentGeneration = generationEngine.step(currentGeneration, generations);
+        generation += generations;
+
+        if (history != null) {
+            history.append(generation, currentGeneration);
+        }
+
+        return currentGeneration;
+    }
+
+    public synchronized void recordHistory(GenerationLog history) {
+        if (closed) {
+            history.delete();
+            return;
+        }
+
+        this.history = history;
+        history.append(generation, currentGeneration);
+    }
+
+    public synchronized SimulationFrame findHistoricalFrame(long historicalGeneration) throws GenerationNotRecordedException, IOException {
+        if (history == null || historicalGeneration < 0 || historicalGeneration > generation) {
+            throw new GenerationNotRecordedException(historicalGeneration);
+        }
+
+        return new SimulationFrame(id, historicalGeneration, history.seek(historicalGeneration, historyEngine()).getPackedGrid());
+    }
+
+    public synchronized void close() {
+        closed = true;
+
+        if (history != null) {
+            history.delete();
+            history = null;
+        }
+    }
+
+    public synchronized SimulationFrame captureFrame() {
+        return buildFrame(generation, currentGeneration);
+    }
+
+    private SimulationFrame buildFrame(long frameGeneration, PackedGrid packedGrid) {
+        if (generationEngine instanceof CycleDetectingGenerationEngine) {
+            CycleDetectingGenerationEngine cycleDetectingEngine = (CycleDetectingGenerationEngine) generationEngine;
+            BoardState boardState = cycleDetectingEngine.describe(packedGrid);
+            int period = boardState == BoardState.ACTIVE ? 0 : cycleDetectingEngine.getPeriod();
+            return new SimulationFrame(id, frameGeneration, packedGrid, boardState, period);
+        }
+
+        return new SimulationFrame(id, frameGeneration, packedGrid);
+    }
+
+    public synchronized SimulationFrame computeNextFrame(SimulationFrame frame) {
+        return buildFrame(frame.getGeneration() + 1, generationEngine.step(frame.getPackedGrid(), 1));
+    }
+
+    public synchronized boolean commitFrame(SimulationFrame frame) {
+        if (frame.getGeneration() <= generation) {
+            return false;
+        }
+
+        currentGeneration = frame.getPackedGrid();
+        generation = frame.getGeneration();
+
+        if (history != null) {
+            history.append(generation, currentGeneration);
+        }
+
+        return true;
+    }
+
+    public synchronized SimulationFrame stepAndCaptureFrame(long generations) {
+        step(generations);
+        return captureFrame();
+    }
+
+    public synchronized SimulationDelta stepAndCaptureDelta(long generations) {
+        SimulationFrame previousFrame = captureFrame();
+        return new SimulationDelta(previousFrame, stepAndCaptureFrame(generations));
+    }
+
+    public synchronized List<SimulationFrame> stepAndCaptureFrames(long generations, long emitEvery) {
+        List<PackedGrid> packedFrames = generationEngine.stepFrames(currentGeneration, generations, emitEvery);
+        List<SimulationFrame> frames = new ArrayList<>(packedFrames.size());
+
+        for (int i=0; i < packedFrames.size(); i++) {
+            frames.add(buildFrame(generation + Math.min((i + 1) * emitEvery, generations), packedFrames.get(i)));
+
+            if (history != null) {
+                history.append(frames.get(i).getGeneration(), packedFrames.get(i));
+            }
+        }
+
+        currentGeneration = packedFrames.get(packedFrames.size() - 1);
+        generation += generations;
+        return frames;
+    }
+
+    private GenerationEngine historyEngine() {
+        if (generationEngine instanceof CycleDetectingGenerationEngine) {
+            return ((CycleDetectingGenerationEngine) generationEngine).getDelegate();
+        }
+
+        return generationEngine;
+    }
+
+    public long estimateMemoryBytes() {
+        GenerationLog recordingHistory = history;
+        long memoryBytes = OBJECT_OVERHEAD_BYTES + (long) currentGeneration.getWords().length * Long.BYTES + generationEngine.estimateRetainedBytes();
+        return recordingHistory == null ? memoryBytes : memoryBytes + recordingHistory.estimateQueuedBytes();
+    }
+
+    void touch(long accessMillis) {
+        this.lastAccessMillis = accessMillis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public GenerationEngine getGenerationEngine() {
+        return generationEngine;
+    }
+
+    public GenerationRule getGenerationRule() {
+        return generationRule;
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    public synchronized PackedGrid getCurrentGeneration() {
+        return currentGeneration;
+    }
+
+    public synchronized boolean isRecordingHistory() {
+        return history != null;
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+}
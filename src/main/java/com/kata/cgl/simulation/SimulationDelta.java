@@ -0,0 +1,31 @@
+package com.kata.cgl.simulation;
+
+import com.kata.cgl.engine.BoardState;
+import com.kata.cgl.ui.GridDelta;
+
+public class SimulationDelta extends GridDelta {
+
+    private final String simulationId;
+    private final BoardState boardState;
+    private final int period;
+
+    public SimulationDelta(SimulationFrame previousFrame, SimulationFrame nextFrame) {
+        super(previousFrame.getGeneration(), previousFrame.getPackedGrid(), nextFrame.getGeneration(), nextFrame.getPackedGrid());
+        this.simulationId = nextFrame.getSimulationId();
+        this.boardState = nextFrame.getBoardState();
+        this.period = nextFrame.getPeriod();
+    }
+
+    public String getSimulationId() {
+        return simulationId;
+    }
+
+    public BoardState getBoardState() {
+        return boardState;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.kata.cgl.simulation;
+
+import com.kata.cgl.engine.BoardState;
+import com.kata.cgl.grid.PackedGrid;
+import com.kata.cgl.ui.GridFrame;
+
+public class SimulationFrame extends GridFrame {
+
+    private final String simulationId;
+    private final BoardState boardState;
+    private final int period;
+
+    public SimulationFrame(String simulationId, long generation, PackedGrid packedGrid) {
+        this(simulationId, generation, packedGrid, BoardState.ACTIVE, 0);
+    }
+
+    public SimulationFrame(String simulationId, long generation, PackedGrid packedGrid, BoardState boardState, int period) {
+        super(generation, packedGrid);
+        this.simulationId = simulationId;
+        this.boardState = boardState;
+        this.period = period;
+    }
+
+    public String getSimulationId() {
+        return simulationId;
+    }
+
+    public BoardState getBoardState() {
+        return boardState;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+}
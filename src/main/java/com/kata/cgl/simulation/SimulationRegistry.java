@@ -0,0 +1,206 @@
+package com.kata.cgl.simulation;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.kata.cgl.engine.CycleDetectingGenerationEngine;
+import com.kata.cgl.engine.GenerationEngineType;
+import com.kata.cgl.engine.GenerationMetrics;
+import com.kata.cgl.engine.GenerationRule;
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.engine.Topology;
+import com.kata.cgl.exception.InvalidRuleException;
+import com.kata.cgl.exception.SimulationNotFoundException;
+import com.kata.cgl.exception.UnknownGenerationEngineException;
+import com.kata.cgl.exception.UnknownTopologyException;
+import com.kata.cgl.grid.PackedGrid;
+
+@Component
+public class SimulationRegistry {
+
+    private final Clock clock;
+    private final long timeToLiveMillis;
+    private final long maxMemoryBytes;
+    private final GenerationEngineType defaultGenerationEngineType;
+    private final int maxCyclePeriod;
+    private final GenerationMetrics generationMetrics;
+
+    private final LinkedHashMap<String, Simulation> simulations = new LinkedHashMap<>(16, 0.75f, true);
+    private long evictionCount;
+
+    @Autowired
+    public SimulationRegistry(@Value("${cgl.simulation.ttl-seconds:600}") long timeToLiveSeconds,
+                              @Value("${cgl.simulation.max-memory-bytes:268435456}") long maxMemoryBytes,
+                              @Value("${cgl.simulation.engine:swar}") String defaultEngineName,
+                              @Value("${cgl.simulation.max-cycle-period:16}") int maxCyclePeriod,
+                              GenerationMetrics generationMetrics) throws UnknownGenerationEngineException {
+        this(Clock.systemUTC(), timeToLiveSeconds * 1000, maxMemoryBytes, resolveEngineType(defaultEngineName), maxCyclePeriod, generationMetrics);
+    }
+
+    SimulationRegistry(Clock clock, long timeToLiveMillis, long maxMemoryBytes, GenerationEngineType defaultGenerationEngineType) {
+        this(clock, timeToLiveMillis, maxMemoryBytes, defaultGenerationEngineType, CycleDetectingGenerationEngine.DEFAULT_MAX_PERIOD, GenerationMetrics.disabled());
+    }
+
+    SimulationRegistry(Clock clock, long timeToLiveMillis, long maxMemoryBytes, GenerationEngineType defaultGenerationEngineType, int maxCyclePeriod,
+                       GenerationMetrics generationMetrics) {
+        this.clock = clock;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.defaultGenerationEngineType = defaultGenerationEngineType;
+        this.maxCyclePeriod = maxCyclePeriod;
+        this.generationMetrics = generationMetrics;
+    }
+
+    public Simulation create(PackedGrid initialGeneration) {
+        return create(initialGeneration, defaultGenerationEngineType);
+    }
+
+    public Simulation create(PackedGrid initialGeneration, String engineName) throws UnknownGenerationEngineException {
+        if (engineName == null || engineName.isEmpty()) {
+            return create(initialGeneration);
+        }
+
+        return create(initialGeneration, resolveEngineType(engineName));
+    }
+
+    public Simulation create(PackedGrid initialGeneration, String engineName, String rulestring, String topologyName)
+            throws UnknownGenerationEngineException, InvalidRuleException, UnknownTopologyException {
+        return create(initialGeneration, engineName, GenerationRule.parse(rulestring), Topology.parse(topologyName));
+    }
+
+    public Simulation create(PackedGrid initialGeneration, String engineName, GenerationRule generationRule, Topology topology)
+            throws UnknownGenerationEngineException {
+        GenerationEngineType generationEngineType = engineName == null || engineName.isEmpty() ? defaultGenerationEngineType : resolveEngineType(engineName);
+        return create(initialGeneration, generationEngineType, generationRule, topology);
+    }
+
+    public Simulation create(PackedGrid initialGeneration, GenerationEngineType generationEngineType) {
+        return create(initialGeneration, generationEngineType, LifeRule.CONWAY);
+    }
+
+    public Simulation create(PackedGrid initialGeneration, GenerationEngineType generationEngineType, GenerationRule generationRule) {
+        return create(initialGeneration, generationEngineType, generationRule, Topology.BOUNDED);
+    }
+
+    public synchronized Simulation create(PackedGrid initialGeneration, GenerationEngineType generationEngineType, GenerationRule generationRule, Topology topology) {
+        long now = clock.millis();
+        evictExpired(now);
+
+        Simulation simulation = new Simulation(UUID.randomUUID().toString(),
+                new CycleDetectingGenerationEngine(generationMetrics.instrument(generationRule.createEngine(generationEngineType, topology)), maxCyclePeriod),
+                generationRule, topology, initialGeneration, now);
+        simulations.put(simulation.getId(), simulation);
+        evictLeastRecentlyUsed(simulation);
+
+        return simulation;
+    }
+
+    public synchronized Simulation find(String simulationId) throws SimulationNotFoundException {
+        long now = clock.millis();
+        evictExpired(now);
+
+        Simulation simulation = simulations.get(simulationId);
+
+        if (simulation == null) {
+            throw new SimulationNotFoundException(simulationId);
+        }
+
+        simulation.touch(now);
+        evictLeastRecentlyUsed(simulation);
+        return simulation;
+    }
+
+    public synchronized boolean touch(Simulation simulation) {
+        long now = clock.millis();
+
+        if (simulations.get(simulation.getId()) != simulation) {
+            return false;
+        }
+
+        simulation.touch(now);
+        evictExpired(now);
+        return true;
+    }
+
+    public synchronized void remove(String simulationId) throws SimulationNotFoundException {
+        Simulation simulation = simulations.remove(simulationId);
+
+        if (simulation == null) {
+            throw new SimulationNotFoundException(simulationId);
+        }
+
+        simulation.close();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Simulation>> leastRecentlyUsedFirst = simulations.entrySet().iterator();
+
+        while (leastRecentlyUsedFirst.hasNext()) {
+            Simulation simulation = leastRecentlyUsedFirst.next().getValue();
+
+            if (now - simulation.getLastAccessMillis() < timeToLiveMillis) {
+                break;
+            }
+
+            leastRecentlyUsedFirst.remove();
+            evictionCount++;
+            simulation.close();
+        }
+    }
+
+    private void evictLeastRecentlyUsed(Simulation retainedSimulation) {
+        long memoryBytes = estimateMemoryBytes();
+        Iterator<Map.Entry<String, Simulation>> leastRecentlyUsedFirst = simulations.entrySet().iterator();
+
+        while (memoryBytes > maxMemoryBytes && leastRecentlyUsedFirst.hasNext()) {
+            Simulation simulation = leastRecentlyUsedFirst.next().getValue();
+
+            if (simulation != retainedSimulation) {
+                leastRecentlyUsedFirst.remove();
+                memoryBytes -= simulation.estimateMemoryBytes();
+                evictionCount++;
+                simulation.close();
+            }
+        }
+    }
+
+    static GenerationEngineType resolveEngineType(String engineName) throws UnknownGenerationEngineException {
+        GenerationEngineType generationEngineType = GenerationEngineType.fromString(engineName);
+
+        if (generationEngineType == null) {
+            throw new UnknownGenerationEngineException(engineName);
+        }
+
+        return generationEngineType;
+    }
+
+    public synchronized int getSimulationCount() {
+        return simulations.size();
+    }
+
+    private long estimateMemoryBytes() {
+        long memoryBytes = 0;
+
+        for (Simulation simulation : simulations.values()) {
+            memoryBytes += simulation.estimateMemoryBytes();
+        }
+
+        return memoryBytes;
+    }
+
+    public synchronized long getMemoryBytes() {
+        return estimateMemoryBytes();
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+}
@@ -0,0 +1,229 @@
+package com.kata.cgl.simulation;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+public class SimulationStream {
+
+    public interface FrameSink {
+
+        void send(SimulationFrame frame) throws IOException;
+
+    }
+
+    public interface TerminationListener {
+
+        void terminated(SimulationStream stream, Exception failure);
+
+    }
+
+    private final Simulation simulation;
+    private final FrameSink frameSink;
+    private final BlockingQueue<SimulationFrame> framesAhead;
+    private final ScheduledExecutorService tickScheduler;
+    private final ExecutorService frameWorkers;
+    private final Predicate<Simulation> simulationTracker;
+    private final TerminationListener terminationListener;
+
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final AtomicBoolean computing = new AtomicBoolean();
+    private final AtomicInteger missedTicks = new AtomicInteger();
+    private final AtomicLong sentFrameCount = new AtomicLong();
+    private final AtomicLong droppedFrameCount = new AtomicLong();
+
+    private volatile boolean paused;
+    private volatile boolean closed;
+    private volatile int framesPerSecond;
+    private ScheduledFuture<?> tickSchedule;
+    private SimulationFrame lastComputedFrame;
+
+    public SimulationStream(Simulation simulation, FrameSink frameSink, int bufferedFrameCount, int framesPerSecond,
+                            ScheduledExecutorService tickScheduler, ExecutorService frameWorkers) {
+        this(simulation, frameSink, bufferedFrameCount, framesPerSecond, tickScheduler, frameWorkers, trackedSimulation -> true, (stream, failure) -> { });
+    }
+
+    public SimulationStream(Simulation simulation, FrameSink frameSink, int bufferedFrameCount, int framesPerSecond,
+                            ScheduledExecutorService tickScheduler, ExecutorService frameWorkers,
+                            Predicate<Simulation> simulationTracker, TerminationListener terminationListener) {
+        this.simulation = simulation;
+        this.frameSink = frameSink;
+        this.framesAhead = new ArrayBlockingQueue<>(bufferedFrameCount);
+        this.framesPerSecond = framesPerSecond;
+        this.tickScheduler = tickScheduler;
+        this.frameWorkers = frameWorkers;
+        this.simulationTracker = simulationTracker;
+        this.terminationListener = terminationListener;
+    }
+
+    public synchronized void start() {
+        computeAhead();
+        scheduleTicks();
+    }
+
+    public synchronized void pause() {
+        paused = true;
+        cancelTicks();
+        discardFramesAhead();
+    }
+
+    public synchronized void resume() {
+        if (closed || !paused) {
+            return;
+        }
+
+        paused = false;
+        missedTicks.set(0);
+        computeAhead();
+        scheduleTicks();
+    }
+
+    public synchronized void changeFrameRate(int framesPerSecond) {
+        this.framesPerSecond = framesPerSecond;
+
+        if (!paused && !closed) {
+            cancelTicks();
+            scheduleTicks();
+        }
+    }
+
+    public synchronized void close() {
+        closed = true;
+        cancelTicks();
+        discardFramesAhead();
+    }
+
+    private void terminate(Exception failure) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            close();
+        }
+
+        terminationListener.terminated(this, failure);
+    }
+
+    private synchronized void discardFramesAhead() {
+        framesAhead.clear();
+        lastComputedFrame = null;
+    }
+
+    private void scheduleTicks() {
+        long tickPeriodMicros = TimeUnit.SECONDS.toMicros(1) / framesPerSecond;
+        tickSchedule = tickScheduler.scheduleAtFixedRate(this::tick, tickPeriodMicros, tickPeriodMicros, TimeUnit.MICROSECONDS);
+    }
+
+    private void cancelTicks() {
+        if (tickSchedule != null) {
+            tickSchedule.cancel(false);
+            tickSchedule = null;
+        }
+    }
+
+    private void tick() {
+        if (!sending.compareAndSet(false, true)) {
+            missedTicks.incrementAndGet();
+            return;
+        }
+
+        frameWorkers.execute(this::sendNextFrame);
+    }
+
+    private void sendNextFrame() {
+        try {
+            SimulationFrame frame = framesAhead.poll();
+
+            for (int staleFrames=missedTicks.getAndSet(0); staleFrames > 0 && !framesAhead.isEmpty(); staleFrames--) {
+                frame = framesAhead.poll();
+                droppedFrameCount.incrementAndGet();
+            }
+
+            if (frame != null && !closed) {
+                if (!simulationTracker.test(simulation)) {
+                    terminate(null);
+                } else if (simulation.commitFrame(frame)) {
+                    frameSink.send(frame);
+                    sentFrameCount.incrementAndGet();
+                } else {
+                    discardFramesAhead();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            terminate(e);
+        } finally {
+            sending.set(false);
+            computeAhead();
+        }
+    }
+
+    private void computeAhead() {
+        if (paused || closed || !computing.compareAndSet(false, true)) {
+            return;
+        }
+
+        frameWorkers.execute(() -> {
+            try {
+                while (!paused && !closed && framesAhead.remainingCapacity() > 0) {
+                    if (!simulationTracker.test(simulation)) {
+                        terminate(null);
+                        return;
+                    }
+
+                    computeNextFrame();
+                }
+            } catch (RuntimeException e) {
+                terminate(e);
+            } finally {
+                computing.set(false);
+            }
+        });
+    }
+
+    private synchronized void computeNextFrame() {
+        if (paused || closed) {
+            return;
+        }
+
+        lastComputedFrame = simulation.computeNextFrame(lastComputedFrame != null ? lastComputedFrame : simulation.captureFrame());
+        framesAhead.offer(lastComputedFrame);
+    }
+
+    public Simulation getSimulation() {
+        return simulation;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getFramesPerSecond() {
+        return framesPerSecond;
+    }
+
+    public int getBufferedFrameCount() {
+        return framesAhead.size();
+    }
+
+    public long getSentFrameCount() {
+        return sentFrameCount.get();
+    }
+
+    public long getDroppedFrameCount() {
+        return droppedFrameCount.get();
+    }
+
+}
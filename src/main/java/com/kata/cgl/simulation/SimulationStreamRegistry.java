@@ -0,0 +1,120 @@
+package com.kata.cgl.simulation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.kata.cgl.exception.InvalidFrameRateException;
+import com.kata.cgl.exception.SimulationStreamNotFoundException;
+import com.kata.cgl.simulation.SimulationStream.FrameSink;
+import com.kata.cgl.simulation.SimulationStream.TerminationListener;
+
+@Component
+public class SimulationStreamRegistry {
+
+    private final int bufferedFrameCount;
+    private final int maxFramesPerSecond;
+    private final ScheduledExecutorService tickScheduler;
+    private final ExecutorService frameWorkers;
+    private final SimulationRegistry simulationRegistry;
+
+    private final Map<String, SimulationStream> streams = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SimulationStreamRegistry(@Value("${cgl.stream.buffered-frames:16}") int bufferedFrameCount,
+                                    @Value("${cgl.stream.max-frames-per-second:60}") int maxFramesPerSecond,
+                                    @Value("${cgl.stream.scheduler-threads:1}") int schedulerThreadCount,
+                                    SimulationRegistry simulationRegistry) {
+        this.bufferedFrameCount = bufferedFrameCount;
+        this.maxFramesPerSecond = maxFramesPerSecond;
+        this.tickScheduler = Executors.newScheduledThreadPool(schedulerThreadCount, daemonThreads("simulation-stream-tick-"));
+        this.frameWorkers = Executors.newCachedThreadPool(daemonThreads("simulation-stream-frame-"));
+        this.simulationRegistry = simulationRegistry;
+    }
+
+    public SimulationStream open(Simulation simulation, FrameSink frameSink, int framesPerSecond, TerminationListener terminationListener)
+            throws InvalidFrameRateException {
+        validate(framesPerSecond);
+
+        SimulationStream stream = new SimulationStream(simulation, frameSink, bufferedFrameCount, framesPerSecond, tickScheduler, frameWorkers,
+                simulationRegistry::touch, (terminatedStream, failure) -> {
+                    close(terminatedStream);
+                    terminationListener.terminated(terminatedStream, failure);
+                });
+        SimulationStream replacedStream = streams.put(simulation.getId(), stream);
+
+        if (replacedStream != null) {
+            replacedStream.close();
+        }
+
+        stream.start();
+        return stream;
+    }
+
+    public SimulationStream find(String simulationId) throws SimulationStreamNotFoundException {
+        SimulationStream stream = streams.get(simulationId);
+
+        if (stream == null || stream.isClosed()) {
+            throw new SimulationStreamNotFoundException(simulationId);
+        }
+
+        return stream;
+    }
+
+    public void changeFrameRate(String simulationId, int framesPerSecond) throws SimulationStreamNotFoundException, InvalidFrameRateException {
+        validate(framesPerSecond);
+        find(simulationId).changeFrameRate(framesPerSecond);
+    }
+
+    public void close(SimulationStream stream) {
+        stream.close();
+        streams.remove(stream.getSimulation().getId(), stream);
+    }
+
+    public void close(String simulationId) {
+        SimulationStream stream = streams.remove(simulationId);
+
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void validate(int framesPerSecond) throws InvalidFrameRateException {
+        if (framesPerSecond < 1 || framesPerSecond > maxFramesPerSecond) {
+            throw new InvalidFrameRateException(maxFramesPerSecond);
+        }
+    }
+
+    public int getStreamCount() {
+        return streams.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streams.values().forEach(SimulationStream::close);
+        streams.clear();
+        tickScheduler.shutdownNow();
+        frameWorkers.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads(String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
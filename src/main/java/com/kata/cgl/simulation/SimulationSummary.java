@@ -0,0 +1,39 @@
+package com.kata.cgl.simulation;
+
+public class SimulationSummary {
+
+    private final String simulationId;
+    private final long generation;
+    private final int rowCount;
+    private final int columnCount;
+    private final long liveCellCount;
+
+    public SimulationSummary(SimulationFrame frame) {
+        this.simulationId = frame.getSimulationId();
+        this.generation = frame.getGeneration();
+        this.rowCount = frame.getPackedGrid().getRowCount();
+        this.columnCount = frame.getPackedGrid().getColumnCount();
+        this.liveCellCount = frame.getPackedGrid().countLiveCells();
+    }
+
+    public String getSimulationId() {
+        return simulationId;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    public long getLiveCellCount() {
+        return liveCellCount;
+    }
+
+}
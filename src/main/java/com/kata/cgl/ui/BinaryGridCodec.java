@@ -0,0 +1,210 @@
+package com.kata.cgl.ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public final class BinaryGridCodec {
+
+	public static final int MAGIC = 0x43474C31;
+	public static final int HEADER_BYTES = 21;
+	public static final byte BIT_PACKED_ENCODING = 0;
+	public static final byte RUN_LENGTH_ENCODING = 1;
+
+	private BinaryGridCodec() {
+	}
+
+	public static void encode(PackedGrid packedGrid, long generation, OutputStream outputStream) throws IOException {
+		ByteArrayOutputStream runs = encodeRuns(packedGrid, bitPackedByteCount(packedGrid));
+		DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+
+		dataOutputStream.writeInt(MAGIC);
+		dataOutputStream.writeByte(runs == null ? BIT_PACKED_ENCODING : RUN_LENGTH_ENCODING);
+		dataOutputStream.writeInt(packedGrid.getRowCount());
+		dataOutputStream.writeInt(packedGrid.getColumnCount());
+		dataOutputStream.writeLong(generation);
+
+		if (runs == null) {
+			writeBitPackedRows(packedGrid, dataOutputStream);
+		} else {
+			runs.writeTo(dataOutputStream);
+		}
+
+		dataOutputStream.flush();
+	}
+
+	public static GridFrame decode(InputStream inputStream) throws IOException {
+		return decode(inputStream, Long.MAX_VALUE);
+	}
+
+	public static GridFrame decode(InputStream inputStream, long maxCellCount) throws IOException {
+		DataInputStream dataInputStream = new DataInputStream(inputStream);
+
+		if (dataInputStream.readInt() != MAGIC) {
+			throw new IOException("Not a binary grid payload");
+		}
+
+		byte encoding = dataInputStream.readByte();
+		int rowCount = dataInputStream.readInt();
+		int columnCount = dataInputStream.readInt();
+		long generation = dataInputStream.readLong();
+
+		if (rowCount < 0 || columnCount < 0 || (long) rowCount * columnCount > Integer.MAX_VALUE) {
+			throw new IOException("Invalid grid dimensions " + rowCount + "x" + columnCount);
+		}
+
+		if (PackedGrid.allocatedCellCount(rowCount, columnCount) > maxCellCount) {
+			throw new IOException("A " + columnCount + "x" + rowCount + " grid exceeds the maximum of " + maxCellCount + " cells");
+		}
+
+		PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+		if (encoding == BIT_PACKED_ENCODING) {
+			readBitPackedRows(packedGrid, dataInputStream);
+		} else if (encoding == RUN_LENGTH_ENCODING) {
+			readRuns(packedGrid, dataInputStream);
+		} else {
+			throw new IOException("Unknown grid encoding " + encoding);
+		}
+
+		return new GridFrame(generation, packedGrid);
+	}
+
+	static long bitPackedByteCount(PackedGrid packedGrid) {
+		return (long) packedGrid.getRowCount() * ((packedGrid.getColumnCount() + 7) / 8);
+	}
+
+	private static void writeBitPackedRows(PackedGrid packedGrid, DataOutputStream dataOutputStream) throws IOException {
+		int bytesPerRow = (packedGrid.getColumnCount() + 7) / 8;
+		long[] words = packedGrid.getWords();
+
+		for (int y=0; y < packedGrid.getRowCount(); y++) {
+			int rowOffset = packedGrid.rowOffset(y);
+
+			for (int b=0; b < bytesPerRow; b++) {
+				dataOutputStream.writeByte((int) (words[rowOffset + (b >>> 3)] >>> ((b & 7) << 3)));
+			}
+		}
+	}
+
+	private static void readBitPackedRows(PackedGrid packedGrid, DataInputStream dataInputStream) throws IOException {
+		int bytesPerRow = (packedGrid.getColumnCount() + 7) / 8;
+		long[] words = packedGrid.getWords();
+
+		for (int y=0; y < packedGrid.getRowCount(); y++) {
+			int rowOffset = packedGrid.rowOffset(y);
+
+			for (int b=0; b < bytesPerRow; b++) {
+				words[rowOffset + (b >>> 3)] |= (long) dataInputStream.readUnsignedByte() << ((b & 7) << 3);
+			}
+
+			if (packedGrid.getWordsPerRow() > 0) {
+				words[rowOffset + packedGrid.getWordsPerRow() - 1] &= packedGrid.getLastWordMask();
+			}
+		}
+	}
+
+	private static ByteArrayOutputStream encodeRuns(PackedGrid packedGrid, long byteLimit) throws IOException {
+		ByteArrayOutputStream runBytes = new ByteArrayOutputStream();
+		DataOutputStream runOutput = new DataOutputStream(runBytes);
+		long[] words = packedGrid.getWords();
+		long runCount = 0;
+		long runStart = -1;
+		long runEnd = -1;
+		long previousRunEnd = 0;
+
+		for (int y=0; y < packedGrid.getRowCount(); y++) {
+			int rowOffset = packedGrid.rowOffset(y);
+			long rowStart = (long) y * packedGrid.getColumnCount();
+
+			for (int w=0; w < packedGrid.getWordsPerRow(); w++) {
+				for (long word=words[rowOffset + w]; word != 0; ) {
+					int start = Long.numberOfTrailingZeros(word);
+					int length = Long.numberOfTrailingZeros(~(word >>> start));
+					long cellIndex = rowStart + w * PackedGrid.CELLS_PER_WORD + start;
+
+					if (cellIndex == runEnd) {
+						runEnd += length;
+					} else {
+						if (runStart >= 0) {
+							writeVarLong(runOutput, runStart - previousRunEnd);
+							writeVarLong(runOutput, runEnd - runStart);
+							previousRunEnd = runEnd;
+							runCount++;
+
+							if (runBytes.size() >= byteLimit) {
+								return null;
+							}
+						}
+
+						runStart = cellIndex;
+						runEnd = cellIndex + length;
+					}
+
+					word = start + length == PackedGrid.CELLS_PER_WORD ? 0 : word & (-1L << (start + length));
+				}
+			}
+		}
+
+		if (runStart >= 0) {
+			writeVarLong(runOutput, runStart - previousRunEnd);
+			writeVarLong(runOutput, runEnd - runStart);
+			runCount++;
+		}
+
+		ByteArrayOutputStream payload = new ByteArrayOutputStream(runBytes.size() + 10);
+		writeVarLong(new DataOutputStream(payload), runCount);
+		runBytes.writeTo(payload);
+
+		return payload.size() < byteLimit ? payload : null;
+	}
+
+	private static void readRuns(PackedGrid packedGrid, DataInputStream dataInputStream) throws IOException {
+		long cellCount = (long) packedGrid.getRowCount() * packedGrid.getColumnCount();
+		long runCount = readVarLong(dataInputStream);
+		long cellIndex = 0;
+
+		for (long run=0; run < runCount; run++) {
+			cellIndex += readVarLong(dataInputStream);
+			long runEnd = cellIndex + readVarLong(dataInputStream);
+
+			if (runEnd > cellCount) {
+				throw new IOException("Run exceeds grid bounds");
+			}
+
+			for (; cellIndex < runEnd; cellIndex++) {
+				packedGrid.setAlive((int) (cellIndex % packedGrid.getColumnCount()), (int) (cellIndex / packedGrid.getColumnCount()), true);
+			}
+		}
+	}
+
+	public static void writeVarLong(DataOutputStream dataOutputStream, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			dataOutputStream.writeByte((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+
+		dataOutputStream.writeByte((int) value);
+	}
+
+	public static long readVarLong(DataInputStream dataInputStream) throws IOException {
+		long value = 0;
+
+		for (int shift=0; shift < Long.SIZE; shift += 7) {
+			int nextByte = dataInputStream.readUnsignedByte();
+			value |= (long) (nextByte & 0x7F) << shift;
+
+			if ((nextByte & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IOException("Malformed variable length value");
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.kata.cgl.ui;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import com.kata.cgl.grid.Grid;
+
+@Component
+public class BinaryGridHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+	public static final String GRID_MEDIA_TYPE_VALUE = "application/x-cgl-grid";
+	public static final MediaType GRID_MEDIA_TYPE = MediaType.valueOf(GRID_MEDIA_TYPE_VALUE);
+
+	private final long maxCellCount;
+
+	@Autowired
+	public BinaryGridHttpMessageConverter(@Value("${cgl.pattern.max-cells:268435456}") long maxCellCount) {
+		super(GRID_MEDIA_TYPE);
+		this.maxCellCount = maxCellCount;
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return GridForm.class.isAssignableFrom(clazz) || GridFrame.class.isAssignableFrom(clazz) || Grid.class.isAssignableFrom(clazz);
+	}
+
+	@Override
+	public boolean canRead(Class<?> clazz, MediaType mediaType) {
+		return GridForm.class.isAssignableFrom(clazz) && canRead(mediaType);
+	}
+
+	@Override
+	protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+		try {
+			GridForm gridForm = new GridForm();
+			gridForm.setPackedGrid(BinaryGridCodec.decode(inputMessage.getBody(), maxCellCount).getPackedGrid());
+			return gridForm;
+		} catch (IOException | RuntimeException e) {
+			throw new HttpMessageNotReadableException("Could not read binary grid: " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+		if (body instanceof GridFrame) {
+			GridFrame gridFrame = (GridFrame) body;
+			BinaryGridCodec.encode(gridFrame.getPackedGrid(), gridFrame.getGeneration(), outputMessage.getBody());
+		} else if (body instanceof Grid) {
+			BinaryGridCodec.encode(((Grid) body).toPackedGrid(), 0, outputMessage.getBody());
+		} else {
+			BinaryGridCodec.encode(((GridForm) body).toPackedGrid(), 0, outputMessage.getBody());
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+package com.kata.cgl.ui;
+
+import com.kata.cgl.grid.PackedGrid;
+
+public class GridDelta {
+
+	private final long fromGeneration;
+	private final long generation;
+	private final int rowCount;
+	private final int columnCount;
+	private final long[] births;
+	private final long[] deaths;
+	private final int checksum;
+
+	public GridDelta(long fromGeneration, PackedGrid previousGeneration, long generation, PackedGrid nextGeneration) {
+		if (!previousGeneration.hasSameDimensions(nextGeneration)) {
+			throw new IllegalArgumentException("Generations must have the same dimensions");
+		}
+
+		this.fromGeneration = fromGeneration;
+		this.generation = generation;
+		this.rowCount = nextGeneration.getRowCount();
+		this.columnCount = nextGeneration.getColumnCount();
+		this.checksum = nextGeneration.checksum();
+
+		long[] previousWords = previousGeneration.getWords();
+		long[] nextWords = nextGeneration.getWords();
+		int birthCount = 0;
+		int deathCount = 0;
+
+		for (int i=0; i < nextWords.length; i++) {
+			long changed = previousWords[i] ^ nextWords[i];
+			birthCount += Long.bitCount(changed & nextWords[i]);
+			deathCount += Long.bitCount(changed & previousWords[i]);
+		}
+
+		this.births = new long[birthCount];
+		this.deaths = new long[deathCount];
+		int birthIndex = 0;
+		int deathIndex = 0;
+
+		for (int y=0; y < rowCount; y++) {
+			int rowOffset = nextGeneration.rowOffset(y);
+
+			for (int w=0; w < nextGeneration.getWordsPerRow(); w++) {
+				long nextWord = nextWords[rowOffset + w];
+
+				for (long changed=previousWords[rowOffset + w] ^ nextWord; changed != 0; changed &= changed - 1) {
+					int bit = Long.numberOfTrailingZeros(changed);
+					long cellIndex = (long) y * columnCount + w * PackedGrid.CELLS_PER_WORD + bit;
+
+					if ((nextWord >>> bit & 1L) != 0) {
+						births[birthIndex++] = cellIndex;
+					} else {
+						deaths[deathIndex++] = cellIndex;
+					}
+				}
+			}
+		}
+	}
+
+	public GridDelta(long fromGeneration, long generation, int rowCount, int columnCount, long[] births, long[] deaths, int checksum) {
+		this.fromGeneration = fromGeneration;
+		this.generation = generation;
+		this.rowCount = rowCount;
+		this.columnCount = columnCount;
+		this.births = births;
+		this.deaths = deaths;
+		this.checksum = checksum;
+	}
+
+	public PackedGrid applyTo(PackedGrid previousGeneration) {
+		PackedGrid nextGeneration = previousGeneration.copy();
+		applyInPlace(nextGeneration);
+		return nextGeneration;
+	}
+
+	public void applyInPlace(PackedGrid generationGrid) {
+		if (generationGrid.getRowCount() != rowCount || generationGrid.getColumnCount() != columnCount) {
+			throw new IllegalArgumentException("Delta does not match grid dimensions");
+		}
+
+		for (long cellIndex : births) {
+			generationGrid.setAlive((int) (cellIndex % columnCount), (int) (cellIndex / columnCount), true);
+		}
+
+		for (long cellIndex : deaths) {
+			generationGrid.setAlive((int) (cellIndex % columnCount), (int) (cellIndex / columnCount), false);
+		}
+
+		if (generationGrid.checksum() != checksum) {
+			throw new IllegalStateException("Delta checksum does not match, the grid has drifted from generation " + fromGeneration);
+		}
+	}
+
+	public long getFromGeneration() {
+		return fromGeneration;
+	}
+
+	public long getGeneration() {
+		return generation;
+	}
+
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+	public long[] getBirths() {
+		return births;
+	}
+
+	public long[] getDeaths() {
+		return deaths;
+	}
+
+	public int getChecksum() {
+		return checksum;
+	}
+
+}
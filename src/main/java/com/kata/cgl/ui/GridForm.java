@@ -2,13 +2,16 @@ package com.kata.cgl.ui;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.kata.cgl.grid.GridCell;
+import com.kata.cgl.grid.PackedGrid;
 
 public class GridForm {
 	
 	Integer columnCount;
 	Integer rowCount;
 	List<GridCell> gridCellForms;
+	PackedGrid packedGrid;
 	
 	public Integer getColumnCount() {
 		return columnCount;
@@ -28,5 +31,21 @@ public class GridForm {
 	public void setGridCellForms(List<GridCell> gridCellForms) {
 		this.gridCellForms = gridCellForms;
 	}
+	@JsonIgnore
+	public PackedGrid getPackedGrid() {
+		return packedGrid;
+	}
+	@JsonIgnore
+	public void setPackedGrid(PackedGrid packedGrid) {
+		this.packedGrid = packedGrid;
+		this.rowCount = packedGrid.getRowCount();
+		this.columnCount = packedGrid.getColumnCount();
+	}
+	public PackedGrid toPackedGrid() {
+		if (packedGrid != null) {
+			return packedGrid;
+		}
+		return PackedGrid.fromGridCells(rowCount, columnCount, gridCellForms);
+	}
 	
 }
@@ -0,0 +1,177 @@
+package com.kata.cgl.ui;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jackson.JsonComponent;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.kata.cgl.grid.GridCellState;
+import com.kata.cgl.grid.PackedGrid;
+import com.kata.cgl.profiling.GridFormBindingEvent;
+
+@JsonComponent
+public class GridFormJsonDeserializer extends JsonDeserializer<GridForm> {
+
+	public static final long DEFAULT_MAX_CELL_COUNT = 268435456L;
+
+	private final long maxCellCount;
+
+	public GridFormJsonDeserializer() {
+		this(DEFAULT_MAX_CELL_COUNT);
+	}
+
+	@Autowired
+	public GridFormJsonDeserializer(@Value("${cgl.pattern.max-cells:268435456}") long maxCellCount) {
+		this.maxCellCount = maxCellCount;
+	}
+
+	@Override
+	public GridForm deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+		GridFormBindingEvent bindingEvent = new GridFormBindingEvent();
+		bindingEvent.begin();
+		LiveCells liveCells = new LiveCells(maxCellCount);
+		Integer rowCount = null;
+		Integer columnCount = null;
+
+		if (jsonParser.getCurrentToken() != JsonToken.START_OBJECT) {
+			throw deserializationContext.wrongTokenException(jsonParser, JsonToken.START_OBJECT, "Expected a grid form object");
+		}
+
+		for (JsonToken token=jsonParser.nextToken(); token == JsonToken.FIELD_NAME; token=jsonParser.nextToken()) {
+			String fieldName = jsonParser.getCurrentName();
+			JsonToken valueToken = jsonParser.nextToken();
+
+			if ("rowCount".equals(fieldName)) {
+				rowCount = readCount(jsonParser, valueToken);
+			} else if ("columnCount".equals(fieldName)) {
+				columnCount = readCount(jsonParser, valueToken);
+			} else if ("gridCellForms".equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+				liveCells.allocate(rowCount, columnCount, deserializationContext);
+
+				while (jsonParser.nextToken() == JsonToken.START_OBJECT) {
+					readGridCellForm(jsonParser, deserializationContext, liveCells);
+				}
+			} else {
+				jsonParser.skipChildren();
+			}
+		}
+
+		if (rowCount == null || columnCount == null || rowCount < 0 || columnCount < 0) {
+			throw deserializationContext.mappingException("Grid form requires non-negative rowCount and columnCount");
+		}
+
+		PackedGrid packedGrid = liveCells.toPackedGrid(rowCount, columnCount, deserializationContext);
+		GridForm gridForm = new GridForm();
+		gridForm.setPackedGrid(packedGrid);
+		bindingEvent.commit(packedGrid, null);
+		return gridForm;
+	}
+
+	private static void readGridCellForm(JsonParser jsonParser, DeserializationContext deserializationContext, LiveCells liveCells) throws IOException {
+		int xCoordinate = -1;
+		int yCoordinate = -1;
+		boolean alive = false;
+
+		for (JsonToken token=jsonParser.nextToken(); token == JsonToken.FIELD_NAME; token=jsonParser.nextToken()) {
+			String fieldName = jsonParser.getCurrentName();
+			JsonToken valueToken = jsonParser.nextToken();
+
+			if ("gridCoordinate".equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+				for (JsonToken coordinateToken=jsonParser.nextToken(); coordinateToken == JsonToken.FIELD_NAME; coordinateToken=jsonParser.nextToken()) {
+					String coordinateName = jsonParser.getCurrentName();
+					jsonParser.nextToken();
+
+					if ("xCoordinate".equals(coordinateName)) {
+						xCoordinate = jsonParser.getValueAsInt(-1);
+					} else if ("yCoordinate".equals(coordinateName)) {
+						yCoordinate = jsonParser.getValueAsInt(-1);
+					} else {
+						jsonParser.skipChildren();
+					}
+				}
+			} else if ("gridCellState".equals(fieldName)) {
+				alive = GridCellState.ALIVE == GridCellState.fromString(jsonParser.getValueAsString());
+			} else {
+				jsonParser.skipChildren();
+			}
+		}
+
+		if (alive) {
+			if (xCoordinate < 0 || yCoordinate < 0) {
+				throw deserializationContext.mappingException("Live grid cell form requires a grid coordinate");
+			}
+
+			liveCells.add(xCoordinate, yCoordinate);
+		}
+	}
+
+	private static Integer readCount(JsonParser jsonParser, JsonToken valueToken) throws IOException {
+		return valueToken == JsonToken.VALUE_NULL ? null : jsonParser.getValueAsInt(-1);
+	}
+
+	private static final class LiveCells {
+
+		private final long maxCellCount;
+		private PackedGrid packedGrid;
+		private int[] coordinates = new int[64];
+		private int size;
+
+		private LiveCells(long maxCellCount) {
+			this.maxCellCount = maxCellCount;
+		}
+
+		private void allocate(Integer rowCount, Integer columnCount, DeserializationContext deserializationContext) throws IOException {
+			if (packedGrid == null && rowCount != null && columnCount != null && rowCount >= 0 && columnCount >= 0) {
+				packedGrid = newPackedGrid(rowCount, columnCount, deserializationContext);
+			}
+		}
+
+		private PackedGrid newPackedGrid(int rowCount, int columnCount, DeserializationContext deserializationContext) throws IOException {
+			if (PackedGrid.allocatedCellCount(rowCount, columnCount) > maxCellCount) {
+				throw deserializationContext.mappingException("A " + columnCount + "x" + rowCount + " grid exceeds the maximum of " + maxCellCount + " cells");
+			}
+
+			return new PackedGrid(rowCount, columnCount);
+		}
+
+		private void add(int xCoordinate, int yCoordinate) {
+			if (packedGrid != null && xCoordinate < packedGrid.getColumnCount() && yCoordinate < packedGrid.getRowCount()) {
+				packedGrid.setAlive(xCoordinate, yCoordinate, true);
+				return;
+			}
+
+			if (size + 2 > coordinates.length) {
+				coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+			}
+
+			coordinates[size++] = xCoordinate;
+			coordinates[size++] = yCoordinate;
+		}
+
+		private PackedGrid toPackedGrid(int rowCount, int columnCount, DeserializationContext deserializationContext) throws IOException {
+			if (packedGrid == null) {
+				packedGrid = newPackedGrid(rowCount, columnCount, deserializationContext);
+			} else if (packedGrid.getRowCount() != rowCount || packedGrid.getColumnCount() != columnCount) {
+				throw deserializationContext.mappingException("Grid dimensions changed after grid cell forms were read");
+			}
+
+			for (int i=0; i < size; i += 2) {
+				if (coordinates[i] >= columnCount || coordinates[i + 1] >= rowCount) {
+					throw deserializationContext.mappingException("Grid cell " + coordinates[i] + ":" + coordinates[i + 1] + " is outside the grid");
+				}
+
+				packedGrid.setAlive(coordinates[i], coordinates[i + 1], true);
+			}
+
+			return packedGrid;
+		}
+
+	}
+
+}
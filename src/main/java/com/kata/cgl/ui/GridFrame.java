@@ -0,0 +1,30 @@
+package com.kata.cgl.ui;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.kata.cgl.grid.Grid;
+import com.kata.cgl.grid.PackedGrid;
+
+public class GridFrame {
+
+	private final long generation;
+	private final PackedGrid packedGrid;
+
+	public GridFrame(long generation, PackedGrid packedGrid) {
+		this.generation = generation;
+		this.packedGrid = packedGrid;
+	}
+
+	public long getGeneration() {
+		return generation;
+	}
+
+	public Grid getGrid() {
+		return Grid.fromPackedGrid(packedGrid);
+	}
+
+	@JsonIgnore
+	public PackedGrid getPackedGrid() {
+		return packedGrid;
+	}
+
+}
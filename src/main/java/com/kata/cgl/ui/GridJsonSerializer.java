@@ -0,0 +1,66 @@
+package com.kata.cgl.ui;
+
+import java.io.IOException;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.kata.cgl.grid.Grid;
+import com.kata.cgl.grid.GridCellState;
+import com.kata.cgl.profiling.GridSerializationEvent;
+
+@JsonComponent
+public class GridJsonSerializer extends JsonSerializer<Grid> {
+
+	@Override
+	public void serialize(Grid grid, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+		GridSerializationEvent serializationEvent = new GridSerializationEvent();
+		serializationEvent.begin();
+		int rowCount = grid.getRowCount();
+		int columnCount = grid.getColumnCount();
+
+		jsonGenerator.writeStartObject();
+		jsonGenerator.writeNumberField("columnCount", columnCount);
+		jsonGenerator.writeNumberField("rowCount", rowCount);
+		jsonGenerator.writeArrayFieldStart("gridRows");
+
+		for (int y=0; y < rowCount; y++) {
+			jsonGenerator.writeStartObject();
+			jsonGenerator.writeArrayFieldStart("rowCells");
+
+			for (int x=0; x < columnCount; x++) {
+				writeGridCell(jsonGenerator, x, y, rowCount, columnCount, grid.isAlive(x, y));
+			}
+
+			jsonGenerator.writeEndArray();
+			jsonGenerator.writeEndObject();
+		}
+
+		jsonGenerator.writeEndArray();
+		jsonGenerator.writeNumberField("cellCount", (long) rowCount * columnCount);
+		jsonGenerator.writeEndObject();
+		serializationEvent.commit(grid, null);
+	}
+
+	private static void writeGridCell(JsonGenerator jsonGenerator, int xCoordinate, int yCoordinate, int rowCount, int columnCount, boolean alive) throws IOException {
+		boolean hasXBoundaryCoordinate = xCoordinate == 0 || xCoordinate == columnCount - 1;
+		boolean hasYBoundaryCoordinate = yCoordinate == 0 || yCoordinate == rowCount - 1;
+
+		jsonGenerator.writeStartObject();
+		jsonGenerator.writeObjectFieldStart("gridCoordinate");
+		jsonGenerator.writeNumberField("xCoordinate", xCoordinate);
+		jsonGenerator.writeNumberField("yCoordinate", yCoordinate);
+		jsonGenerator.writeEndObject();
+		jsonGenerator.writeStringField("gridCellState", alive ? GridCellState.ALIVE.name() : GridCellState.DEAD.name());
+		jsonGenerator.writeNumberField("gridRowCount", rowCount);
+		jsonGenerator.writeNumberField("gridColumnCount", columnCount);
+		jsonGenerator.writeNumberField("xCoordinate", xCoordinate);
+		jsonGenerator.writeNumberField("yCoordinate", yCoordinate);
+		jsonGenerator.writeBooleanField("cornerCell", hasXBoundaryCoordinate && hasYBoundaryCoordinate);
+		jsonGenerator.writeBooleanField("boundaryCell", hasXBoundaryCoordinate || hasYBoundaryCoordinate);
+		jsonGenerator.writeEndObject();
+	}
+
+}
@@ -16,6 +16,15 @@ var selectors = {
 var DEAD_CELL = "DEAD";
 var LIVE_CELL = "ALIVE";
 var runContinuously = false;
+var simulationId = null;
+var generationStream = null;
+var STREAM_FRAMES_PER_SECOND = 2;
+var renderedGrid = {
+	generation : null,
+	columnCount : 0,
+	checksum : 0,
+	cells : {}
+};
 
 $(document).ready(function(){
 	setupStartGameClickHandler();
@@ -32,9 +41,9 @@ function registerManualGenerationGridButtonClickHandler() {
 function registerAutoGenerationGridButtonClickHandler() {
 	$(selectors.autoGenerationGridButton).on('click', function(){
 		if (runContinuously === true) {
-			$(selectors.autoGenerationGridButton).val('Load Generations Continuously');
-			runContinuously = false;
+			stopRunningConstantly();
 		} else {
+			$(selectors.errorContainer).hide();
 			$(selectors.autoGenerationGridButton).val('Stop Running');
 			runContinuously = true;
 			runConstantly();
@@ -42,12 +51,107 @@ function registerAutoGenerationGridButtonClickHandler() {
 	});
 }
 
+function stopRunningConstantly() {
+	$(selectors.autoGenerationGridButton).val('Load Generations Continuously');
+	runContinuously = false;
+	sendStreamCommand('pause');
+}
+
+function stopWhenSettled(boardState) {
+	if (runContinuously === true && (boardState === 'EMPTY' || boardState === 'STATIC')) {
+		stopRunningConstantly();
+	}
+}
+
 function runConstantly() {
-	if (runContinuously === true) {
-		setTimeout(function(){
-			transitionInitialStateGridToNextGeneration();
-			runConstantly();
-		}, 500);
+	unregisterGridCellClickHandlers();
+	
+	if (generationStream !== null) {
+		sendStreamCommand('resume');
+	} else if (simulationId === null) {
+		createSimulation(openGenerationStream);
+	} else {
+		openGenerationStream();
+	}
+}
+
+function openGenerationStream() {
+	var stream = new EventSource('/simulations/' + simulationId + '/stream?format=delta&framesPerSecond=' + STREAM_FRAMES_PER_SECOND);
+	generationStream = stream;
+	
+	generationStream.addEventListener('generation', function(event){
+		var frame = JSON.parse(event.data);
+		renderFrame(frame);
+		stopWhenSettled(frame.boardState);
+	});
+	
+	generationStream.addEventListener('delta', function(event){
+		var delta = JSON.parse(event.data);
+		
+		if (!applyGenerationDelta(delta)) {
+			closeGenerationStream();
+			openGenerationStream();
+		} else {
+			stopWhenSettled(delta.boardState);
+		}
+	});
+	
+	generationStream.onerror = function(){
+		if (generationStream === stream && stream.readyState === EventSource.CLOSED) {
+			generationStream = null;
+			recoverGenerationStream();
+		}
+	};
+}
+
+function recoverGenerationStream() {
+	if (runContinuously !== true) {
+		return;
+	}
+	
+	$.ajax({
+		url:'/simulations/' + simulationId,
+		type: 'GET',
+		success: function(){
+			stopRunningAfterStreamFailure();
+		},
+		error: function(xhr){
+			if (xhr.status === 404) {
+				simulationId = null;
+				createSimulation(openGenerationStream, stopRunningAfterStreamFailure);
+			} else {
+				stopRunningAfterStreamFailure();
+			}
+		}
+	});
+}
+
+function stopRunningAfterStreamFailure() {
+	$(selectors.autoGenerationGridButton).val('Load Generations Continuously');
+	runContinuously = false;
+	$(selectors.errorContainer).html('Lost the connection to the simulation, press the button to run it again');
+	$(selectors.errorContainer).show();
+}
+
+function closeGenerationStream() {
+	if (generationStream !== null) {
+		generationStream.close();
+		generationStream = null;
+	}
+}
+
+function sendStreamCommand(command) {
+	if (simulationId !== null) {
+		$.ajax({
+			url:'/simulations/' + simulationId + '/stream/' + command,
+			type: 'POST',
+			error: function(xhr){
+				if (xhr.status === 404 && command === 'resume') {
+					closeGenerationStream();
+					openGenerationStream();
+				}
+			}
+		});
 	}
 }
 
@@ -64,6 +168,8 @@ function setupStartGameClickHandler() {
 			var columnCount = $(selectors.columnCountInput).val();
 			var rowCount = $(selectors.rowCountInput).val();
 			
+			closeGenerationStream();
+			deleteSimulation();
 			loadInitialStateGrid(columnCount, rowCount);
 			resetGenerationCount();
 			$(selectors.autoGenerationGridButton).val('Load Generations Continuously');
@@ -153,30 +259,146 @@ function buildGridFromGridRows(gridRows, tableBodySelector) {
 
 function transitionInitialStateGridToNextGeneration() {
 	unregisterGridCellClickHandlers();
+	
+	if (simulationId === null) {
+		createSimulation();
+	} else {
+		stepSimulation();
+	}
+}
+
+function createSimulation(onCreated, onFailed) {
 	var initialStateGridCellData = retrieveInitialStateGridCellData();
 	
 	$.ajax({
-		url:'/grid',
+		url:'/simulations',
 		type: 'POST',
 		data: JSON.stringify(initialStateGridCellData),
 		contentType: 'application/json; charset=utf-8',
 		dataType: "json",
 		success: function(data){
-			buildGridFromGridRows(data.gridRows, selectors.initialStateGridTableBody);
-			incrementGenerationCount();
+			simulationId = data.simulationId;
+			renderFrame(data);
+			(onCreated || stepSimulation)();
+		},
+		error: function(){
+			if (onFailed) {
+				onFailed();
+			}
 		}
 	});
 }
 
+function stepSimulation() {
+	$.ajax({
+		url:'/simulations/' + simulationId + '/step?format=delta',
+		type: 'POST',
+		dataType: "json",
+		success: function(data){
+			if (!applyGenerationDelta(data)) {
+				resyncSimulation();
+			}
+		},
+		error: function(xhr){
+			if (xhr.status === 404) {
+				simulationId = null;
+				createSimulation();
+			}
+		}
+	});
+}
+
+function resyncSimulation() {
+	$.get('/simulations/' + simulationId, function(data) {
+		renderFrame(data);
+	});
+}
+
+function renderFrame(frame) {
+	buildGridFromGridRows(frame.grid.gridRows, selectors.initialStateGridTableBody);
+	indexRenderedGrid(frame.generation, frame.grid.columnCount);
+	setGenerationCount(frame.generation + 1);
+}
+
+function indexRenderedGrid(generation, columnCount) {
+	renderedGrid.generation = generation;
+	renderedGrid.columnCount = columnCount;
+	renderedGrid.checksum = 0;
+	renderedGrid.cells = {};
+	
+	$(selectors.initialStateGridTableBody).find(selectors.allGridCells).each(function(index, gridCell){
+		var cellIndex = $(gridCell).data('y-coordinate') * columnCount + $(gridCell).data('x-coordinate');
+		renderedGrid.cells[cellIndex] = gridCell;
+		
+		if ($(gridCell).data('grid-cell-state') === LIVE_CELL) {
+			renderedGrid.checksum = (renderedGrid.checksum + cellHash(cellIndex)) | 0;
+		}
+	});
+}
+
+function applyGenerationDelta(delta) {
+	if (delta.fromGeneration !== renderedGrid.generation || delta.columnCount !== renderedGrid.columnCount) {
+		return false;
+	}
+	
+	var consistent = true;
+	$.each(delta.births, function(index, cellIndex){
+		consistent = updateRenderedCell(cellIndex, LIVE_CELL) && consistent;
+	});
+	$.each(delta.deaths, function(index, cellIndex){
+		consistent = updateRenderedCell(cellIndex, DEAD_CELL) && consistent;
+	});
+	
+	renderedGrid.generation = delta.generation;
+	setGenerationCount(delta.generation + 1);
+	
+	return consistent && renderedGrid.checksum === delta.checksum;
+}
+
+function updateRenderedCell(cellIndex, gridCellState) {
+	var gridCell = renderedGrid.cells[cellIndex];
+	
+	if (!gridCell || $(gridCell).data('grid-cell-state') === gridCellState) {
+		return false;
+	}
+	
+	if (gridCellState === LIVE_CELL) {
+		$(gridCell).addClass('alive');
+		renderedGrid.checksum = (renderedGrid.checksum + cellHash(cellIndex)) | 0;
+	} else {
+		$(gridCell).removeClass('alive');
+		renderedGrid.checksum = (renderedGrid.checksum - cellHash(cellIndex)) | 0;
+	}
+	
+	$(gridCell).data('grid-cell-state', gridCellState);
+	return true;
+}
+
+function cellHash(cellIndex) {
+	var hash = Math.imul(cellIndex + 1, 0x9E3779B1);
+	hash ^= hash >>> 16;
+	hash = Math.imul(hash, 0x85EBCA6B);
+	hash ^= hash >>> 13;
+	return hash;
+}
+
+function deleteSimulation() {
+	if (simulationId !== null) {
+		$.ajax({
+			url:'/simulations/' + simulationId,
+			type: 'DELETE'
+		});
+		simulationId = null;
+	}
+}
+
 function resetGenerationCount() {
 	var generationCount = '1';
 	$(selectors.generationCount).html(generationCount);
 	$(selectors.generationCount).data('generation-count', generationCount);
 }
 
-function incrementGenerationCount() {
-	var generationCount = parseInt($(selectors.generationCount).data('generation-count'));
-	generationCount++;
+function setGenerationCount(generationCount) {
 	$(selectors.generationCount).html(generationCount);
 	$(selectors.generationCount).data('generation-count', generationCount);
 }
@@ -0,0 +1,203 @@
+package com.kata.cgl.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+import com.kata.cgl.engine.SwarGenerationEngine;
+import com.kata.cgl.grid.PackedGrid;
+import com.kata.cgl.ui.BinaryGridCodec;
+import com.kata.cgl.ui.BinaryGridHttpMessageConverter;
+import com.kata.cgl.ui.GridFrame;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConwaysGameOfLifeControllerTest {
+
+    static final String FULL_BLINKER_GRID_FORM = buildFullBlinkerGridForm();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static String buildFullBlinkerGridForm() {
+        StringBuilder gridCellForms = new StringBuilder();
+
+        for (int xCoordinate=0; xCoordinate < 3; xCoordinate++) {
+            for (int yCoordinate=0; yCoordinate < 3; yCoordinate++) {
+                String gridCellState = yCoordinate == 1 ? "ALIVE" : "DEAD";
+                gridCellForms.append(gridCellForms.length() == 0 ? "" : ",")
+                        .append("{\"gridCoordinate\":{\"xCoordinate\":").append(xCoordinate)
+                        .append(",\"yCoordinate\":").append(yCoordinate)
+                        .append("},\"gridCellState\":\"").append(gridCellState).append("\"}");
+            }
+        }
+
+        return "{\"rowCount\":3,\"columnCount\":3,\"gridCellForms\":[" + gridCellForms + "]}";
+    }
+
+    @Test
+    public void transitionToNextGenerationStepsOnce() throws Exception {
+        mockMvc.perform(post("/grid").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowCount").value(3))
+                .andExpect(jsonPath("$.gridRows[0].rowCells[1].gridCellState").value("ALIVE"))
+                .andExpect(jsonPath("$.gridRows[1].rowCells[0].gridCellState").value("DEAD"));
+    }
+
+    @Test
+    public void transitionAdvancesRequestedGenerations() throws Exception {
+        mockMvc.perform(post("/grid").param("generations", "1001").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gridRows[0].rowCells[1].gridCellState").value("ALIVE"))
+                .andExpect(jsonPath("$.gridRows[1].rowCells[0].gridCellState").value("DEAD"));
+    }
+
+    @Test
+    public void transitionEmitsEveryKthFrameAndFinalFrame() throws Exception {
+        mockMvc.perform(post("/grid").param("generations", "7").param("emitEvery", "3").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].generation").value(3))
+                .andExpect(jsonPath("$[1].generation").value(6))
+                .andExpect(jsonPath("$[2].generation").value(7))
+                .andExpect(jsonPath("$[1].grid.gridRows[1].rowCells[0].gridCellState").value("ALIVE"))
+                .andExpect(jsonPath("$[2].grid.gridRows[1].rowCells[0].gridCellState").value("DEAD"));
+    }
+
+    @Test
+    public void repeatedBoardsAreServedFromResultCache() throws Exception {
+        String before = mockMvc.perform(get("/grid/cache")).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+
+        for (int i=0; i < 2; i++) {
+            mockMvc.perform(post("/grid").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.gridRows[0].rowCells[1].gridCellState").value("ALIVE"));
+        }
+
+        String after = mockMvc.perform(get("/grid/cache")).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        long hitCountBefore = ((Number) JsonPath.read(before, "$.hitCount")).longValue();
+        long hitCountAfter = ((Number) JsonPath.read(after, "$.hitCount")).longValue();
+
+        assertTrue(hitCountAfter > hitCountBefore);
+    }
+
+    @Test
+    public void generationMetricsAreExposedForPrometheus() throws Exception {
+        mockMvc.perform(post("/grid").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/prometheus")).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("cgl_generation_latency_seconds_count{board_size=\"4\",engine=\"swar\",}"));
+        assertTrue(scrape.contains("cgl_generation_cell_updates_total"));
+        assertTrue(scrape.contains("cgl_generation_allocated_bytes"));
+    }
+
+    @Test
+    public void nonPositiveGenerationCountIsBadRequest() throws Exception {
+        mockMvc.perform(post("/grid").param("generations", "0").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/grid").param("emitEvery", "0").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void binaryGridFormIsSteppedAndReturnedAsBinary() throws Exception {
+        PackedGrid blinker = new PackedGrid(3, 3);
+        blinker.setAlive(0, 1, true);
+        blinker.setAlive(1, 1, true);
+        blinker.setAlive(2, 1, true);
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        BinaryGridCodec.encode(blinker, 0, payload);
+
+        byte[] response = mockMvc.perform(post("/grid").param("generations", "3")
+                        .contentType(BinaryGridHttpMessageConverter.GRID_MEDIA_TYPE).content(payload.toByteArray())
+                        .accept(BinaryGridHttpMessageConverter.GRID_MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        GridFrame gridFrame = BinaryGridCodec.decode(new ByteArrayInputStream(response));
+        assertEquals(3, gridFrame.getGeneration());
+        assertEquals(new SwarGenerationEngine().step(blinker), gridFrame.getPackedGrid());
+
+        mockMvc.perform(post("/grid").contentType(BinaryGridHttpMessageConverter.GRID_MEDIA_TYPE).content(payload.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gridRows[0].rowCells[1].gridCellState").value("ALIVE"));
+    }
+
+    @Test
+    public void oversizedBinaryGridIsBadRequest() throws Exception {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(payload);
+        header.writeInt(BinaryGridCodec.MAGIC);
+        header.writeByte(BinaryGridCodec.BIT_PACKED_ENCODING);
+        header.writeInt(Integer.MAX_VALUE - 1);
+        header.writeInt(1);
+        header.writeLong(0);
+
+        mockMvc.perform(post("/grid").contentType(BinaryGridHttpMessageConverter.GRID_MEDIA_TYPE).content(payload.toByteArray()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void oversizedJsonGridIsBadRequest() throws Exception {
+        mockMvc.perform(post("/grid").contentType(MediaType.APPLICATION_JSON).content("{\"rowCount\":2147483647,\"columnCount\":2147483647,\"gridCellForms\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void transitionAppliesRequestedRule() throws Exception {
+        mockMvc.perform(post("/grid").param("rule", "B2/S").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gridRows[0].rowCells[0].gridCellState").value("ALIVE"))
+                .andExpect(jsonPath("$.gridRows[0].rowCells[1].gridCellState").value("DEAD"))
+                .andExpect(jsonPath("$.gridRows[1].rowCells[1].gridCellState").value("DEAD"))
+                .andExpect(jsonPath("$.gridRows[2].rowCells[2].gridCellState").value("ALIVE"));
+
+        mockMvc.perform(post("/grid").param("rule", "B9/S23").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void transitionAppliesLargerThanLifeRule() throws Exception {
+        mockMvc.perform(post("/grid").param("rule", "R1,C0,M0,S2..3,B3..3,NM").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gridRows[0].rowCells[1].gridCellState").value("ALIVE"))
+                .andExpect(jsonPath("$.gridRows[1].rowCells[0].gridCellState").value("DEAD"));
+
+        mockMvc.perform(post("/grid").param("rule", "R2,S1..2").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void transitionWrapsAroundTorus() throws Exception {
+        mockMvc.perform(post("/grid").param("topology", "torus").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gridRows[0].rowCells[0].gridCellState").value("ALIVE"))
+                .andExpect(jsonPath("$.gridRows[1].rowCells[0].gridCellState").value("ALIVE"))
+                .andExpect(jsonPath("$.gridRows[2].rowCells[2].gridCellState").value("ALIVE"));
+
+        mockMvc.perform(post("/grid").param("topology", "klein-bottle").contentType(MediaType.APPLICATION_JSON).content(FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isBadRequest());
+    }
+
+}
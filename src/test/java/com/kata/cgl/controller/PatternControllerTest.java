@@ -0,0 +1,113 @@
+package com.kata.cgl.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class PatternControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void importedPatternCanBeSteppedAndExported() throws Exception {
+        String response = mockMvc.perform(post("/simulations/patterns").param("padding", "1")
+                        .contentType(MediaType.TEXT_PLAIN).content("x = 3, y = 1\n3o!"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rowCount").value(3))
+                .andExpect(jsonPath("$.columnCount").value(5))
+                .andExpect(jsonPath("$.liveCellCount").value(3))
+                .andReturn().getResponse().getContentAsString();
+        String simulationId = JsonPath.read(response, "$.simulationId");
+
+        mockMvc.perform(post("/simulations/" + simulationId + "/step")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/simulations/" + simulationId + "/pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("x = 5, y = 3, rule = B3/S23\n2bo$2bo$2bo!\n"));
+
+        mockMvc.perform(get("/simulations/" + simulationId + "/pattern").param("format", "cells"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("..O..\n..O..\n..O..\n"));
+    }
+
+    @Test
+    public void malformedPatternIsBadRequest() throws Exception {
+        mockMvc.perform(post("/simulations/patterns").contentType(MediaType.TEXT_PLAIN).content("3o!"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/simulations/patterns").param("format", "mcell").contentType(MediaType.TEXT_PLAIN).content("x = 1, y = 1\no!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void importedRuleIsKeptInExportedPattern() throws Exception {
+        String response = mockMvc.perform(post("/simulations/patterns").param("rule", "B36/S23")
+                        .contentType(MediaType.TEXT_PLAIN).content("x = 3, y = 1\n3o!"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String simulationId = JsonPath.read(response, "$.simulationId");
+
+        mockMvc.perform(get("/simulations/" + simulationId + "/pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("x = 3, y = 1, rule = B36/S23\n3o!\n"));
+    }
+
+    @Test
+    public void torusTopologyIsKeptInExportedPattern() throws Exception {
+        String response = mockMvc.perform(post("/simulations/patterns").param("topology", "torus")
+                        .contentType(MediaType.TEXT_PLAIN).content("x = 3, y = 1\n3o!"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String simulationId = JsonPath.read(response, "$.simulationId");
+
+        mockMvc.perform(get("/simulations/" + simulationId + "/pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("x = 3, y = 1, rule = B3/S23:T3,1\n3o!\n"));
+    }
+
+    @Test
+    public void patternHeaderRuleAndTopologyApplyWithoutParameters() throws Exception {
+        String response = mockMvc.perform(post("/simulations/patterns")
+                        .contentType(MediaType.TEXT_PLAIN).content("x = 3, y = 1, rule = B36/S23:T3,1\n3o!"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String simulationId = JsonPath.read(response, "$.simulationId");
+
+        mockMvc.perform(get("/simulations/" + simulationId + "/pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("x = 3, y = 1, rule = B36/S23:T3,1\n3o!\n"));
+    }
+
+    @Test
+    public void parametersMustAgreeWithPatternHeader() throws Exception {
+        mockMvc.perform(post("/simulations/patterns").param("rule", "B36/S23").param("topology", "torus")
+                        .contentType(MediaType.TEXT_PLAIN).content("x = 3, y = 1, rule = B36/S23:T3,1\n3o!"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/simulations/patterns").param("rule", "B3/S23")
+                        .contentType(MediaType.TEXT_PLAIN).content("x = 3, y = 1, rule = B36/S23\n3o!"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/simulations/patterns").param("topology", "torus")
+                        .contentType(MediaType.TEXT_PLAIN).content("x = 3, y = 1, rule = B3/S23\n3o!"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/simulations/patterns").param("topology", "bounded")
+                        .contentType(MediaType.TEXT_PLAIN).content("x = 3, y = 1, rule = B3/S23:T3,1\n3o!"))
+                .andExpect(status().isBadRequest());
+    }
+
+}
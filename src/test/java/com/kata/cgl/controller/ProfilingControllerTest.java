@@ -0,0 +1,90 @@
+package com.kata.cgl.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProfilingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void recordingCapturesEachGridRequestPhase() throws Exception {
+        String response = mockMvc.perform(post("/profiling/recordings").param("durationSeconds", "60"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.durationSeconds").value(60))
+                .andReturn().getResponse().getContentAsString();
+        long recordingId = ((Number) JsonPath.read(response, "$.recordingId")).longValue();
+
+        mockMvc.perform(post("/grid").contentType(MediaType.APPLICATION_JSON).content(ConwaysGameOfLifeControllerTest.FULL_BLINKER_GRID_FORM))
+                .andExpect(status().isOk());
+
+        byte[] dump = mockMvc.perform(get("/profiling/recordings/" + recordingId + "/dump"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"cgl-recording-" + recordingId + ".jfr\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        Path dumpFile = Files.createTempFile("profiling-controller-test-", ".jfr");
+        Set<String> eventNames = new HashSet<>();
+
+        try {
+            Files.write(dumpFile, dump);
+
+            for (RecordedEvent event : RecordingFile.readAllEvents(dumpFile)) {
+                if (event.getEventType().getName().startsWith("com.kata.cgl.")) {
+                    eventNames.add(event.getEventType().getName());
+                    assertEquals(3, event.getInt("rowCount"));
+                    assertEquals(3, event.getInt("columnCount"));
+                    assertEquals(3, event.getLong("liveCellCount"));
+                }
+            }
+        } finally {
+            Files.delete(dumpFile);
+        }
+
+        assertTrue(eventNames.contains("com.kata.cgl.GridFormBinding"));
+        assertTrue(eventNames.contains("com.kata.cgl.GridConstruction"));
+        assertTrue(eventNames.contains("com.kata.cgl.GenerationStep"));
+        assertTrue(eventNames.contains("com.kata.cgl.GridSerialization"));
+
+        mockMvc.perform(delete("/profiling/recordings/" + recordingId)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/profiling/recordings/" + recordingId)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void unboundedRecordingIsBadRequest() throws Exception {
+        mockMvc.perform(post("/profiling/recordings").param("durationSeconds", "86400"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/profiling/recordings").param("maxSizeBytes", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+}
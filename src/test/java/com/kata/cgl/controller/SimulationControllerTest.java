@@ -0,0 +1,146 @@
+package com.kata.cgl.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SimulationControllerTest {
+
+    static final String BLINKER_GRID_FORM = "{\"rowCount\":3,\"columnCount\":3,\"gridCellForms\":["
+            + "{\"gridCoordinate\":{\"xCoordinate\":0,\"yCoordinate\":1},\"gridCellState\":\"ALIVE\"},"
+            + "{\"gridCoordinate\":{\"xCoordinate\":1,\"yCoordinate\":1},\"gridCellState\":\"ALIVE\"},"
+            + "{\"gridCoordinate\":{\"xCoordinate\":2,\"yCoordinate\":1},\"gridCellState\":\"ALIVE\"},"
+            + "{\"gridCoordinate\":{\"xCoordinate\":1,\"yCoordinate\":0},\"gridCellState\":\"DEAD\"}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String createSimulation() throws Exception {
+        String response = mockMvc.perform(post("/simulations").contentType(MediaType.APPLICATION_JSON).content(BLINKER_GRID_FORM))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.generation").value(0))
+                .andReturn().getResponse().getContentAsString();
+
+        return JsonPath.read(response, "$.simulationId");
+    }
+
+    @Test
+    public void stepAdvancesSimulationWithoutResendingGrid() throws Exception {
+        String simulationId = createSimulation();
+
+        mockMvc.perform(post("/simulations/" + simulationId + "/step"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.generation").value(1))
+                .andExpect(jsonPath("$.grid.gridRows[0].rowCells[1].gridCellState").value("ALIVE"))
+                .andExpect(jsonPath("$.grid.gridRows[1].rowCells[0].gridCellState").value("DEAD"));
+    }
+
+    @Test
+    public void stepAdvancesRequestedGenerationsAndEmitsFrames() throws Exception {
+        String simulationId = createSimulation();
+
+        mockMvc.perform(post("/simulations/" + simulationId + "/step").param("generations", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.generation").value(10));
+
+        mockMvc.perform(post("/simulations/" + simulationId + "/step").param("generations", "4").param("emitEvery", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].generation").value(12))
+                .andExpect(jsonPath("$[1].generation").value(14))
+                .andExpect(jsonPath("$[1].simulationId").value(simulationId));
+    }
+
+    @Test
+    public void oscillatingSimulationReportsItsPeriod() throws Exception {
+        String simulationId = createSimulation();
+
+        mockMvc.perform(post("/simulations/" + simulationId + "/step").param("generations", "1000000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.generation").value(1000000))
+                .andExpect(jsonPath("$.boardState").value("PERIODIC"))
+                .andExpect(jsonPath("$.period").value(2))
+                .andExpect(jsonPath("$.grid.gridRows[1].rowCells[0].gridCellState").value("ALIVE"));
+    }
+
+    @Test
+    public void deltaFormatReturnsOnlyChangedCells() throws Exception {
+        String simulationId = createSimulation();
+
+        mockMvc.perform(post("/simulations/" + simulationId + "/step").param("format", "delta"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.simulationId").value(simulationId))
+                .andExpect(jsonPath("$.fromGeneration").value(0))
+                .andExpect(jsonPath("$.generation").value(1))
+                .andExpect(jsonPath("$.births[0]").value(1))
+                .andExpect(jsonPath("$.births[1]").value(7))
+                .andExpect(jsonPath("$.deaths[0]").value(3))
+                .andExpect(jsonPath("$.deaths[1]").value(5))
+                .andExpect(jsonPath("$.grid").doesNotExist());
+    }
+
+    @Test
+    public void recordedSimulationServesEarlierGenerations() throws Exception {
+        String response = mockMvc.perform(post("/simulations").param("record", "true").contentType(MediaType.APPLICATION_JSON).content(BLINKER_GRID_FORM))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String simulationId = JsonPath.read(response, "$.simulationId");
+
+        mockMvc.perform(post("/simulations/" + simulationId + "/step").param("generations", "5")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/simulations/" + simulationId + "/history/0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.generation").value(0))
+                .andExpect(jsonPath("$.grid.gridRows[1].rowCells[0].gridCellState").value("ALIVE"));
+        mockMvc.perform(get("/simulations/" + simulationId + "/history/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.grid.gridRows[0].rowCells[1].gridCellState").value("ALIVE"));
+        mockMvc.perform(get("/simulations/" + simulationId + "/history/6")).andExpect(status().isNotFound());
+
+        mockMvc.perform(delete("/simulations/" + simulationId)).andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void mappedBoardIsNotFoundUnlessConfigured() throws Exception {
+        mockMvc.perform(get("/mapped-board")).andExpect(status().isNotFound());
+        mockMvc.perform(post("/mapped-board/step")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void deletedSimulationIsNotFound() throws Exception {
+        String simulationId = createSimulation();
+
+        mockMvc.perform(delete("/simulations/" + simulationId)).andExpect(status().isNoContent());
+        mockMvc.perform(post("/simulations/" + simulationId + "/step")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void unknownEngineIsBadRequest() throws Exception {
+        mockMvc.perform(post("/simulations").param("engine", "warp-drive").contentType(MediaType.APPLICATION_JSON).content(BLINKER_GRID_FORM))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void streamCommandsRequireOpenStream() throws Exception {
+        String simulationId = createSimulation();
+
+        mockMvc.perform(post("/simulations/" + simulationId + "/stream/pause")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/simulations/" + simulationId + "/stream").param("framesPerSecond", "0")).andExpect(status().isBadRequest());
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.kata.cgl.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.grid.Grid;
+import com.kata.cgl.grid.GridCell;
+import com.kata.cgl.grid.GridCellState;
+import com.kata.cgl.grid.GridCoordinate;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class BitboardGenerationEngineTest {
+
+    private final GenerationEngine bitboardEngine = new BitboardGenerationEngine();
+
+    private Grid buildRandomGrid(int rowCount, int columnCount, long seed) {
+        Random random = new Random(seed);
+        List<GridCell> gridCells = new ArrayList<>();
+
+        for (int xCoordinate=0; xCoordinate < columnCount; xCoordinate++) {
+            for (int yCoordinate=0; yCoordinate < rowCount; yCoordinate++) {
+                GridCellState gridCellState = random.nextInt(3) == 0 ? GridCellState.ALIVE : GridCellState.DEAD;
+                gridCells.add(new GridCell(new GridCoordinate(xCoordinate, yCoordinate), rowCount, columnCount, gridCellState));
+            }
+        }
+
+        return new Grid(rowCount, columnCount, gridCells);
+    }
+
+    @Test
+    public void blinkerOscillatesWithPeriodTwo() {
+        PackedGrid horizontalBlinker = new PackedGrid(5, 5);
+        horizontalBlinker.setAlive(1, 2, true);
+        horizontalBlinker.setAlive(2, 2, true);
+        horizontalBlinker.setAlive(3, 2, true);
+
+        PackedGrid verticalBlinker = bitboardEngine.step(horizontalBlinker);
+        assertTrue(verticalBlinker.isAlive(2, 1));
+        assertTrue(verticalBlinker.isAlive(2, 2));
+        assertTrue(verticalBlinker.isAlive(2, 3));
+        assertFalse(verticalBlinker.isAlive(1, 2));
+        assertEquals(3, verticalBlinker.countLiveCells());
+
+        assertEquals(horizontalBlinker, bitboardEngine.step(verticalBlinker));
+    }
+
+    @Test
+    public void cellsAcrossWordBoundariesSeeEachOther() {
+        PackedGrid packedGrid = new PackedGrid(3, 130);
+        packedGrid.setAlive(63, 1, true);
+        packedGrid.setAlive(64, 1, true);
+        packedGrid.setAlive(65, 1, true);
+
+        PackedGrid nextGeneration = bitboardEngine.step(packedGrid);
+        assertTrue(nextGeneration.isAlive(64, 0));
+        assertTrue(nextGeneration.isAlive(64, 1));
+        assertTrue(nextGeneration.isAlive(64, 2));
+        assertEquals(3, nextGeneration.countLiveCells());
+    }
+
+    @Test
+    public void matchesDetermineNextGenerationStateOnRandomGrids() {
+        int[][] dimensions = {{6, 8}, {17, 64}, {9, 130}, {1, 1}, {2, 70}};
+
+        for (int i=0; i < dimensions.length; i++) {
+            Grid grid = buildRandomGrid(dimensions[i][0], dimensions[i][1], i);
+            Grid nextGenerationGrid = grid.buildNextGenerationGrid(bitboardEngine);
+
+            for (int c=0; c < grid.getCellCount(); c++) {
+                GridCell currentGenGridCell = grid.retrieveGridCells().get(c);
+                GridCell nextGenGridCell = nextGenerationGrid.retrieveGridCells().get(c);
+
+                assertEquals(currentGenGridCell, nextGenGridCell);
+                assertEquals(grid.determineNextGenerationState(currentGenGridCell), nextGenGridCell.getGridCellState());
+            }
+        }
+    }
+
+    @Test
+    public void steppingWordColumnsSeparatelyMatchesWholeBoardStep() {
+        BitboardGenerationEngine bitboardKernel = new BitboardGenerationEngine();
+        Random random = new Random(11);
+        PackedGrid packedGrid = new PackedGrid(9, 200);
+
+        for (int y=0; y < packedGrid.getRowCount(); y++) {
+            for (int x=0; x < packedGrid.getColumnCount(); x++) {
+                packedGrid.setAlive(x, y, random.nextInt(3) == 0);
+            }
+        }
+
+        PackedGrid nextGeneration = packedGrid.emptyCopy();
+
+        for (int w=0; w < packedGrid.getWordsPerRow(); w++) {
+            bitboardKernel.stepRegion(packedGrid, nextGeneration, 0, packedGrid.getRowCount(), w, w + 1);
+        }
+
+        assertEquals(bitboardKernel.step(packedGrid), nextGeneration);
+        assertEquals(new ReferenceGenerationEngine().step(packedGrid), nextGeneration);
+    }
+
+}
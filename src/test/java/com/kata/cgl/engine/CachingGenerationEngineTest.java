@@ -0,0 +1,95 @@
+package com.kata.cgl.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class CachingGenerationEngineTest {
+
+    private final SwarGenerationEngine swarEngine = new SwarGenerationEngine();
+
+    private PackedGrid buildBlinker(int size) {
+        PackedGrid packedGrid = new PackedGrid(size, size);
+        packedGrid.setAlive(0, 1, true);
+        packedGrid.setAlive(1, 1, true);
+        packedGrid.setAlive(2, 1, true);
+        return packedGrid;
+    }
+
+    @Test
+    public void equalBoardsAreServedFromCache() {
+        CachingGenerationEngine cachingEngine = new CachingGenerationEngine(swarEngine, 1 << 20);
+
+        PackedGrid first = cachingEngine.step(buildBlinker(3));
+        PackedGrid second = cachingEngine.step(buildBlinker(3));
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(swarEngine.step(buildBlinker(3)), second);
+        assertEquals(1, cachingEngine.getStatistics().getHitCount());
+        assertEquals(1, cachingEngine.getStatistics().getMissCount());
+        assertEquals(1, cachingEngine.getStatistics().getEntryCount());
+    }
+
+    @Test
+    public void generationCountAndDimensionsArePartOfTheKey() {
+        CachingGenerationEngine cachingEngine = new CachingGenerationEngine(swarEngine, 1 << 20);
+
+        assertEquals(swarEngine.step(buildBlinker(3), 1), cachingEngine.step(buildBlinker(3), 1));
+        assertEquals(swarEngine.step(buildBlinker(3), 2), cachingEngine.step(buildBlinker(3), 2));
+        assertEquals(swarEngine.step(buildBlinker(4), 1), cachingEngine.step(buildBlinker(4), 1));
+
+        assertEquals(0, cachingEngine.getStatistics().getHitCount());
+        assertEquals(3, cachingEngine.getStatistics().getEntryCount());
+    }
+
+    @Test
+    public void mutatingTheSubmittedBoardDoesNotCorruptTheCache() {
+        CachingGenerationEngine cachingEngine = new CachingGenerationEngine(swarEngine, 1 << 20);
+        PackedGrid submitted = buildBlinker(3);
+
+        cachingEngine.step(submitted);
+        submitted.setAlive(1, 0, true);
+
+        assertEquals(swarEngine.step(submitted), cachingEngine.step(submitted));
+        assertEquals(0, cachingEngine.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void mutatingAReturnedResultDoesNotCorruptTheCache() {
+        CachingGenerationEngine cachingEngine = new CachingGenerationEngine(swarEngine, 1 << 20);
+
+        cachingEngine.step(buildBlinker(3)).setAlive(0, 0, true);
+        PackedGrid hit = cachingEngine.step(buildBlinker(3));
+        hit.getWords()[0] = -1L;
+
+        assertEquals(swarEngine.step(buildBlinker(3)), cachingEngine.step(buildBlinker(3)));
+        assertEquals(2, cachingEngine.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvictedAboveMemoryCap() {
+        CachingGenerationEngine probe = new CachingGenerationEngine(swarEngine, Long.MAX_VALUE);
+        probe.step(buildBlinker(3));
+        CachingGenerationEngine cachingEngine = new CachingGenerationEngine(swarEngine, probe.getStatistics().getMemoryBytes() * 2);
+
+        cachingEngine.step(buildBlinker(3), 1);
+        cachingEngine.step(buildBlinker(3), 2);
+        cachingEngine.step(buildBlinker(3), 1);
+        cachingEngine.step(buildBlinker(3), 3);
+
+        GenerationCacheStatistics statistics = cachingEngine.getStatistics();
+        assertEquals(2, statistics.getEntryCount());
+        assertEquals(1, statistics.getEvictionCount());
+
+        cachingEngine.step(buildBlinker(3), 1);
+        assertEquals(2, cachingEngine.getStatistics().getHitCount());
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.kata.cgl.engine;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class CycleDetectingGenerationEngineTest {
+
+    private final SwarGenerationEngine swarEngine = new SwarGenerationEngine();
+
+    private PackedGrid buildPackedGrid(int rowCount, int columnCount, int[][] liveCells) {
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int[] liveCell : liveCells) {
+            packedGrid.setAlive(liveCell[0], liveCell[1], true);
+        }
+
+        return packedGrid;
+    }
+
+    private PackedGrid buildRandomPackedGrid(int rowCount, int columnCount, long seed) {
+        Random random = new Random(seed);
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int y=0; y < rowCount; y++) {
+            for (int x=0; x < columnCount; x++) {
+                packedGrid.setAlive(x, y, random.nextInt(3) == 0);
+            }
+        }
+
+        return packedGrid;
+    }
+
+    @Test
+    public void blinkerIsReportedAsPeriodTwo() {
+        CycleDetectingGenerationEngine cycleDetectingEngine = new CycleDetectingGenerationEngine(swarEngine);
+        PackedGrid blinker = buildPackedGrid(5, 5, new int[][] {{1, 2}, {2, 2}, {3, 2}});
+
+        PackedGrid nextGeneration = cycleDetectingEngine.step(blinker, 3);
+
+        assertEquals(swarEngine.step(blinker, 3), nextGeneration);
+        assertEquals(BoardState.PERIODIC, cycleDetectingEngine.describe(nextGeneration));
+        assertEquals(2, cycleDetectingEngine.getPeriod());
+    }
+
+    @Test
+    public void blockIsReportedAsStatic() {
+        CycleDetectingGenerationEngine cycleDetectingEngine = new CycleDetectingGenerationEngine(swarEngine);
+        PackedGrid block = buildPackedGrid(4, 4, new int[][] {{1, 1}, {2, 1}, {1, 2}, {2, 2}});
+
+        PackedGrid nextGeneration = cycleDetectingEngine.step(block, 2);
+
+        assertEquals(block, nextGeneration);
+        assertEquals(BoardState.STATIC, cycleDetectingEngine.describe(nextGeneration));
+        assertEquals(1, cycleDetectingEngine.getPeriod());
+    }
+
+    @Test
+    public void dyingBoardIsReportedAsEmpty() {
+        CycleDetectingGenerationEngine cycleDetectingEngine = new CycleDetectingGenerationEngine(swarEngine);
+        PackedGrid pair = buildPackedGrid(4, 4, new int[][] {{1, 1}, {2, 1}});
+
+        PackedGrid nextGeneration = cycleDetectingEngine.step(pair, 5);
+
+        assertEquals(0, nextGeneration.countLiveCells());
+        assertEquals(BoardState.EMPTY, cycleDetectingEngine.describe(nextGeneration));
+    }
+
+    @Test
+    public void unrelatedGridIsReportedAsActive() {
+        CycleDetectingGenerationEngine cycleDetectingEngine = new CycleDetectingGenerationEngine(swarEngine);
+        PackedGrid block = buildPackedGrid(4, 4, new int[][] {{1, 1}, {2, 1}, {1, 2}, {2, 2}});
+
+        cycleDetectingEngine.step(block, 2);
+
+        assertEquals(BoardState.ACTIVE, cycleDetectingEngine.describe(block.copy()));
+    }
+
+    @Test
+    public void jumpsAcrossDetectedCycleWithoutStepping() {
+        int[] delegateSteps = new int[1];
+        GenerationEngine countingEngine = new GenerationEngine() {
+
+            @Override
+            public String getName() {
+                return "counting";
+            }
+
+            @Override
+            public PackedGrid step(PackedGrid currentGeneration) {
+                delegateSteps[0]++;
+                return swarEngine.step(currentGeneration);
+            }
+
+        };
+        CycleDetectingGenerationEngine cycleDetectingEngine = new CycleDetectingGenerationEngine(countingEngine);
+        PackedGrid blinker = buildPackedGrid(5, 5, new int[][] {{2, 1}, {2, 2}, {2, 3}});
+
+        PackedGrid detected = cycleDetectingEngine.step(blinker, 4);
+        int stepsToDetect = delegateSteps[0];
+        PackedGrid jumped = cycleDetectingEngine.step(detected, 1_000_000_001L);
+
+        assertEquals(stepsToDetect, delegateSteps[0]);
+        assertEquals(swarEngine.step(blinker, 1), jumped);
+    }
+
+    @Test
+    public void matchesDelegateOverLongRuns() {
+        for (long seed=0; seed < 6; seed++) {
+            PackedGrid packedGrid = buildRandomPackedGrid(24, 70, seed);
+            CycleDetectingGenerationEngine cycleDetectingEngine = new CycleDetectingGenerationEngine(swarEngine, 4);
+            PackedGrid expected = packedGrid;
+            PackedGrid actual = packedGrid;
+
+            for (int chunk=1; chunk <= 40; chunk++) {
+                expected = swarEngine.step(expected, chunk);
+                actual = cycleDetectingEngine.step(actual, chunk);
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void incrementalHashMatchesFullHash() {
+        PackedGrid packedGrid = buildRandomPackedGrid(17, 130, 3);
+        PackedGrid nextGeneration = swarEngine.step(packedGrid);
+
+        long incrementalHash = CycleDetectingGenerationEngine.updateZobristHash(CycleDetectingGenerationEngine.zobristHash(packedGrid), packedGrid, nextGeneration);
+
+        assertEquals(CycleDetectingGenerationEngine.zobristHash(nextGeneration), incrementalHash);
+    }
+
+}
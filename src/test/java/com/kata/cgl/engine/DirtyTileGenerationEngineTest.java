@@ -0,0 +1,89 @@
+package com.kata.cgl.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class DirtyTileGenerationEngineTest {
+
+    private final SwarGenerationEngine swarEngine = new SwarGenerationEngine();
+
+    @Test
+    public void matchesFullRecomputationOnSettlingSoup() {
+        Random random = new Random(9);
+        PackedGrid packedGrid = new PackedGrid(150, 300);
+
+        for (int y=40; y < 80; y++) {
+            for (int x=100; x < 160; x++) {
+                packedGrid.setAlive(x, y, random.nextBoolean());
+            }
+        }
+
+        DirtyTileGenerationEngine dirtyTileEngine = new DirtyTileGenerationEngine(swarEngine, 16, 1);
+        PackedGrid expected = packedGrid;
+        PackedGrid actual = packedGrid;
+
+        for (int generation=0; generation < 200; generation++) {
+            expected = swarEngine.step(expected);
+            actual = dirtyTileEngine.step(actual);
+            assertEquals(expected, actual);
+        }
+
+        assertTrue(dirtyTileEngine.getTotalSkippedTileCount() > 0);
+    }
+
+    @Test
+    public void stillLifeSkipsEveryTileAfterFirstGeneration() {
+        PackedGrid block = new PackedGrid(64, 128);
+        block.setAlive(63, 31, true);
+        block.setAlive(64, 31, true);
+        block.setAlive(63, 32, true);
+        block.setAlive(64, 32, true);
+
+        DirtyTileGenerationEngine dirtyTileEngine = new DirtyTileGenerationEngine(swarEngine);
+        PackedGrid nextGeneration = dirtyTileEngine.step(block);
+        assertEquals(0, dirtyTileEngine.getLastSkippedTileCount());
+        assertEquals(4, dirtyTileEngine.getTileCount());
+
+        nextGeneration = dirtyTileEngine.step(nextGeneration);
+        assertEquals(4, dirtyTileEngine.getLastSkippedTileCount());
+        assertEquals(block, nextGeneration);
+        assertEquals(block.getWords().length * Long.BYTES + 4 * Long.BYTES + 4, dirtyTileEngine.estimateRetainedBytes());
+    }
+
+    @Test
+    public void unrelatedGridRecomputesAllTiles() {
+        DirtyTileGenerationEngine dirtyTileEngine = new DirtyTileGenerationEngine(swarEngine);
+        PackedGrid empty = new PackedGrid(64, 64);
+
+        dirtyTileEngine.step(dirtyTileEngine.step(empty));
+        assertEquals(2, dirtyTileEngine.getLastSkippedTileCount());
+
+        dirtyTileEngine.step(new PackedGrid(64, 64));
+        assertEquals(0, dirtyTileEngine.getLastSkippedTileCount());
+    }
+
+    @Test
+    public void editsToReturnedGridRecomputeOnlyTheirNeighborhood() {
+        DirtyTileGenerationEngine dirtyTileEngine = new DirtyTileGenerationEngine(swarEngine, 16, 1);
+        PackedGrid nextGeneration = dirtyTileEngine.step(dirtyTileEngine.step(new PackedGrid(64, 256)));
+
+        nextGeneration.setAlive(199, 40, true);
+        nextGeneration.setAlive(200, 40, true);
+        nextGeneration.setAlive(201, 40, true);
+
+        PackedGrid expected = swarEngine.step(nextGeneration);
+        assertEquals(expected, dirtyTileEngine.step(nextGeneration));
+        assertEquals(16 - 6, dirtyTileEngine.getLastSkippedTileCount());
+        assertEquals(3, expected.countLiveCells());
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.kata.cgl.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.exception.UnknownTopologyException;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class GhostBorderGenerationEngineTest {
+
+    private final GenerationEngine boundedEngine = new GhostBorderGenerationEngine();
+    private final GenerationEngine torusEngine = new GhostBorderGenerationEngine(LifeRule.CONWAY, Topology.TORUS);
+
+    private PackedGrid buildRandomPackedGrid(int rowCount, int columnCount, long seed) {
+        Random random = new Random(seed);
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int y=0; y < rowCount; y++) {
+            for (int x=0; x < columnCount; x++) {
+                packedGrid.setAlive(x, y, random.nextInt(5) < 2);
+            }
+        }
+
+        return packedGrid;
+    }
+
+    private PackedGrid stepByWrappingEveryNeighbor(LifeRule lifeRule, PackedGrid currentGeneration) {
+        PackedGrid nextGeneration = currentGeneration.emptyCopy();
+        int rowCount = currentGeneration.getRowCount();
+        int columnCount = currentGeneration.getColumnCount();
+
+        for (int y=0; y < rowCount; y++) {
+            for (int x=0; x < columnCount; x++) {
+                int aliveNeighborCount = 0;
+
+                for (int dy=-1; dy <= 1; dy++) {
+                    for (int dx=-1; dx <= 1; dx++) {
+                        if ((dx != 0 || dy != 0) && currentGeneration.isAlive(Math.floorMod(x + dx, columnCount), Math.floorMod(y + dy, rowCount))) {
+                            aliveNeighborCount++;
+                        }
+                    }
+                }
+
+                nextGeneration.setAlive(x, y, lifeRule.nextState(currentGeneration.isAlive(x, y), aliveNeighborCount));
+            }
+        }
+
+        return nextGeneration;
+    }
+
+    @Test
+    public void boundedTopologyMatchesSwarEngine() {
+        int[][] dimensions = {{6, 8}, {12, 64}, {5, 129}, {1, 3}, {3, 1}, {16, 65}, {70, 128}};
+        GenerationEngine swarEngine = new SwarGenerationEngine();
+
+        for (int i=0; i < dimensions.length; i++) {
+            PackedGrid packedGrid = buildRandomPackedGrid(dimensions[i][0], dimensions[i][1], i);
+            assertEquals(swarEngine.step(packedGrid), boundedEngine.step(packedGrid));
+            assertEquals(swarEngine.step(packedGrid, 9), boundedEngine.step(packedGrid, 9));
+        }
+    }
+
+    @Test
+    public void torusCrossChecksAgainstWrappingEveryNeighbor() throws Exception {
+        int[][] dimensions = {{6, 8}, {12, 64}, {5, 129}, {1, 3}, {3, 1}, {1, 1}, {2, 2}, {16, 65}, {9, 63}};
+
+        for (String rulestring : new String[] {"B3/S23", "B36/S23", "B2/S"}) {
+            LifeRule lifeRule = LifeRule.parse(rulestring);
+            GenerationEngine engine = lifeRule.createEngine(GenerationEngineType.SWAR, Topology.TORUS);
+
+            for (int i=0; i < dimensions.length; i++) {
+                PackedGrid packedGrid = buildRandomPackedGrid(dimensions[i][0], dimensions[i][1], i);
+                PackedGrid expected = packedGrid;
+
+                for (int generation=0; generation < 4; generation++) {
+                    expected = stepByWrappingEveryNeighbor(lifeRule, expected);
+                }
+
+                assertEquals(rulestring + " " + dimensions[i][0] + "x" + dimensions[i][1], expected, engine.step(packedGrid, 4));
+            }
+        }
+    }
+
+    private PackedGrid buildGlider(int rowCount, int columnCount, int offset) {
+        int[][] cells = {{1, 0}, {2, 1}, {0, 2}, {1, 2}, {2, 2}};
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int[] cell : cells) {
+            packedGrid.setAlive(Math.floorMod(cell[0] + offset, columnCount), Math.floorMod(cell[1] + offset, rowCount), true);
+        }
+
+        return packedGrid;
+    }
+
+    @Test
+    public void gliderWrapsAroundTorus() {
+        PackedGrid glider = buildGlider(10, 70, 0);
+
+        assertEquals(buildGlider(10, 70, 9), torusEngine.step(glider, 4 * 9));
+        assertEquals(buildGlider(10, 70, 69), torusEngine.step(glider, 4 * 69));
+        assertEquals(glider, torusEngine.step(glider, 4 * 70));
+    }
+
+    @Test
+    public void emptyGridsStayEmpty() {
+        assertEquals(new PackedGrid(0, 5), torusEngine.step(new PackedGrid(0, 5)));
+        assertEquals(new PackedGrid(5, 0), torusEngine.step(new PackedGrid(5, 0), 3));
+    }
+
+    @Test
+    public void topologyIsSelectableByName() throws Exception {
+        assertEquals(Topology.TORUS, Topology.fromString("torus"));
+        assertEquals(Topology.BOUNDED, Topology.fromString("BOUNDED"));
+        assertNull(Topology.fromString("klein-bottle"));
+        assertEquals(Topology.BOUNDED, Topology.parse(null));
+        assertEquals(GenerationEngineType.GHOST_BORDER, GenerationEngineType.fromString("ghost-border"));
+    }
+
+    @Test(expected = UnknownTopologyException.class)
+    public void rejectsUnknownTopology() throws Exception {
+        Topology.parse("klein-bottle");
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.kata.cgl.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.grid.PackedGrid;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(SpringRunner.class)
+public class InstrumentedGenerationEngineTest {
+
+    private final SwarGenerationEngine swarEngine = new SwarGenerationEngine();
+
+    private PackedGrid buildBlinker(int rowCount, int columnCount) {
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+        packedGrid.setAlive(0, 1, true);
+        packedGrid.setAlive(1, 1, true);
+        packedGrid.setAlive(2, 1, true);
+        return packedGrid;
+    }
+
+    @Test
+    public void stepsAreTimedAndCountedByEngineAndBoardSize() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GenerationEngine instrumentedEngine = new GenerationMetrics(meterRegistry, true).instrument(swarEngine);
+        PackedGrid blinker = buildBlinker(5, 40);
+
+        assertEquals(swarEngine.step(blinker, 3), instrumentedEngine.step(blinker, 3));
+        instrumentedEngine.step(blinker);
+
+        assertEquals(2, meterRegistry.get(InstrumentedGenerationEngine.LATENCY_METER).tags("engine", swarEngine.getName(), "board.size", "64").timer().count());
+        assertEquals(5 * 40 * 4, meterRegistry.get(InstrumentedGenerationEngine.CELL_UPDATES_METER).counter().count(), 0);
+        assertEquals(6, meterRegistry.get(InstrumentedGenerationEngine.POPULATION_METER).summary().totalAmount(), 0);
+    }
+
+    @Test
+    public void dirtyTileStepsPublishSkippedTileCounts() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DirtyTileGenerationEngine dirtyTileEngine = new DirtyTileGenerationEngine(swarEngine);
+        GenerationEngine instrumentedEngine = new GenerationMetrics(meterRegistry, true).instrument(dirtyTileEngine);
+
+        instrumentedEngine.step(buildBlinker(128, 256), 3);
+
+        assertEquals(dirtyTileEngine.getTotalTileCount(), meterRegistry.get(InstrumentedGenerationEngine.TILES_METER).tags("engine", dirtyTileEngine.getName()).counter().count(), 0);
+        assertEquals(dirtyTileEngine.getTotalSkippedTileCount(), meterRegistry.get(InstrumentedGenerationEngine.SKIPPED_TILES_METER).tags("engine", dirtyTileEngine.getName()).counter().count(), 0);
+        assertEquals(2 * (16 - 4), dirtyTileEngine.getTotalSkippedTileCount());
+        assertTrue(meterRegistry.find(InstrumentedGenerationEngine.SKIPPED_TILES_METER).tags("engine", swarEngine.getName()).counter() == null);
+    }
+
+    @Test
+    public void disabledMetricsLeaveEngineUnwrapped() {
+        assertSame(swarEngine, GenerationMetrics.disabled().instrument(swarEngine));
+    }
+
+    @Test
+    public void boardSizeIsBucketedToNextPowerOfTwo() {
+        assertEquals(1, InstrumentedGenerationEngine.boardSizeClass(new PackedGrid(1, 1)));
+        assertEquals(8, InstrumentedGenerationEngine.boardSizeClass(new PackedGrid(6, 8)));
+        assertEquals(128, InstrumentedGenerationEngine.boardSizeClass(new PackedGrid(65, 3)));
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.kata.cgl.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.exception.InvalidRuleException;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class LargerThanLifeGenerationEngineTest {
+
+    private PackedGrid buildRandomPackedGrid(int rowCount, int columnCount, long seed) {
+        Random random = new Random(seed);
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int y=0; y < rowCount; y++) {
+            for (int x=0; x < columnCount; x++) {
+                packedGrid.setAlive(x, y, random.nextInt(5) < 2);
+            }
+        }
+
+        return packedGrid;
+    }
+
+    private PackedGrid stepByCountingEveryNeighbor(LargerThanLifeRule rule, PackedGrid currentGeneration) {
+        return stepByCountingEveryNeighbor(rule, currentGeneration, Topology.BOUNDED);
+    }
+
+    private PackedGrid stepByCountingEveryNeighbor(LargerThanLifeRule rule, PackedGrid currentGeneration, Topology topology) {
+        PackedGrid nextGeneration = currentGeneration.emptyCopy();
+        int range = rule.getRange();
+
+        for (int y=0; y < currentGeneration.getRowCount(); y++) {
+            for (int x=0; x < currentGeneration.getColumnCount(); x++) {
+                int aliveCount = 0;
+
+                for (int dy=-range; dy <= range; dy++) {
+                    for (int dx=-range; dx <= range; dx++) {
+                        boolean inNeighborhood = rule.getNeighborhoodType() == NeighborhoodType.MOORE || Math.abs(dx) + Math.abs(dy) <= range;
+                        boolean counted = (dx != 0 || dy != 0) || rule.isIncludesCenter();
+                        int neighborX = x + dx;
+                        int neighborY = y + dy;
+
+                        if (topology == Topology.TORUS) {
+                            neighborX = Math.floorMod(neighborX, currentGeneration.getColumnCount());
+                            neighborY = Math.floorMod(neighborY, currentGeneration.getRowCount());
+                        }
+
+                        if (inNeighborhood && counted && neighborX >= 0 && neighborY >= 0
+                                && neighborX < currentGeneration.getColumnCount() && neighborY < currentGeneration.getRowCount()
+                                && currentGeneration.isAlive(neighborX, neighborY)) {
+                            aliveCount++;
+                        }
+                    }
+                }
+
+                nextGeneration.setAlive(x, y, rule.nextState(currentGeneration.isAlive(x, y), aliveCount));
+            }
+        }
+
+        return nextGeneration;
+    }
+
+    @Test
+    public void parsesAndFormatsGollyRulestrings() throws Exception {
+        LargerThanLifeRule bosco = LargerThanLifeRule.parse("R5,C0,M1,S34..58,B34..45,NM");
+
+        assertEquals(5, bosco.getRange());
+        assertEquals(NeighborhoodType.MOORE, bosco.getNeighborhoodType());
+        assertTrue(bosco.isIncludesCenter());
+        assertEquals("R5,C0,M1,S34..58,B34..45,NM", bosco.toString());
+        assertEquals("R2,C0,M0,S2..3,B3..3,NN", LargerThanLifeRule.parse("r2,s2..3,b3,nn").toString());
+        assertEquals(bosco, GenerationRule.parse(" R5, C0, M1, S34..58, B34..45, NM "));
+    }
+
+    @Test
+    public void rejectsMalformedRulestrings() {
+        String[] rulestrings = {"R0,S1..2,B3..3", "R501,S1..2,B3..3", "R2,C3,S1..2,B3..3", "R2,S1..2", "R2,S1..2,B0..3",
+                "R2,S5..2,B3..3", "R2,S1..2,B3..3,NX", "R2,S1..2,B3..3,X1", "R2,,S1..2,B3..3"};
+
+        for (String rulestring : rulestrings) {
+            try {
+                LargerThanLifeRule.parse(rulestring);
+                throw new AssertionError(rulestring + " should have been rejected");
+            } catch (InvalidRuleException e) {
+                assertTrue(e.getMessage().contains(rulestring));
+            }
+        }
+    }
+
+    @Test
+    public void rangeOneMooreRuleMatchesConway() throws Exception {
+        GenerationEngine largerThanLifeEngine = LargerThanLifeRule.parse("R1,C0,M0,S2..3,B3..3,NM").createEngine(GenerationEngineType.SWAR);
+        GenerationEngine swarEngine = new SwarGenerationEngine();
+        int[][] dimensions = {{6, 8}, {12, 64}, {5, 129}, {1, 3}, {3, 1}, {16, 65}};
+
+        for (int i=0; i < dimensions.length; i++) {
+            PackedGrid packedGrid = buildRandomPackedGrid(dimensions[i][0], dimensions[i][1], i);
+            assertEquals(swarEngine.step(packedGrid, 5), largerThanLifeEngine.step(packedGrid, 5));
+        }
+    }
+
+    @Test
+    public void crossChecksAgainstCountingEveryNeighbor() throws Exception {
+        String[] rulestrings = {"R2,C0,M0,S4..9,B5..8,NM", "R3,C0,M1,S8..16,B9..13,NM", "R7,C0,M1,S40..80,B45..60,NM",
+                "R2,C0,M0,S2..5,B3..4,NN", "R3,C0,M1,S6..11,B7..9,NN", "R7,C0,M0,S20..45,B25..35,NN"};
+        int[][] dimensions = {{9, 9}, {20, 70}, {3, 4}, {1, 17}, {33, 2}};
+
+        for (String rulestring : rulestrings) {
+            LargerThanLifeRule rule = LargerThanLifeRule.parse(rulestring);
+            GenerationEngine engine = new LargerThanLifeGenerationEngine(rule);
+
+            for (int i=0; i < dimensions.length; i++) {
+                PackedGrid packedGrid = buildRandomPackedGrid(dimensions[i][0], dimensions[i][1], rulestring.hashCode() + i);
+                assertEquals(rulestring + " " + dimensions[i][0] + "x" + dimensions[i][1],
+                        stepByCountingEveryNeighbor(rule, packedGrid), engine.step(packedGrid));
+            }
+        }
+    }
+
+    @Test
+    public void crossChecksTorusAgainstCountingEveryNeighbor() throws Exception {
+        String[] rulestrings = {"R2,C0,M0,S4..9,B5..8,NM", "R5,C0,M1,S30..60,B34..45,NM", "R2,C0,M1,S3..6,B4..5,NN", "R4,C0,M0,S10..20,B12..16,NN"};
+        int[][] dimensions = {{9, 9}, {20, 70}, {3, 4}, {1, 17}, {33, 2}};
+
+        for (String rulestring : rulestrings) {
+            LargerThanLifeRule rule = LargerThanLifeRule.parse(rulestring);
+            GenerationEngine engine = rule.createEngine(GenerationEngineType.SWAR, Topology.TORUS);
+
+            for (int i=0; i < dimensions.length; i++) {
+                PackedGrid packedGrid = buildRandomPackedGrid(dimensions[i][0], dimensions[i][1], rulestring.hashCode() - i);
+                assertEquals(rulestring + " " + dimensions[i][0] + "x" + dimensions[i][1],
+                        stepByCountingEveryNeighbor(rule, packedGrid, Topology.TORUS), engine.step(packedGrid));
+            }
+        }
+    }
+
+    @Test
+    public void emptyGridStaysEmpty() throws Exception {
+        GenerationEngine engine = new LargerThanLifeGenerationEngine(LargerThanLifeRule.parse("R10,C0,M1,S1..200,B1..200,NN"));
+        assertEquals(0, engine.step(new PackedGrid(40, 40)).countLiveCells());
+        assertEquals(0, engine.step(new PackedGrid(0, 5)).countLiveCells());
+    }
+
+}
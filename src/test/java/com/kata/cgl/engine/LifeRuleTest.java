@@ -0,0 +1,100 @@
+package com.kata.cgl.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.exception.InvalidRuleException;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class LifeRuleTest {
+
+    private static final String[] RULESTRINGS = {"B36/S23", "B2/S", "B3678/S34678", "B1357/S1357", "B35678/S5678", "B3/S012345678"};
+
+    private PackedGrid buildRandomPackedGrid(int rowCount, int columnCount, long seed) {
+        Random random = new Random(seed);
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int y=0; y < rowCount; y++) {
+            for (int x=0; x < columnCount; x++) {
+                packedGrid.setAlive(x, y, random.nextInt(5) < 2);
+            }
+        }
+
+        return packedGrid;
+    }
+
+    @Test
+    public void parsesBirthSurvivalAndLegacyNotations() throws Exception {
+        assertSame(LifeRule.CONWAY, LifeRule.parse("B3/S23"));
+        assertSame(LifeRule.CONWAY, LifeRule.parse("b3s23"));
+        assertSame(LifeRule.CONWAY, LifeRule.parse("S23/B3"));
+        assertSame(LifeRule.CONWAY, LifeRule.parse("23/3"));
+        assertSame(LifeRule.CONWAY, LifeRule.parse(null));
+        assertEquals("B36/S23", LifeRule.parse("23/36").toString());
+        assertEquals("B2/S", LifeRule.parse("B2/S").toString());
+        assertEquals(LifeRule.parse("B3678/S34678"), LifeRule.parse("S87643/B8763"));
+    }
+
+    @Test(expected = InvalidRuleException.class)
+    public void rejectsNeighbourCountsAboveEight() throws Exception {
+        LifeRule.parse("B39/S23");
+    }
+
+    @Test(expected = InvalidRuleException.class)
+    public void rejectsBirthOnZeroNeighbours() throws Exception {
+        LifeRule.parse("B0/S8");
+    }
+
+    @Test
+    public void conwayTransitionsMatchTheClassicRules() {
+        for (int aliveNeighborCount=0; aliveNeighborCount <= LifeRule.MAX_NEIGHBOR_COUNT; aliveNeighborCount++) {
+            assertEquals(aliveNeighborCount == 3, LifeRule.CONWAY.nextState(false, aliveNeighborCount));
+            assertEquals(aliveNeighborCount == 2 || aliveNeighborCount == 3, LifeRule.CONWAY.nextState(true, aliveNeighborCount));
+        }
+    }
+
+    @Test
+    public void seedsBirthsCellsBesideAPairAndKillsThePair() throws Exception {
+        PackedGrid packedGrid = new PackedGrid(5, 4);
+        packedGrid.setAlive(1, 2, true);
+        packedGrid.setAlive(2, 2, true);
+
+        PackedGrid nextGeneration = new SwarGenerationEngine(LifeRule.parse("B2/S")).step(packedGrid);
+
+        assertEquals(4, nextGeneration.countLiveCells());
+        assertTrue(nextGeneration.isAlive(1, 1));
+        assertTrue(nextGeneration.isAlive(2, 1));
+        assertTrue(nextGeneration.isAlive(1, 3));
+        assertTrue(nextGeneration.isAlive(2, 3));
+        assertFalse(nextGeneration.isAlive(1, 2));
+    }
+
+    @Test
+    public void everyEngineTypeAgreesWithTheReferenceEngine() throws Exception {
+        for (String rulestring : RULESTRINGS) {
+            LifeRule lifeRule = LifeRule.parse(rulestring);
+            GenerationEngine referenceEngine = new ReferenceGenerationEngine(lifeRule);
+            PackedGrid packedGrid = buildRandomPackedGrid(23, 70, rulestring.hashCode());
+
+            for (int generation=0; generation < 3; generation++) {
+                PackedGrid expected = referenceEngine.step(packedGrid);
+
+                for (GenerationEngineType generationEngineType : GenerationEngineType.values()) {
+                    assertEquals(rulestring + " " + generationEngineType, expected, generationEngineType.createEngine(lifeRule).step(packedGrid));
+                }
+
+                packedGrid = expected;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.kata.cgl.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.grid.MappedGrid;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class MappedBandGenerationEngineTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final SwarGenerationEngine swarEngine = new SwarGenerationEngine();
+
+    private PackedGrid buildRandomPackedGrid(int rowCount, int columnCount, long seed) {
+        Random random = new Random(seed);
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int y=0; y < rowCount; y++) {
+            for (int x=0; x < columnCount; x++) {
+                packedGrid.setAlive(x, y, random.nextBoolean());
+            }
+        }
+
+        return packedGrid;
+    }
+
+    private Path boardPath() {
+        return temporaryFolder.getRoot().toPath().resolve("board.cgl");
+    }
+
+    @Test
+    public void matchesInMemoryEngineAcrossBands() throws IOException {
+        PackedGrid packedGrid = buildRandomPackedGrid(101, 150, 21);
+        MappedBandGenerationEngine mappedEngine = new MappedBandGenerationEngine(swarEngine, 7);
+
+        try (MappedGrid mappedGrid = MappedGrid.create(boardPath(), packedGrid)) {
+            mappedEngine.step(mappedGrid, 12);
+
+            assertEquals(12, mappedGrid.getGeneration());
+            assertEquals(swarEngine.step(packedGrid, 12), mappedGrid.toPackedGrid());
+        }
+    }
+
+    @Test
+    public void reopenedBoardContinuesFromLastGeneration() throws IOException {
+        PackedGrid packedGrid = buildRandomPackedGrid(64, 70, 22);
+        MappedBandGenerationEngine mappedEngine = new MappedBandGenerationEngine(new BitboardGenerationEngine());
+
+        try (MappedGrid mappedGrid = MappedGrid.create(boardPath(), packedGrid)) {
+            mappedEngine.step(mappedGrid, 3);
+            mappedGrid.force();
+        }
+
+        try (MappedGrid reopenedGrid = MappedGrid.open(boardPath())) {
+            assertEquals(3, reopenedGrid.getGeneration());
+            assertEquals(64, reopenedGrid.getRowCount());
+            assertEquals(70, reopenedGrid.getColumnCount());
+
+            mappedEngine.step(reopenedGrid, 2);
+            assertEquals(swarEngine.step(packedGrid, 5), reopenedGrid.toPackedGrid());
+            assertEquals(reopenedGrid.toPackedGrid().countLiveCells(), reopenedGrid.countLiveCells());
+        }
+    }
+
+    @Test
+    public void cellsCanBeEditedInPlace() throws IOException {
+        try (MappedGrid mappedGrid = MappedGrid.create(boardPath(), 3, 3)) {
+            mappedGrid.setAlive(0, 1, true);
+            mappedGrid.setAlive(1, 1, true);
+            mappedGrid.setAlive(2, 1, true);
+
+            new MappedBandGenerationEngine(swarEngine).step(mappedGrid, 1);
+
+            assertTrue(mappedGrid.isAlive(1, 0));
+            assertTrue(mappedGrid.isAlive(1, 2));
+            assertEquals(3, mappedGrid.countLiveCells());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void readingOutsideBoardIsRejected() throws IOException {
+        try (MappedGrid mappedGrid = MappedGrid.create(boardPath(), 3, 70)) {
+            mappedGrid.isAlive(64, 3);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsFilesThatAreNotBoards() throws IOException {
+        Files.write(boardPath(), new byte[MappedGrid.HEADER_BYTES]);
+        MappedGrid.open(boardPath());
+    }
+
+}
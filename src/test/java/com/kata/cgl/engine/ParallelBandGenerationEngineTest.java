@@ -0,0 +1,79 @@
+package com.kata.cgl.engine;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class ParallelBandGenerationEngineTest {
+
+    private final BitboardGenerationEngine bitboardEngine = new BitboardGenerationEngine();
+
+    private PackedGrid buildRandomPackedGrid(int rowCount, int columnCount, long seed) {
+        Random random = new Random(seed);
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int y=0; y < rowCount; y++) {
+            for (int x=0; x < columnCount; x++) {
+                packedGrid.setAlive(x, y, random.nextBoolean());
+            }
+        }
+
+        return packedGrid;
+    }
+
+    @Test
+    public void matchesSequentialEngineOnForkJoinPool() {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+        try {
+            GenerationEngine parallelEngine = new ParallelBandGenerationEngine(bitboardEngine, forkJoinPool, 4, 7);
+            PackedGrid packedGrid = buildRandomPackedGrid(301, 200, 1);
+
+            assertEquals(bitboardEngine.step(packedGrid, 10), parallelEngine.step(packedGrid, 10));
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void matchesSequentialEngineOnConfiguredExecutor() {
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+
+        try {
+            GenerationEngine parallelEngine = new ParallelBandGenerationEngine(bitboardEngine, executorService, 3, 0);
+            PackedGrid packedGrid = buildRandomPackedGrid(500, 90, 2);
+
+            assertEquals(bitboardEngine.step(packedGrid, 5), parallelEngine.step(packedGrid, 5));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void smallGridsAreSteppedAsOneBand() {
+        GenerationEngine parallelEngine = new ParallelBandGenerationEngine(bitboardEngine);
+        PackedGrid packedGrid = buildRandomPackedGrid(6, 8, 3);
+
+        assertEquals("parallel-bitboard", parallelEngine.getName());
+        assertEquals(bitboardEngine.step(packedGrid), parallelEngine.step(packedGrid));
+    }
+
+    @Test
+    public void bandRowCountSpreadsRowsAcrossThreads() {
+        ParallelBandGenerationEngine parallelEngine = new ParallelBandGenerationEngine(bitboardEngine, ForkJoinPool.commonPool(), 32, 0);
+
+        assertEquals(32, parallelEngine.determineBandRowCount(4096));
+        assertEquals(ParallelBandGenerationEngine.MINIMUM_BAND_ROW_COUNT, parallelEngine.determineBandRowCount(100));
+    }
+
+}
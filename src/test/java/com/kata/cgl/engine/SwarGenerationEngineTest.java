@@ -0,0 +1,67 @@
+package com.kata.cgl.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class SwarGenerationEngineTest {
+
+    private final GenerationEngine swarEngine = new SwarGenerationEngine();
+    private final GenerationEngine referenceEngine = new ReferenceGenerationEngine();
+
+    private PackedGrid buildRandomPackedGrid(int rowCount, int columnCount, long seed) {
+        Random random = new Random(seed);
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int y=0; y < rowCount; y++) {
+            for (int x=0; x < columnCount; x++) {
+                packedGrid.setAlive(x, y, random.nextInt(5) < 2);
+            }
+        }
+
+        return packedGrid;
+    }
+
+    @Test
+    public void crossChecksAgainstDetermineNextGenerationStatePath() {
+        int[][] dimensions = {{6, 8}, {12, 64}, {5, 129}, {1, 3}, {3, 1}, {16, 65}};
+
+        for (int i=0; i < dimensions.length; i++) {
+            PackedGrid packedGrid = buildRandomPackedGrid(dimensions[i][0], dimensions[i][1], i);
+
+            for (int generation=0; generation < 4; generation++) {
+                PackedGrid expected = referenceEngine.step(packedGrid);
+                assertEquals(expected, swarEngine.step(packedGrid));
+                packedGrid = expected;
+            }
+        }
+    }
+
+    @Test
+    public void matchesBitboardEngineOnLargeGrid() {
+        PackedGrid packedGrid = buildRandomPackedGrid(300, 333, 42);
+        assertEquals(new BitboardGenerationEngine().step(packedGrid, 20), swarEngine.step(packedGrid, 20));
+    }
+
+    @Test
+    public void engineTypeIsSelectableByName() {
+        assertEquals(GenerationEngineType.SWAR, GenerationEngineType.fromString("swar"));
+        assertEquals(GenerationEngineType.PARALLEL_SWAR, GenerationEngineType.fromString("parallel-swar"));
+        assertEquals(GenerationEngineType.REFERENCE, GenerationEngineType.fromString("REFERENCE"));
+        assertNull(GenerationEngineType.fromString("unknown"));
+
+        for (GenerationEngineType generationEngineType : GenerationEngineType.values()) {
+            PackedGrid packedGrid = buildRandomPackedGrid(20, 20, 5);
+            assertEquals(referenceEngine.step(packedGrid), generationEngineType.createEngine().step(packedGrid));
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.kata.cgl.engine.hashlife;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.engine.BitboardGenerationEngine;
+import com.kata.cgl.engine.GenerationEngine;
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.engine.SwarGenerationEngine;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class HashLifeUniverseTest {
+
+    private PackedGrid buildGlider(int rowCount, int columnCount) {
+        PackedGrid glider = new PackedGrid(rowCount, columnCount);
+        glider.setAlive(1, 0, true);
+        glider.setAlive(2, 1, true);
+        glider.setAlive(0, 2, true);
+        glider.setAlive(1, 2, true);
+        glider.setAlive(2, 2, true);
+        return glider;
+    }
+
+    private PackedGrid buildCenteredSoup(int boardSize, int soupSize, long seed) {
+        Random random = new Random(seed);
+        PackedGrid soup = new PackedGrid(boardSize, boardSize);
+        int offset = (boardSize - soupSize) / 2;
+
+        for (int y=0; y < soupSize; y++) {
+            for (int x=0; x < soupSize; x++) {
+                soup.setAlive(offset + x, offset + y, random.nextBoolean());
+            }
+        }
+
+        return soup;
+    }
+
+    @Test
+    public void matchesBitboardEngineWhilePatternStaysInsideGrid() {
+        GenerationEngine bitboardEngine = new BitboardGenerationEngine();
+        PackedGrid soup = buildCenteredSoup(100, 16, 7);
+
+        for (int generations : new int[] {1, 2, 3, 7, 16, 30}) {
+            HashLifeUniverse universe = HashLifeUniverse.fromPackedGrid(soup, HashLifeUniverse.DEFAULT_MAX_NODE_COUNT);
+            universe.advance(generations);
+
+            assertEquals(generations, universe.getGeneration());
+            assertEquals(bitboardEngine.step(soup, generations), universe.toPackedGrid(100, 100));
+        }
+    }
+
+    @Test
+    public void advancesGliderOneMillionGenerations() {
+        HashLifeUniverse universe = HashLifeUniverse.fromPackedGrid(buildGlider(8, 8), HashLifeUniverse.DEFAULT_MAX_NODE_COUNT);
+        universe.advance(1000000);
+
+        long displacement = 1000000 / 4;
+        assertEquals(5, universe.getPopulation());
+        assertTrue(universe.isAlive(1 + displacement, 0 + displacement));
+        assertTrue(universe.isAlive(2 + displacement, 1 + displacement));
+        assertTrue(universe.isAlive(0 + displacement, 2 + displacement));
+        assertTrue(universe.isAlive(1 + displacement, 2 + displacement));
+        assertTrue(universe.isAlive(2 + displacement, 2 + displacement));
+    }
+
+    @Test
+    public void garbageCollectionKeepsResultsCorrect() {
+        GenerationEngine bitboardEngine = new BitboardGenerationEngine();
+        PackedGrid soup = buildCenteredSoup(128, 24, 11);
+
+        HashLifeUniverse universe = HashLifeUniverse.fromPackedGrid(soup, 64);
+        for (int i=0; i < 20; i++) {
+            universe.advance(1);
+        }
+
+        assertTrue(universe.getGarbageCollectionCount() > 0);
+        assertEquals(bitboardEngine.step(soup, 20), universe.toPackedGrid(128, 128));
+    }
+
+    @Test
+    public void engineExportsIntoOriginalDimensions() {
+        GenerationEngine hashLifeEngine = new HashLifeGenerationEngine();
+        PackedGrid nextGeneration = hashLifeEngine.step(buildGlider(10, 12), 4);
+
+        assertEquals(10, nextGeneration.getRowCount());
+        assertEquals(12, nextGeneration.getColumnCount());
+        assertEquals(buildGlider(10, 12).countLiveCells(), nextGeneration.countLiveCells());
+        assertTrue(nextGeneration.isAlive(2, 1));
+        assertTrue(nextGeneration.isAlive(3, 3));
+    }
+
+    @Test
+    public void engineTreatsCellsOutsideGridAsDead() {
+        GenerationEngine bitboardEngine = new BitboardGenerationEngine();
+        GenerationEngine hashLifeEngine = new HashLifeGenerationEngine();
+        PackedGrid soup = buildCenteredSoup(40, 40, 3);
+
+        for (int generations : new int[] {1, 5, 64, 200}) {
+            assertEquals(bitboardEngine.step(soup, generations), hashLifeEngine.step(soup, generations));
+        }
+
+        assertEquals(bitboardEngine.step(buildGlider(10, 12), 100), hashLifeEngine.step(buildGlider(10, 12), 100));
+    }
+
+    @Test
+    public void engineGivesSameResultHoweverStepsAreSplit() {
+        GenerationEngine hashLifeEngine = new HashLifeGenerationEngine();
+        PackedGrid soup = buildCenteredSoup(33, 33, 5);
+        PackedGrid expected = new HashLifeGenerationEngine().step(soup, 50);
+        PackedGrid generation = soup;
+
+        for (int chunk : new int[] {1, 2, 4, 8, 16, 19}) {
+            generation = hashLifeEngine.step(generation, chunk);
+        }
+
+        assertEquals(expected, generation);
+        assertTrue(hashLifeEngine.estimateRetainedBytes() > (long) HashLifeUniverse.ESTIMATED_NODE_BYTES * 33);
+
+        generation.setAlive(0, 0, !generation.isAlive(0, 0));
+        assertEquals(new BitboardGenerationEngine().step(generation), hashLifeEngine.step(generation));
+    }
+
+    @Test
+    public void boundedGarbageCollectionKeepsResultsCorrect() {
+        GenerationEngine bitboardEngine = new BitboardGenerationEngine();
+        PackedGrid soup = buildCenteredSoup(64, 64, 13);
+
+        HashLifeUniverse universe = HashLifeUniverse.bounded(256, LifeRule.CONWAY);
+        universe.load(soup);
+        universe.advance(40);
+
+        assertTrue(universe.getGarbageCollectionCount() > 0);
+        assertEquals(40, universe.getGeneration());
+        assertEquals(bitboardEngine.step(soup, 40), universe.toPackedGrid(64, 64));
+    }
+
+    @Test(timeout = 5000)
+    public void engineJumpsOscillatorsAndGlidersMillionsOfGenerationsOnBoundedBoards() {
+        GenerationEngine swarEngine = new SwarGenerationEngine();
+        PackedGrid blinker = new PackedGrid(64, 64);
+        blinker.setAlive(31, 32, true);
+        blinker.setAlive(32, 32, true);
+        blinker.setAlive(33, 32, true);
+
+        assertEquals(swarEngine.step(blinker), new HashLifeGenerationEngine().step(blinker, 1000001));
+
+        PackedGrid glider = new PackedGrid(1024, 1024);
+        glider.setAlive(101, 100, true);
+        glider.setAlive(102, 101, true);
+        glider.setAlive(100, 102, true);
+        glider.setAlive(101, 102, true);
+        glider.setAlive(102, 102, true);
+
+        PackedGrid settled = swarEngine.step(glider, 4000);
+        assertEquals(settled, swarEngine.step(settled));
+        assertEquals(settled, new HashLifeGenerationEngine().step(glider, 3000000));
+    }
+
+    @Test
+    public void boundedJumpsMatchSwarAsSoupReachesTheEdges() {
+        PackedGrid soup = buildCenteredSoup(96, 20, 17);
+        HashLifeUniverse universe = HashLifeUniverse.bounded(HashLifeUniverse.DEFAULT_MAX_NODE_COUNT, LifeRule.CONWAY);
+        universe.load(soup);
+        universe.advance(700);
+
+        assertEquals(700, universe.getGeneration());
+        assertEquals(new SwarGenerationEngine().step(soup, 700), universe.toPackedGrid(96, 96));
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.kata.cgl.engine.sparse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.engine.BitboardGenerationEngine;
+import com.kata.cgl.engine.GenerationEngine;
+import com.kata.cgl.grid.Grid;
+import com.kata.cgl.grid.GridCell;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class SparseGenerationEngineTest {
+
+    private final GenerationEngine sparseEngine = new SparseGenerationEngine();
+
+    private PackedGrid buildRandomPackedGrid(int rowCount, int columnCount, int density, long seed) {
+        Random random = new Random(seed);
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int y=0; y < rowCount; y++) {
+            for (int x=0; x < columnCount; x++) {
+                packedGrid.setAlive(x, y, random.nextInt(100) < density);
+            }
+        }
+
+        return packedGrid;
+    }
+
+    @Test
+    public void matchesBitboardEngineOnRandomGrids() {
+        GenerationEngine bitboardEngine = new BitboardGenerationEngine();
+
+        for (int density : new int[] {2, 5, 35}) {
+            PackedGrid packedGrid = buildRandomPackedGrid(40, 150, density, density);
+            assertEquals(bitboardEngine.step(packedGrid, 12), sparseEngine.step(packedGrid, 12));
+        }
+    }
+
+    @Test
+    public void matchesDetermineNextGenerationStateThroughGrid() {
+        Grid grid = Grid.fromPackedGrid(buildRandomPackedGrid(7, 9, 40, 3));
+        Grid nextGenerationGrid = grid.buildNextGenerationGrid(sparseEngine);
+
+        for (int c=0; c < grid.getCellCount(); c++) {
+            GridCell currentGenGridCell = grid.retrieveGridCells().get(c);
+            assertEquals(grid.determineNextGenerationState(currentGenGridCell), nextGenerationGrid.retrieveGridCells().get(c).getGridCellState());
+        }
+    }
+
+    @Test
+    public void sparseGridStepsOnlyLiveNeighborhoods() {
+        SparseGrid sparseGrid = new SparseGrid(100000, 100000);
+        sparseGrid.setAlive(50000, 50000);
+        sparseGrid.setAlive(50001, 50000);
+        sparseGrid.setAlive(50002, 50000);
+
+        SparseGrid nextGeneration = new SparseGenerationEngine().step(sparseGrid, 1);
+
+        assertEquals(3, nextGeneration.getLiveCellCount());
+        assertTrue(nextGeneration.isAlive(50001, 49999));
+        assertTrue(nextGeneration.isAlive(50001, 50001));
+        assertFalse(nextGeneration.isAlive(50000, 50000));
+    }
+
+    @Test
+    public void liveCellsOnBoundaryOnlyCountNeighborsInsideGrid() {
+        SparseGrid sparseGrid = new SparseGrid(3, 3);
+        sparseGrid.setAlive(0, 0);
+        sparseGrid.setAlive(1, 0);
+        sparseGrid.setAlive(0, 1);
+
+        SparseGrid nextGeneration = new SparseGenerationEngine().step(sparseGrid, 1);
+
+        assertEquals(4, nextGeneration.getLiveCellCount());
+        assertTrue(nextGeneration.isAlive(1, 1));
+    }
+
+    @Test
+    public void singleGenerationStepsContinueFromReturnedBoardAndSeeEdits() {
+        GenerationEngine bitboardEngine = new BitboardGenerationEngine();
+        SparseGenerationEngine continuingEngine = new SparseGenerationEngine();
+        PackedGrid expected = buildRandomPackedGrid(60, 130, 8, 21);
+        PackedGrid actual = expected;
+
+        for (int generation=0; generation < 30; generation++) {
+            if (generation == 15) {
+                actual.setAlive(64, 30, !actual.isAlive(64, 30));
+                expected = actual.copy();
+            }
+
+            expected = bitboardEngine.step(expected);
+            actual = continuingEngine.step(actual);
+            assertEquals(expected, actual);
+        }
+
+        assertTrue(continuingEngine.estimateRetainedBytes() >= actual.getWords().length * Long.BYTES);
+    }
+
+    @Test
+    public void neighborCountsClearOnlyTheSlotsTheyUsed() {
+        LongIntHashMap neighborCounts = new LongIntHashMap(0);
+
+        for (long key=0; key < 1000; key++) {
+            neighborCounts.increment(key);
+            neighborCounts.increment(key);
+        }
+
+        int capacity = neighborCounts.capacity();
+        neighborCounts.clear(4);
+        neighborCounts.increment(7);
+
+        assertEquals(capacity, neighborCounts.capacity());
+        assertEquals(1, neighborCounts.size());
+        assertEquals(1, neighborCounts.get(7));
+        assertEquals(0, neighborCounts.get(8));
+        assertEquals(7, neighborCounts.keyAt(neighborCounts.slotAt(0)));
+    }
+
+}
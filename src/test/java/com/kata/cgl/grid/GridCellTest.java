@@ -18,8 +18,8 @@ public class GridCellTest {
 
     @Test
     public void defaultGridCellInitialization() {
-        Integer xCoordinate = 1;
-        Integer yCoordinate = 2;
+        int xCoordinate = 1;
+        int yCoordinate = 2;
 
         GridCell gridCell = new GridCell(new GridCoordinate(xCoordinate, yCoordinate), standardGridRowCount, standardGridColumnCount);
 
@@ -30,8 +30,8 @@ public class GridCellTest {
 
     @Test
     public void gridCellInitializationWithCellState() {
-        Integer xCoordinate = 1;
-        Integer yCoordinate = 2;
+        int xCoordinate = 1;
+        int yCoordinate = 2;
         GridCellState expectedGrillCellState = GridCellState.ALIVE;
 
         GridCell gridCell = new GridCell(new GridCoordinate(xCoordinate, yCoordinate), standardGridRowCount, standardGridColumnCount, expectedGrillCellState);
@@ -84,6 +84,21 @@ public class GridTest {
         grid.retrieveGridCells().remove(0);
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void gridCellViewsRejectStateChanges() {
+        Grid emptyGrid = getEmptyStandardGridMock();
+        emptyGrid.retrieveGridCells().get(0).breatheLife();
+    }
+
+    @Test
+    public void gridCellViewsEqualPlainGridCells() {
+        Grid emptyGrid = getEmptyStandardGridMock();
+        GridCell gridCell = new GridCell(new GridCoordinate(1, 2), standardGridRowCount, standardGridColumnCount);
+
+        assertEquals(gridCell, emptyGrid.retrieveGridCells().get(emptyGrid.retrieveGridCells().indexOf(gridCell)));
+        assertEquals(emptyGrid.retrieveGridCells().get(emptyGrid.retrieveGridCells().indexOf(gridCell)), gridCell);
+    }
+
     @Test
     public void buildGridRowUsesYCoordinateAsRowIndex() throws GridRowIndexOutOfBoundsException {
         Grid standardGrid = getEmptyStandardGridMock();
@@ -95,7 +110,7 @@ public class GridTest {
             boolean gridCellWithIncorrectYCoordinateFound = gridRow
                     .getRowCells()
                     .stream()
-                    .anyMatch(gridRowCell -> !gridRowCell.getyCoordinate().equals(rowIndex));
+                    .anyMatch(gridRowCell -> gridRowCell.getyCoordinate() != rowIndex);
 
             assertFalse(gridCellWithIncorrectYCoordinateFound);
         }
@@ -123,7 +138,7 @@ public class GridTest {
         Grid standardGrid = getEmptyStandardGridMock();
 
         for (int y=0; y < standardGridRowCount; y++) {
-            Integer correctXCoordinate = 0;
+            int correctXCoordinate = 0;
             GridRow gridRow = standardGrid.buildGridRow(y);
 
             for (GridCell gridCell : gridRow.getRowCells()) {
@@ -143,8 +158,8 @@ public class GridTest {
         for (int x=0; x < standardGridColumnCount; x++) {
             for (int y=0; y < standardGridRowCount; y++) {
                 GridCoordinate gridCoordinate = allGridCoordinates.get(gridCoordinateIndex);
-                assertEquals(x, gridCoordinate.getxCoordinate().intValue());
-                assertEquals(y, gridCoordinate.getyCoordinate().intValue());
+                assertEquals(x, gridCoordinate.getxCoordinate());
+                assertEquals(y, gridCoordinate.getyCoordinate());
                 gridCoordinateIndex++;
             }
         }
@@ -589,4 +604,48 @@ public class GridTest {
         assertFalse(standardGrid == nextGenerationGrid);
     }
 
+    @Test
+    public void gridCellViewsReadFromPackedCellStates() throws GridRowIndexOutOfBoundsException {
+        PackedGrid packedGrid = new PackedGrid(standardGridRowCount, standardGridColumnCount);
+        packedGrid.setAlive(3, 2, true);
+        Grid grid = Grid.fromPackedGrid(packedGrid);
+
+        assertEquals(GridCellState.ALIVE, grid.buildGridRow(2).getRowCells().get(3).getGridCellState());
+        assertEquals(GridCellState.ALIVE, grid.retrieveGridCells().get(3 * standardGridRowCount + 2).getGridCellState());
+        assertEquals(GridCellState.DEAD, grid.retrieveGridCells().get(3 * standardGridRowCount + 1).getGridCellState());
+        assertEquals(1, grid.findLiveGridCellNeighbors(new GridCell(new GridCoordinate(2, 2), standardGridRowCount, standardGridColumnCount)).size());
+        assertEquals(3 * standardGridRowCount + 2, grid.retrieveGridCells().indexOf(new GridCell(new GridCoordinate(3, 2), standardGridRowCount, standardGridColumnCount)));
+        assertTrue(grid.retrieveGridCells().get(standardGridRowCount - 1).isCornerCell());
+        assertTrue(grid.isAlive(3, 2));
+        assertFalse(grid.isAlive(2, 3));
+        assertEquals(1, grid.countLiveCells());
+    }
+
+    @Test
+    public void toPackedGridDoesNotExposeCellStates() {
+        Grid grid = new Grid(standardGridRowCount, standardGridColumnCount);
+
+        grid.toPackedGrid().setAlive(0, 0, true);
+
+        assertEquals(GridCellState.DEAD, grid.retrieveGridCells().get(0).getGridCellState());
+    }
+
+    @Test
+    public void gridRowsAreIndexedOnceInRowMajorOrder() throws GridRowIndexOutOfBoundsException {
+        Grid standardGrid = getEmptyStandardGridMock();
+        List<GridRow> gridRows = standardGrid.getGridRows();
+
+        assertTrue(gridRows == standardGrid.getGridRows());
+        assertTrue(gridRows.get(2) == standardGrid.buildGridRow(2));
+
+        for (int y=0; y < standardGridRowCount; y++) {
+            List<GridCell> rowCells = gridRows.get(y).getRowCells();
+            assertEquals(standardGridColumnCount, rowCells.size());
+
+            for (int x=0; x < standardGridColumnCount; x++) {
+                assertEquals(new GridCoordinate(x, y), rowCells.get(x).getGridCoordinate());
+            }
+        }
+    }
+
 }
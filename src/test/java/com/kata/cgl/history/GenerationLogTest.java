@@ -0,0 +1,195 @@
+package com.kata.cgl.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.engine.SwarGenerationEngine;
+import com.kata.cgl.exception.GenerationNotRecordedException;
+import com.kata.cgl.grid.Grid;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class GenerationLogTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final SwarGenerationEngine swarEngine = new SwarGenerationEngine();
+
+    private List<PackedGrid> buildGenerations(int generationCount) {
+        Random random = new Random(31);
+        PackedGrid packedGrid = new PackedGrid(40, 90);
+
+        for (int y=0; y < 40; y++) {
+            for (int x=0; x < 90; x++) {
+                packedGrid.setAlive(x, y, random.nextInt(3) == 0);
+            }
+        }
+
+        List<PackedGrid> generations = new ArrayList<>();
+        generations.add(packedGrid);
+
+        for (int generation=1; generation < generationCount; generation++) {
+            generations.add(swarEngine.step(generations.get(generation - 1)));
+        }
+
+        return generations;
+    }
+
+    private Path logDirectory() {
+        return temporaryFolder.getRoot().toPath().resolve("log");
+    }
+
+    private void appendAll(GenerationLog generationLog, List<PackedGrid> generations) {
+        for (int generation=0; generation < generations.size(); generation++) {
+            generationLog.append(generation, generations.get(generation));
+        }
+    }
+
+    @Test
+    public void seekReplaysDeltasFromNearestKeyframe() throws Exception {
+        List<PackedGrid> generations = buildGenerations(250);
+
+        try (GenerationLog generationLog = GenerationLog.open(logDirectory(), 10, 1L << 20, 16)) {
+            appendAll(generationLog, generations);
+
+            for (long generation : new long[] {0, 9, 10, 137, 249}) {
+                assertEquals(generations.get((int) generation), generationLog.seek(generation, swarEngine).getPackedGrid());
+            }
+
+            assertEquals(25, generationLog.getKeyframeCount());
+            assertEquals(swarEngine.step(generations.get(249), 5), generationLog.seek(254, swarEngine).getPackedGrid());
+        }
+    }
+
+    @Test
+    public void reopenedLogRebuildsIndexAcrossSegmentsAndDropsTornTail() throws Exception {
+        List<PackedGrid> generations = buildGenerations(120);
+
+        try (GenerationLog generationLog = GenerationLog.open(logDirectory(), 8, 2048, 4)) {
+            appendAll(generationLog, generations.subList(0, 100));
+            generationLog.flush();
+            assertTrue(generationLog.getSegmentCount() > 1);
+        }
+
+        List<Path> segments = Files.list(logDirectory()).sorted().collect(Collectors.toList());
+        Files.write(segments.get(segments.size() - 1), new byte[] {0, 0, 1, 0, 2, 9}, StandardOpenOption.APPEND);
+
+        try (GenerationLog reopenedLog = GenerationLog.open(logDirectory(), 8, 2048, 4)) {
+            assertEquals(generations.get(57), reopenedLog.seek(57, swarEngine).getPackedGrid());
+
+            for (int generation=100; generation < 120; generation++) {
+                reopenedLog.append(generation, generations.get(generation));
+            }
+
+            assertEquals(generations.get(99), reopenedLog.seek(99, swarEngine).getPackedGrid());
+            assertEquals(generations.get(113), reopenedLog.seek(113, swarEngine).getPackedGrid());
+        }
+    }
+
+    @Test
+    public void gridsCanBeAppendedAndSought() throws Exception {
+        Grid grid = Grid.fromPackedGrid(buildGenerations(1).get(0));
+
+        try (GenerationLog generationLog = GenerationLog.open(logDirectory(), 4, 1L << 20, 4)) {
+            generationLog.append(0, grid);
+            generationLog.append(1, grid.buildNextGenerationGrid());
+
+            assertEquals(grid.buildNextGenerationGrid().toPackedGrid(), generationLog.seekGrid(1, swarEngine).toPackedGrid());
+        }
+    }
+
+    @Test(expected = GenerationNotRecordedException.class)
+    public void seekBeforeFirstKeyframeIsNotRecorded() throws Exception {
+        try (GenerationLog generationLog = GenerationLog.open(logDirectory(), 4, 1L << 20, 4)) {
+            generationLog.append(5, new PackedGrid(3, 3));
+            generationLog.seek(4, swarEngine);
+        }
+    }
+
+    @Test
+    public void smallQueueAppliesBackpressureWithoutLosingGenerations() throws Exception {
+        List<PackedGrid> generations = buildGenerations(30);
+
+        try (GenerationLog generationLog = GenerationLog.open(logDirectory(), 100, 1L << 20, 2)) {
+            appendAll(generationLog, generations);
+            assertEquals(generations.get(29), generationLog.seek(29, swarEngine).getPackedGrid());
+            assertEquals(1, generationLog.getKeyframeCount());
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void appendsRacingCloseAreEitherRejectedOrWritten() throws Exception {
+        PackedGrid packedGrid = buildGenerations(1).get(0);
+        GenerationLog generationLog = GenerationLog.open(logDirectory(), 1, 1L << 20, 2);
+        AtomicLong acceptedCount = new AtomicLong();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> appenders = new ArrayList<>();
+
+        for (int t=0; t < 4; t++) {
+            long firstGeneration = t * 1000000L;
+            Thread appender = new Thread(() -> {
+                started.countDown();
+
+                for (long generation=firstGeneration; ; generation++) {
+                    try {
+                        generationLog.append(generation, packedGrid);
+                        acceptedCount.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        return;
+                    }
+                }
+            });
+            appender.start();
+            appenders.add(appender);
+        }
+
+        started.await();
+        Thread.sleep(50);
+        generationLog.close();
+
+        for (Thread appender : appenders) {
+            appender.join();
+        }
+
+        try (GenerationLog reopenedLog = GenerationLog.open(logDirectory(), 1, 1L << 20, 2)) {
+            assertEquals(acceptedCount.get(), reopenedLog.getKeyframeCount());
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void flushFailsOnceWriterHasStopped() throws Exception {
+        try (GenerationLog generationLog = GenerationLog.open(logDirectory(), 4, 1L << 20, 4)) {
+            String writerName = "generation-log-" + logDirectory().getFileName();
+            Thread writer = Thread.getAllStackTraces().keySet().stream().filter(thread -> writerName.equals(thread.getName())).findFirst().get();
+            writer.interrupt();
+            writer.join();
+
+            try {
+                generationLog.append(0, new PackedGrid(3, 3));
+                generationLog.flush();
+                fail("Expected the stopped writer to be reported");
+            } catch (IllegalStateException e) {
+                assertTrue(e.getMessage().contains("stopped writing"));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.kata.cgl.pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.engine.GenerationRule;
+import com.kata.cgl.engine.LifeRule;
+import com.kata.cgl.engine.Topology;
+import com.kata.cgl.exception.InvalidPatternException;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class PatternFormatTest {
+
+    private static final long MAX_CELL_COUNT = 1L << 24;
+
+    static final String GLIDER_RLE = "#N Glider\n#C A comment line\nx = 3, y = 3, rule = B3/S23\nbob$2bo$3o!\n";
+
+    private PackedGrid buildRandomPackedGrid(int rowCount, int columnCount, long seed) {
+        Random random = new Random(seed);
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int y=0; y < rowCount; y++) {
+            for (int x=0; x < columnCount; x++) {
+                packedGrid.setAlive(x, y, random.nextInt(4) == 0 || y == 5);
+            }
+        }
+
+        return packedGrid;
+    }
+
+    private PackedGrid roundTrip(PatternFormat patternFormat, PackedGrid packedGrid) throws IOException, InvalidPatternException {
+        StringWriter writer = new StringWriter();
+        patternFormat.write(packedGrid, writer);
+        return patternFormat.read(new StringReader(writer.toString()), 0, MAX_CELL_COUNT);
+    }
+
+    @Test
+    public void readsRleGliderWithPadding() throws Exception {
+        PackedGrid packedGrid = PatternFormat.RLE.read(new StringReader(GLIDER_RLE), 2, MAX_CELL_COUNT);
+
+        assertEquals(7, packedGrid.getRowCount());
+        assertEquals(7, packedGrid.getColumnCount());
+        assertEquals(5, packedGrid.countLiveCells());
+        assertTrue(packedGrid.isAlive(3, 2));
+        assertTrue(packedGrid.isAlive(4, 3));
+        assertTrue(packedGrid.isAlive(2, 4));
+        assertFalse(packedGrid.isAlive(2, 2));
+    }
+
+    @Test
+    public void rleWriterSkipsBlankRowsAndWrapsLines() throws Exception {
+        PackedGrid packedGrid = new PackedGrid(4, 200);
+        packedGrid.setAlive(0, 0, true);
+        packedGrid.setAlive(1, 0, true);
+        packedGrid.setAlive(199, 3, true);
+
+        StringWriter writer = new StringWriter();
+        PatternFormat.RLE.write(packedGrid, writer);
+
+        assertEquals("x = 200, y = 4, rule = B3/S23\n2o3$199bo!\n", writer.toString());
+
+        PackedGrid checkerboard = new PackedGrid(2, 300);
+        for (int x=0; x < 300; x += 2) {
+            checkerboard.setAlive(x, 1, true);
+        }
+
+        writer = new StringWriter();
+        PatternFormat.RLE.write(checkerboard, writer);
+
+        for (String line : writer.toString().split("\n")) {
+            assertTrue(line.length() <= RlePatternWriter.MAX_LINE_LENGTH);
+        }
+    }
+
+    @Test
+    public void rleAndPlaintextRoundTrip() throws Exception {
+        PackedGrid packedGrid = buildRandomPackedGrid(50, 150, 12);
+
+        assertEquals(packedGrid, roundTrip(PatternFormat.RLE, packedGrid));
+        assertEquals(packedGrid, roundTrip(PatternFormat.PLAINTEXT, packedGrid));
+    }
+
+    @Test
+    public void rleHeaderRuleAndBoundedGridAreRead() throws Exception {
+        ImportedPattern highLife = PatternFormat.RLE.readPattern(new StringReader("x = 3, y = 1, rule = B36/S23\n3o!"), 0, MAX_CELL_COUNT);
+        ImportedPattern torus = PatternFormat.RLE.readPattern(new StringReader("x = 3, y = 2, rule = B3/S23:T3,2\n3o!"), 0, MAX_CELL_COUNT);
+        ImportedPattern largerThanLife = PatternFormat.RLE.readPattern(new StringReader("x = 1, y = 1, rule = R2,C0,M1,S2..3,B3..3,NM\no!"), 0, MAX_CELL_COUNT);
+        ImportedPattern unruled = PatternFormat.RLE.readPattern(new StringReader("x = 3, y = 1\n3o!"), 0, MAX_CELL_COUNT);
+
+        assertEquals(LifeRule.parse("B36/S23"), highLife.getGenerationRule());
+        assertNull(highLife.getTopology());
+        assertEquals(3, highLife.getPackedGrid().countLiveCells());
+        assertEquals(LifeRule.CONWAY, torus.getGenerationRule());
+        assertEquals(Topology.TORUS, torus.getTopology());
+        assertEquals(GenerationRule.parse("R2,C0,M1,S2..3,B3..3,NM"), largerThanLife.getGenerationRule());
+        assertNull(unruled.getGenerationRule());
+        assertNull(unruled.getTopology());
+    }
+
+    @Test
+    public void writtenTorusPatternReadsBackItsRuleAndTopology() throws Exception {
+        PackedGrid packedGrid = buildRandomPackedGrid(9, 70, 4);
+        StringWriter writer = new StringWriter();
+        PatternFormat.RLE.write(packedGrid, LifeRule.parse("B36/S23"), Topology.TORUS, writer);
+
+        ImportedPattern importedPattern = PatternFormat.RLE.readPattern(new StringReader(writer.toString()), 0, MAX_CELL_COUNT);
+
+        assertEquals(packedGrid, importedPattern.getPackedGrid());
+        assertEquals(LifeRule.parse("B36/S23"), importedPattern.getGenerationRule());
+        assertEquals(Topology.TORUS, importedPattern.getTopology());
+    }
+
+    @Test(expected = InvalidPatternException.class)
+    public void rejectsTorusThatDoesNotMatchBoard() throws Exception {
+        PatternFormat.RLE.readPattern(new StringReader("x = 3, y = 1, rule = B3/S23:T3,1\n3o!"), 1, MAX_CELL_COUNT);
+    }
+
+    @Test(expected = InvalidPatternException.class)
+    public void rejectsUnreadableHeaderRule() throws Exception {
+        PatternFormat.RLE.readPattern(new StringReader("x = 3, y = 1, rule = B9/S23\n3o!"), 0, MAX_CELL_COUNT);
+    }
+
+    @Test
+    public void readsPlaintextCells() throws Exception {
+        PackedGrid packedGrid = PatternFormat.PLAINTEXT.read(new StringReader("!Name: Blinker\n...\nOOO\n"), 0, MAX_CELL_COUNT);
+
+        assertEquals(2, packedGrid.getRowCount());
+        assertEquals(3, packedGrid.getColumnCount());
+        assertTrue(packedGrid.isAlive(1, 1));
+        assertEquals(3, packedGrid.countLiveCells());
+    }
+
+    @Test(expected = InvalidPatternException.class)
+    public void rejectsCellsOutsideDeclaredBounds() throws Exception {
+        PatternFormat.RLE.read(new StringReader("x = 2, y = 1\n3o!"), 0, MAX_CELL_COUNT);
+    }
+
+    @Test(expected = InvalidPatternException.class)
+    public void rejectsBoardsLargerThanLimit() throws Exception {
+        PatternFormat.RLE.read(new StringReader("x = 100000, y = 100000\no!"), 0, MAX_CELL_COUNT);
+    }
+
+    @Test
+    public void resolvesFormatByNameOrExtension() {
+        assertEquals(PatternFormat.PLAINTEXT, PatternFormat.fromString("cells"));
+        assertEquals(PatternFormat.RLE, PatternFormat.fromString("RLE"));
+        assertEquals(null, PatternFormat.fromString("mcell"));
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.kata.cgl.simulation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.engine.SwarGenerationEngine;
+import com.kata.cgl.exception.MappedBoardNotConfiguredException;
+import com.kata.cgl.grid.MappedGrid;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class MappedBoardTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void configuredBoardFileIsReopenedAndStepped() throws IOException, MappedBoardNotConfiguredException {
+        Path boardPath = temporaryFolder.getRoot().toPath().resolve("board.cgl");
+        PackedGrid blinker = new PackedGrid(5, 5);
+        blinker.setAlive(1, 2, true);
+        blinker.setAlive(2, 2, true);
+        blinker.setAlive(3, 2, true);
+
+        try (MappedGrid mappedGrid = MappedGrid.create(boardPath, blinker)) {
+            mappedGrid.force();
+        }
+
+        MappedBoard mappedBoard = new MappedBoard(boardPath.toString());
+        MappedBoardSummary summary = mappedBoard.step(3);
+        mappedBoard.close();
+
+        assertEquals(3, summary.getGeneration());
+        assertEquals(5, summary.getRowCount());
+
+        try (MappedGrid reopenedGrid = MappedGrid.open(boardPath)) {
+            assertEquals(3, reopenedGrid.getGeneration());
+            assertEquals(new SwarGenerationEngine().step(blinker, 3), reopenedGrid.toPackedGrid());
+        }
+    }
+
+    @Test(expected = MappedBoardNotConfiguredException.class)
+    public void unconfiguredBoardIsNotFound() throws IOException, MappedBoardNotConfiguredException {
+        new MappedBoard("").summarize();
+    }
+
+}
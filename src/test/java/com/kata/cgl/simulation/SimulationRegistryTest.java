@@ -0,0 +1,185 @@
+package com.kata.cgl.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.engine.GenerationEngineType;
+import com.kata.cgl.engine.SwarGenerationEngine;
+import com.kata.cgl.exception.SimulationNotFoundException;
+import com.kata.cgl.exception.UnknownGenerationEngineException;
+import com.kata.cgl.grid.PackedGrid;
+import com.kata.cgl.history.GenerationLog;
+
+@RunWith(SpringRunner.class)
+public class SimulationRegistryTest {
+
+    private static class MutableClock extends Clock {
+
+        private long millis;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        void advance(long advanceMillis) {
+            millis += advanceMillis;
+        }
+
+    }
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final MutableClock clock = new MutableClock();
+
+    private PackedGrid buildBlinker() {
+        PackedGrid blinker = new PackedGrid(5, 5);
+        blinker.setAlive(1, 2, true);
+        blinker.setAlive(2, 2, true);
+        blinker.setAlive(3, 2, true);
+        return blinker;
+    }
+
+    @Test
+    public void stepsSimulationOnServer() throws SimulationNotFoundException {
+        SimulationRegistry simulationRegistry = new SimulationRegistry(clock, 1000, Long.MAX_VALUE, GenerationEngineType.SWAR);
+        Simulation simulation = simulationRegistry.create(buildBlinker());
+
+        SimulationFrame frame = simulationRegistry.find(simulation.getId()).stepAndCaptureFrame(1);
+        assertEquals(1, frame.getGeneration());
+        assertEquals(simulation.getId(), frame.getSimulationId());
+
+        frame = simulationRegistry.find(simulation.getId()).stepAndCaptureFrame(1);
+        assertEquals(2, frame.getGeneration());
+        assertEquals(buildBlinker(), frame.getPackedGrid());
+    }
+
+    @Test(expected = SimulationNotFoundException.class)
+    public void idleSimulationsExpireAfterTimeToLive() throws SimulationNotFoundException {
+        SimulationRegistry simulationRegistry = new SimulationRegistry(clock, 1000, Long.MAX_VALUE, GenerationEngineType.SWAR);
+        Simulation simulation = simulationRegistry.create(buildBlinker());
+
+        clock.advance(999);
+        assertSame(simulation, simulationRegistry.find(simulation.getId()));
+
+        clock.advance(1000);
+        simulationRegistry.find(simulation.getId());
+    }
+
+    @Test
+    public void leastRecentlyUsedSimulationIsEvictedAboveMemoryCap() throws SimulationNotFoundException {
+        long simulationBytes = new Simulation("probe", new SwarGenerationEngine(), buildBlinker(), 0).estimateMemoryBytes();
+        SimulationRegistry simulationRegistry = new SimulationRegistry(clock, 1000, simulationBytes * 2, GenerationEngineType.SWAR);
+
+        Simulation first = simulationRegistry.create(buildBlinker());
+        Simulation second = simulationRegistry.create(buildBlinker());
+        simulationRegistry.find(first.getId());
+        Simulation third = simulationRegistry.create(buildBlinker());
+
+        assertEquals(2, simulationRegistry.getSimulationCount());
+        assertEquals(1, simulationRegistry.getEvictionCount());
+        assertEquals(simulationBytes * 2, simulationRegistry.getMemoryBytes());
+        simulationRegistry.find(first.getId());
+        simulationRegistry.find(third.getId());
+
+        try {
+            simulationRegistry.find(second.getId());
+        } catch (SimulationNotFoundException e) {
+            return;
+        }
+
+        throw new AssertionError("Least recently used simulation was not evicted");
+    }
+
+    @Test(expected = UnknownGenerationEngineException.class)
+    public void unknownEngineIsRejected() throws UnknownGenerationEngineException {
+        new SimulationRegistry(clock, 1000, Long.MAX_VALUE, GenerationEngineType.SWAR).create(buildBlinker(), "warp-drive");
+    }
+
+    @Test
+    public void touchKeepsStreamedSimulationAliveUntilItIsEvicted() throws SimulationNotFoundException {
+        SimulationRegistry simulationRegistry = new SimulationRegistry(clock, 1000, Long.MAX_VALUE, GenerationEngineType.SWAR);
+        Simulation simulation = simulationRegistry.create(buildBlinker());
+
+        for (int i=0; i < 5; i++) {
+            clock.advance(900);
+            assertTrue(simulationRegistry.touch(simulation));
+        }
+
+        simulationRegistry.remove(simulation.getId());
+        assertFalse(simulationRegistry.touch(simulation));
+    }
+
+    @Test
+    public void memoryEstimateIncludesBoardsRetainedByTheEngine() throws SimulationNotFoundException {
+        long simulationBytes = new Simulation("probe", new SwarGenerationEngine(), buildBlinker(), 0).estimateMemoryBytes();
+        long boardBytes = (long) buildBlinker().getWords().length * Long.BYTES;
+        SimulationRegistry simulationRegistry = new SimulationRegistry(clock, 1000, simulationBytes * 2 + boardBytes, GenerationEngineType.SWAR);
+
+        Simulation first = simulationRegistry.create(buildBlinker());
+        Simulation second = simulationRegistry.create(buildBlinker());
+        assertEquals(simulationBytes * 2, simulationRegistry.getMemoryBytes());
+
+        first.stepAndCaptureFrame(5);
+        assertEquals(simulationBytes + 3 * boardBytes, first.estimateMemoryBytes());
+
+        simulationRegistry.find(first.getId());
+        assertEquals(1, simulationRegistry.getEvictionCount());
+        assertFalse(simulationRegistry.touch(second));
+        assertEquals(first.estimateMemoryBytes(), simulationRegistry.getMemoryBytes());
+    }
+
+    @Test
+    public void closedSimulationsDeleteTheirHistory() throws IOException, SimulationNotFoundException {
+        SimulationRegistry simulationRegistry = new SimulationRegistry(clock, 1000, Long.MAX_VALUE, GenerationEngineType.SWAR);
+        Simulation removedSimulation = simulationRegistry.create(buildBlinker());
+        Simulation expiredSimulation = simulationRegistry.create(buildBlinker());
+        Path removedHistory = temporaryFolder.getRoot().toPath().resolve(removedSimulation.getId());
+        Path expiredHistory = temporaryFolder.getRoot().toPath().resolve(expiredSimulation.getId());
+
+        removedSimulation.recordHistory(GenerationLog.open(removedHistory, 10, 1L << 20, 4));
+        expiredSimulation.recordHistory(GenerationLog.open(expiredHistory, 10, 1L << 20, 4));
+        removedSimulation.stepAndCaptureFrame(3);
+        assertTrue(Files.isDirectory(removedHistory));
+
+        simulationRegistry.remove(removedSimulation.getId());
+        assertFalse(Files.exists(removedHistory));
+
+        clock.advance(1000);
+        simulationRegistry.create(buildBlinker());
+        assertFalse(Files.exists(expiredHistory));
+
+        Path lateHistory = temporaryFolder.getRoot().toPath().resolve("late");
+        removedSimulation.recordHistory(GenerationLog.open(lateHistory, 10, 1L << 20, 4));
+        assertFalse(Files.exists(lateHistory));
+        assertFalse(removedSimulation.isRecordingHistory());
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.kata.cgl.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.engine.SwarGenerationEngine;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class SimulationStreamTest {
+
+    private final ScheduledExecutorService tickScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService frameWorkers = Executors.newCachedThreadPool();
+    private final List<Long> sentGenerations = new CopyOnWriteArrayList<>();
+
+    @After
+    public void shutdownExecutors() {
+        tickScheduler.shutdownNow();
+        frameWorkers.shutdownNow();
+    }
+
+    private Simulation buildBlinkerSimulation() {
+        PackedGrid blinker = new PackedGrid(5, 5);
+        blinker.setAlive(1, 2, true);
+        blinker.setAlive(2, 2, true);
+        blinker.setAlive(3, 2, true);
+
+        return new Simulation("stream", new SwarGenerationEngine(), blinker, 0);
+    }
+
+    private void awaitSentFrames(int frameCount) throws InterruptedException {
+        for (int attempt=0; attempt < 500 && sentGenerations.size() < frameCount; attempt++) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(sentGenerations.size() >= frameCount);
+    }
+
+    @Test
+    public void sendsConsecutiveGenerationsAtFrameRate() throws Exception {
+        SimulationStream stream = new SimulationStream(buildBlinkerSimulation(), frame -> sentGenerations.add(frame.getGeneration()),
+                4, 50, tickScheduler, frameWorkers);
+
+        stream.start();
+        awaitSentFrames(5);
+        stream.close();
+
+        for (int i=0; i < 5; i++) {
+            assertEquals(Long.valueOf(i + 1), sentGenerations.get(i));
+        }
+
+        assertEquals(0, stream.getDroppedFrameCount());
+    }
+
+    @Test
+    public void slowClientReceivesLatestFramesInsteadOfBacklog() throws Exception {
+        SimulationStream stream = new SimulationStream(buildBlinkerSimulation(), frame -> {
+            sentGenerations.add(frame.getGeneration());
+            try {
+                Thread.sleep(60);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 8, 100, tickScheduler, frameWorkers);
+
+        stream.start();
+        awaitSentFrames(4);
+        stream.close();
+
+        assertTrue(stream.getDroppedFrameCount() > 0);
+        assertTrue(stream.getBufferedFrameCount() <= 8);
+
+        for (int i=1; i < sentGenerations.size(); i++) {
+            assertTrue(sentGenerations.get(i) > sentGenerations.get(i - 1));
+        }
+    }
+
+    @Test
+    public void pauseStopsFramesUntilResumed() throws Exception {
+        SimulationStream stream = new SimulationStream(buildBlinkerSimulation(), frame -> sentGenerations.add(frame.getGeneration()),
+                4, 50, tickScheduler, frameWorkers);
+
+        stream.start();
+        awaitSentFrames(2);
+        stream.pause();
+        Thread.sleep(50);
+        int pausedFrameCount = sentGenerations.size();
+        Thread.sleep(100);
+
+        assertEquals(pausedFrameCount, sentGenerations.size());
+        assertTrue(stream.isPaused());
+
+        stream.changeFrameRate(25);
+        stream.resume();
+        awaitSentFrames(pausedFrameCount + 2);
+        stream.close();
+
+        assertEquals(25, stream.getFramesPerSecond());
+        assertEquals(Long.valueOf(pausedFrameCount + 1), sentGenerations.get(pausedFrameCount));
+    }
+
+    @Test
+    public void pauseLeavesSimulationAtLastSentGeneration() throws Exception {
+        Simulation simulation = buildBlinkerSimulation();
+        SimulationStream stream = new SimulationStream(simulation, frame -> sentGenerations.add(frame.getGeneration()),
+                16, 50, tickScheduler, frameWorkers);
+
+        stream.start();
+        awaitSentFrames(3);
+        stream.pause();
+        Thread.sleep(50);
+
+        assertEquals(sentGenerations.get(sentGenerations.size() - 1).longValue(), simulation.getGeneration());
+        assertEquals(0, stream.getBufferedFrameCount());
+
+        simulation.step(1);
+        stream.close();
+
+        assertEquals(sentGenerations.size() + 1, simulation.getGeneration());
+    }
+
+    @Test
+    public void terminatesWhenSimulationIsNoLongerTracked() throws Exception {
+        AtomicBoolean tracked = new AtomicBoolean(true);
+        AtomicReference<SimulationStream> terminatedStream = new AtomicReference<>();
+        SimulationStream stream = new SimulationStream(buildBlinkerSimulation(), frame -> sentGenerations.add(frame.getGeneration()),
+                4, 50, tickScheduler, frameWorkers, simulation -> tracked.get(), (terminated, failure) -> terminatedStream.set(terminated));
+
+        stream.start();
+        awaitSentFrames(2);
+        tracked.set(false);
+
+        for (int attempt=0; attempt < 500 && terminatedStream.get() == null; attempt++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(stream, terminatedStream.get());
+        assertTrue(stream.isClosed());
+    }
+
+    @Test
+    public void sinkFailureTerminatesWithError() throws Exception {
+        AtomicReference<Exception> streamFailure = new AtomicReference<>();
+        SimulationStream stream = new SimulationStream(buildBlinkerSimulation(), frame -> {
+            throw new IOException("client went away");
+        }, 4, 50, tickScheduler, frameWorkers, simulation -> true, (terminated, failure) -> streamFailure.set(failure));
+
+        stream.start();
+
+        for (int attempt=0; attempt < 500 && streamFailure.get() == null; attempt++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals("client went away", streamFailure.get().getMessage());
+        assertTrue(stream.isClosed());
+    }
+
+}
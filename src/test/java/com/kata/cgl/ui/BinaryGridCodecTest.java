@@ -0,0 +1,110 @@
+package com.kata.cgl.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class BinaryGridCodecTest {
+
+    private byte[] encode(PackedGrid packedGrid, long generation) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BinaryGridCodec.encode(packedGrid, generation, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private GridFrame decode(byte[] payload) throws IOException {
+        return BinaryGridCodec.decode(new ByteArrayInputStream(payload));
+    }
+
+    @Test
+    public void sparseGridIsRunLengthEncoded() throws IOException {
+        PackedGrid packedGrid = new PackedGrid(1000, 1000);
+
+        for (int x=100; x < 300; x++) {
+            packedGrid.setAlive(x, 500, true);
+        }
+
+        packedGrid.setAlive(999, 998, true);
+        packedGrid.setAlive(0, 999, true);
+
+        byte[] payload = encode(packedGrid, 42);
+        GridFrame gridFrame = decode(payload);
+
+        assertEquals(BinaryGridCodec.RUN_LENGTH_ENCODING, payload[4]);
+        assertTrue(payload.length < BinaryGridCodec.HEADER_BYTES + 16);
+        assertEquals(42, gridFrame.getGeneration());
+        assertEquals(packedGrid, gridFrame.getPackedGrid());
+    }
+
+    @Test
+    public void denseGridIsBitPacked() throws IOException {
+        Random random = new Random(11);
+        PackedGrid packedGrid = new PackedGrid(37, 101);
+
+        for (int y=0; y < 37; y++) {
+            for (int x=0; x < 101; x++) {
+                packedGrid.setAlive(x, y, random.nextBoolean());
+            }
+        }
+
+        byte[] payload = encode(packedGrid, 7);
+
+        assertEquals(BinaryGridCodec.BIT_PACKED_ENCODING, payload[4]);
+        assertEquals(BinaryGridCodec.HEADER_BYTES + 37 * 13, payload.length);
+        assertEquals(packedGrid, decode(payload).getPackedGrid());
+    }
+
+    @Test
+    public void runsSpanningRowsAndFullWordsRoundTrip() throws IOException {
+        PackedGrid packedGrid = new PackedGrid(4, 128);
+
+        for (int x=0; x < 128; x++) {
+            packedGrid.setAlive(x, 1, true);
+            packedGrid.setAlive(x, 2, x < 3);
+        }
+
+        packedGrid.setAlive(127, 0, true);
+
+        assertEquals(packedGrid, decode(encode(packedGrid, 0)).getPackedGrid());
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsPayloadWithoutMagic() throws IOException {
+        decode(new byte[BinaryGridCodec.HEADER_BYTES]);
+    }
+
+    @Test
+    public void rejectsDimensionsAboveCellCapBeforeAllocating() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(outputStream);
+        header.writeInt(BinaryGridCodec.MAGIC);
+        header.writeByte(BinaryGridCodec.BIT_PACKED_ENCODING);
+        header.writeInt(Integer.MAX_VALUE - 1);
+        header.writeInt(1);
+        header.writeLong(0);
+
+        try {
+            BinaryGridCodec.decode(new ByteArrayInputStream(outputStream.toByteArray()), 1 << 20);
+            fail("Expected the oversized header to be rejected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("exceeds the maximum"));
+        }
+
+        PackedGrid packedGrid = new PackedGrid(16, 64);
+        assertEquals(packedGrid, BinaryGridCodec.decode(new ByteArrayInputStream(encode(packedGrid, 0)), 16 * 64).getPackedGrid());
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.kata.cgl.ui;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.kata.cgl.engine.SwarGenerationEngine;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class GridDeltaTest {
+
+    private final SwarGenerationEngine swarEngine = new SwarGenerationEngine();
+
+    @Test
+    public void blinkerDeltaListsBirthsAndDeathsByCellIndex() {
+        PackedGrid horizontalBlinker = new PackedGrid(3, 3);
+        horizontalBlinker.setAlive(0, 1, true);
+        horizontalBlinker.setAlive(1, 1, true);
+        horizontalBlinker.setAlive(2, 1, true);
+
+        PackedGrid verticalBlinker = swarEngine.step(horizontalBlinker);
+        GridDelta gridDelta = new GridDelta(4, horizontalBlinker, 5, verticalBlinker);
+
+        assertArrayEquals(new long[] {1, 7}, gridDelta.getBirths());
+        assertArrayEquals(new long[] {3, 5}, gridDelta.getDeaths());
+        assertEquals(verticalBlinker.checksum(), gridDelta.getChecksum());
+        assertEquals(4, gridDelta.getFromGeneration());
+        assertEquals(5, gridDelta.getGeneration());
+    }
+
+    @Test
+    public void cellHashWrapsIndexesBeyondIntRangeLikeThePage() {
+        long cellIndex = 3L * Integer.MAX_VALUE + 17;
+
+        assertEquals(PackedGrid.cellHash(cellIndex & 0xFFFFFFFFL), PackedGrid.cellHash(cellIndex));
+        assertEquals(PackedGrid.cellHash(40), PackedGrid.cellHash(40L + (1L << 32)));
+    }
+
+    @Test
+    public void applyingDeltaReproducesNextGeneration() {
+        Random random = new Random(10);
+        PackedGrid packedGrid = new PackedGrid(70, 130);
+
+        for (int y=0; y < 70; y++) {
+            for (int x=0; x < 130; x++) {
+                packedGrid.setAlive(x, y, random.nextInt(3) == 0);
+            }
+        }
+
+        for (int generation=0; generation < 5; generation++) {
+            PackedGrid nextGeneration = swarEngine.step(packedGrid);
+
+            assertEquals(nextGeneration, new GridDelta(generation, packedGrid, generation + 1, nextGeneration).applyTo(packedGrid));
+            packedGrid = nextGeneration;
+        }
+    }
+
+    @Test
+    public void deltaRebuiltFromItsPartsAppliesInPlace() {
+        PackedGrid packedGrid = new PackedGrid(3, 3);
+        packedGrid.setAlive(0, 1, true);
+        packedGrid.setAlive(1, 1, true);
+        packedGrid.setAlive(2, 1, true);
+        PackedGrid nextGeneration = swarEngine.step(packedGrid);
+        GridDelta gridDelta = new GridDelta(0, packedGrid, 1, nextGeneration);
+
+        GridDelta rebuiltDelta = new GridDelta(0, 1, 3, 3, gridDelta.getBirths(), gridDelta.getDeaths(), gridDelta.getChecksum());
+        rebuiltDelta.applyInPlace(packedGrid);
+
+        assertEquals(nextGeneration, packedGrid);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void applyingDeltaToDriftedGridFailsChecksum() {
+        PackedGrid packedGrid = new PackedGrid(3, 3);
+        packedGrid.setAlive(0, 1, true);
+        packedGrid.setAlive(1, 1, true);
+        packedGrid.setAlive(2, 1, true);
+        GridDelta gridDelta = new GridDelta(0, packedGrid, 1, swarEngine.step(packedGrid));
+
+        PackedGrid driftedGrid = packedGrid.copy();
+        driftedGrid.setAlive(0, 0, true);
+        gridDelta.applyTo(driftedGrid);
+    }
+
+}
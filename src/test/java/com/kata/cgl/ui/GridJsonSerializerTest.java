@@ -0,0 +1,95 @@
+package com.kata.cgl.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.kata.cgl.grid.Grid;
+import com.kata.cgl.grid.PackedGrid;
+
+@RunWith(SpringRunner.class)
+public class GridJsonSerializerTest {
+
+    private final ObjectMapper beanObjectMapper = new ObjectMapper();
+    private final ObjectMapper streamingObjectMapper = new ObjectMapper().registerModule(new SimpleModule()
+            .addSerializer(Grid.class, new GridJsonSerializer())
+            .addDeserializer(GridForm.class, new GridFormJsonDeserializer()));
+
+    private PackedGrid buildRandomPackedGrid(int rowCount, int columnCount, long seed) {
+        Random random = new Random(seed);
+        PackedGrid packedGrid = new PackedGrid(rowCount, columnCount);
+
+        for (int y=0; y < rowCount; y++) {
+            for (int x=0; x < columnCount; x++) {
+                packedGrid.setAlive(x, y, random.nextBoolean());
+            }
+        }
+
+        return packedGrid;
+    }
+
+    @Test
+    public void streamingSerializerKeepsBeanJsonShape() throws IOException {
+        Grid grid = Grid.fromPackedGrid(buildRandomPackedGrid(7, 70, 1));
+
+        assertEquals(beanObjectMapper.readTree(beanObjectMapper.writeValueAsString(grid)), beanObjectMapper.readTree(streamingObjectMapper.writeValueAsString(grid)));
+        assertEquals(beanObjectMapper.readTree(beanObjectMapper.writeValueAsString(new GridFrame(3, grid.toPackedGrid()))),
+                beanObjectMapper.readTree(streamingObjectMapper.writeValueAsString(new GridFrame(3, grid.toPackedGrid()))));
+    }
+
+    @Test
+    public void gridFormIsReadIntoPackedCellStates() throws IOException {
+        PackedGrid packedGrid = buildRandomPackedGrid(5, 9, 2);
+        String gridRows = beanObjectMapper.writeValueAsString(Grid.fromPackedGrid(packedGrid));
+        String gridCellForms = gridRows.replaceAll("\\{\"rowCells\":\\[|\\]\\}", "").replace("\"gridRows\":[", "\"gridCellForms\":[");
+
+        GridForm gridForm = streamingObjectMapper.readValue(gridCellForms, GridForm.class);
+
+        assertEquals(packedGrid, gridForm.toPackedGrid());
+        assertNull(gridForm.getGridCellForms());
+    }
+
+    @Test
+    public void cellsBeforeDimensionsAndStringCountsAreAccepted() throws IOException {
+        String json = "{\"gridCellForms\":[{\"gridCoordinate\":{\"xCoordinate\":2,\"yCoordinate\":1},\"gridCellState\":\"ALIVE\"},"
+                + "{\"gridCoordinate\":{\"xCoordinate\":0,\"yCoordinate\":0},\"gridCellState\":\"DEAD\"}],\"rowCount\":\"3\",\"columnCount\":4}";
+
+        PackedGrid packedGrid = streamingObjectMapper.readValue(json, GridForm.class).toPackedGrid();
+
+        assertEquals(3, packedGrid.getRowCount());
+        assertEquals(4, packedGrid.getColumnCount());
+        assertEquals(1, packedGrid.countLiveCells());
+        assertEquals(true, packedGrid.isAlive(2, 1));
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void liveCellOutsideGridIsRejected() throws IOException {
+        String json = "{\"rowCount\":2,\"columnCount\":2,\"gridCellForms\":[{\"gridCoordinate\":{\"xCoordinate\":2,\"yCoordinate\":0},\"gridCellState\":\"ALIVE\"}]}";
+        streamingObjectMapper.readValue(json, GridForm.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void oversizedGridFormIsRejectedBeforeAllocating() throws IOException {
+        ObjectMapper cappedObjectMapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addDeserializer(GridForm.class, new GridFormJsonDeserializer(64 * 64)));
+        String json = "{\"rowCount\":2147483647,\"columnCount\":2147483647,\"gridCellForms\":[]}";
+        cappedObjectMapper.readValue(json, GridForm.class);
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void oversizedGridFormWithoutCellsIsRejected() throws IOException {
+        ObjectMapper cappedObjectMapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addDeserializer(GridForm.class, new GridFormJsonDeserializer(64 * 64)));
+        cappedObjectMapper.readValue("{\"rowCount\":65,\"columnCount\":64}", GridForm.class);
+    }
+
+}